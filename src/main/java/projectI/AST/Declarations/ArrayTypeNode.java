@@ -103,7 +103,7 @@ public class ArrayTypeNode extends UserTypeNode {
         var element = elementType.getType(symbolTable);
 
         if (size == null) {
-            return new RuntimeArrayType(element, null);
+            return RuntimeArrayType.of(element, null);
         }
 
         var size = this.size.tryEvaluateConstant(symbolTable);
@@ -115,6 +115,6 @@ public class ArrayTypeNode extends UserTypeNode {
             size = (int) ((double) size);
         }
 
-        return new RuntimeArrayType(element, (Integer) size);
+        return RuntimeArrayType.of(element, (Integer) size);
     }
 }
@@ -26,7 +26,30 @@ public class BodyNode implements ASTNode {
     /**
      * List of statements
      */
-    public final List<StatementNode> statements = new ArrayList<>();
+    public final List<StatementNode> statements;
+
+    /**
+     * A constructor for initializing objects of class BodyNode
+     */
+    public BodyNode() {
+        this(new ArrayList<>());
+    }
+
+    /**
+     * A constructor for initializing objects of class BodyNode
+     * @param statements is a list to keep the statements in
+     */
+    public BodyNode(List<StatementNode> statements) {
+        this.statements = statements;
+    }
+
+    /**
+     * Mark the body as one whose statements cannot be parsed. The list of statements of such a body is empty,
+     * and the body is not valid.
+     */
+    public void markInvalid() {
+        invalid = true;
+    }
 
     /**
      * Add statement to the list of statements
@@ -90,6 +113,9 @@ public class BodyNode implements ASTNode {
                 return false;
         }
 
-        return true;
+        // Reading the statements of a lazily parsed body above parses it and marks it if it is invalid
+        return !invalid;
     }
+
+    private volatile boolean invalid;
 }
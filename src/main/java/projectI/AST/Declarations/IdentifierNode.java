@@ -3,6 +3,7 @@ package projectI.AST.Declarations;
 import projectI.AST.ASTNode;
 import projectI.AST.Types.RuntimeType;
 import projectI.CodePosition;
+import projectI.SemanticAnalysis.Binding;
 import projectI.SemanticAnalysis.SymbolTable;
 
 import java.util.Objects;
@@ -14,6 +15,7 @@ public class IdentifierNode implements TypeNode {
     public final String name;
     public final CodePosition position;
     public ASTNode parent;
+    private Binding binding;
 
     @Override
     public ASTNode getParent() {
@@ -25,6 +27,18 @@ public class IdentifierNode implements TypeNode {
         this.parent = parent;
     }
 
+    /**
+     * Get the declaration the identifier refers to.
+     * @return the binding set by the last semantic analysis of the identifier, or null
+     */
+    public Binding getBinding() {
+        return binding;
+    }
+
+    public void setBinding(Binding binding) {
+        this.binding = binding;
+    }
+
     /**
      * A constructor for initializing objects of class IdentifierNode
      * @param name is a name of identifier
@@ -86,6 +100,9 @@ public class IdentifierNode implements TypeNode {
 
     @Override
     public RuntimeType getType(SymbolTable symbolTable) {
+        var binding = symbolTable.getBinding(this);
+        if (binding != null) return binding.type;
+
         return symbolTable.getType(this, name);
     }
 }
@@ -84,6 +84,6 @@ public class PrimitiveTypeNode implements TypeNode {
 
     @Override
     public RuntimeType getType(SymbolTable symbolTable) {
-        return new RuntimePrimitiveType(type);
+        return RuntimePrimitiveType.of(type);
     }
 }
@@ -124,15 +124,15 @@ public class RecordTypeNode extends UserTypeNode {
 
     @Override
     public RuntimeType getType(SymbolTable symbolTable) {
-        var record = new RuntimeRecordType();
+        var recordVariables = new ArrayList<Triplet<String, RuntimeType, Object>>(variables.size());
 
         for (var variable : variables) {
             var type = variable.type != null ? variable.type.getType(symbolTable) : variable.expression.getType(symbolTable);
             var value = variable.expression != null ? variable.expression.tryEvaluateConstant(symbolTable) : null;
 
-            record.variables.add(new Triplet<>(variable.identifier.name, type, value));
+            recordVariables.add(new Triplet<>(variable.identifier.name, type, value));
         }
 
-        return record;
+        return RuntimeRecordType.of(recordVariables);
     }
 }
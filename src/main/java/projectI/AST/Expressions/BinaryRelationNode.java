@@ -10,7 +10,7 @@ import projectI.SemanticAnalysis.SymbolTable;
 
 import java.util.Objects;
 
-public class BinaryRelationNode implements RelationNode {
+public class BinaryRelationNode extends TypeCachingNode implements RelationNode {
     public final SimpleNode simple;
     public final Comparison comparison;
     public final SimpleNode otherSimple;
@@ -126,13 +126,16 @@ public class BinaryRelationNode implements RelationNode {
 
     @Override
     public RuntimeType getType(SymbolTable symbolTable) {
+        var cachedType = getCachedType(symbolTable);
+        if (cachedType != null) return cachedType;
+
         if (comparison == null) return simple.getType(symbolTable);
 
-        if (simple.getType(symbolTable).equals(new RuntimePrimitiveType(PrimitiveType.BOOLEAN)) &&
-                otherSimple.getType(symbolTable).equals(new RuntimePrimitiveType(PrimitiveType.BOOLEAN)))
+        if (simple.getType(symbolTable).equals(RuntimePrimitiveType.of(PrimitiveType.BOOLEAN)) &&
+                otherSimple.getType(symbolTable).equals(RuntimePrimitiveType.of(PrimitiveType.BOOLEAN)))
             return InvalidRuntimeType.instance;
 
-        return new RuntimePrimitiveType(PrimitiveType.BOOLEAN);
+        return RuntimePrimitiveType.of(PrimitiveType.BOOLEAN);
     }
 
     /**
@@ -11,7 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
-public class ExpressionNode implements FactorNode {
+public class ExpressionNode extends TypeCachingNode implements FactorNode {
     public final RelationNode relation;
     public final List<OperatorWithNode<LogicalOperator, RelationNode>> otherRelations = new ArrayList<>();
 
@@ -140,9 +140,12 @@ public class ExpressionNode implements FactorNode {
     }
 
     public RuntimeType getType(SymbolTable symbolTable) {
+        var cachedType = getCachedType(symbolTable);
+        if (cachedType != null) return cachedType;
+
         if (otherRelations.size() == 0) return relation.getType(symbolTable);
 
-        return new RuntimePrimitiveType(PrimitiveType.BOOLEAN);
+        return RuntimePrimitiveType.of(PrimitiveType.BOOLEAN);
     }
 
     public Object tryEvaluateConstant(SymbolTable symbolTable) {
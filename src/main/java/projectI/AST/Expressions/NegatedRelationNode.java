@@ -91,7 +91,7 @@ public class NegatedRelationNode implements RelationNode {
 
     @Override
     public RuntimeType getType(SymbolTable symbolTable) {
-        return new RuntimePrimitiveType(PrimitiveType.BOOLEAN);
+        return RuntimePrimitiveType.of(PrimitiveType.BOOLEAN);
     }
 
     /**
@@ -12,7 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
-public class SimpleNode implements ASTNode {
+public class SimpleNode extends TypeCachingNode implements ASTNode {
     public final SummandNode summand;
     public final List<OperatorWithNode<AdditionOperator, SummandNode>> otherSummands = new ArrayList<>();
     public ASTNode parent;
@@ -179,6 +179,9 @@ public class SimpleNode implements ASTNode {
     }
 
     public RuntimeType getType(SymbolTable symbolTable) {
+        var cachedType = getCachedType(symbolTable);
+        if (cachedType != null) return cachedType;
+
         if (otherSummands.size() == 0) return summand.getType(symbolTable);
 
         var type = summand.getType(symbolTable);
@@ -193,15 +196,15 @@ public class SimpleNode implements ASTNode {
 
             if (primitiveType.type == PrimitiveType.INTEGER && otherPrimitiveType.type == PrimitiveType.REAL ||
                     primitiveType.type == PrimitiveType.REAL && otherPrimitiveType.type == PrimitiveType.INTEGER)
-                primitiveType = new RuntimePrimitiveType(PrimitiveType.REAL);
+                primitiveType = RuntimePrimitiveType.of(PrimitiveType.REAL);
 
             if (primitiveType.type == PrimitiveType.INTEGER && otherPrimitiveType.type == PrimitiveType.BOOLEAN ||
                     primitiveType.type == PrimitiveType.BOOLEAN && otherPrimitiveType.type == PrimitiveType.INTEGER)
-                primitiveType = new RuntimePrimitiveType(PrimitiveType.INTEGER);
+                primitiveType = RuntimePrimitiveType.of(PrimitiveType.INTEGER);
 
             if (primitiveType.type == PrimitiveType.REAL && otherPrimitiveType.type == PrimitiveType.BOOLEAN ||
                     primitiveType.type == PrimitiveType.BOOLEAN && otherPrimitiveType.type == PrimitiveType.REAL)
-                primitiveType = new RuntimePrimitiveType(PrimitiveType.REAL);
+                primitiveType = RuntimePrimitiveType.of(PrimitiveType.REAL);
 
         }
 
@@ -12,7 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
-public class SummandNode implements ASTNode {
+public class SummandNode extends TypeCachingNode implements ASTNode {
     public final FactorNode factor;
     public final List<OperatorWithNode<MultiplicationOperator, FactorNode>> otherFactors = new ArrayList<>();
     public ASTNode parent;
@@ -185,6 +185,9 @@ public class SummandNode implements ASTNode {
     }
 
     public RuntimeType getType(SymbolTable symbolTable) {
+        var cachedType = getCachedType(symbolTable);
+        if (cachedType != null) return cachedType;
+
         if (otherFactors.size() == 0) return factor.getType(symbolTable);
 
         var type = factor.getType(symbolTable);
@@ -199,15 +202,15 @@ public class SummandNode implements ASTNode {
 
             if (primitiveType.type == PrimitiveType.INTEGER && otherPrimitiveType.type != PrimitiveType.REAL ||
                     primitiveType.type == PrimitiveType.REAL && otherPrimitiveType.type != PrimitiveType.INTEGER)
-                primitiveType = new RuntimePrimitiveType(PrimitiveType.REAL);
+                primitiveType = RuntimePrimitiveType.of(PrimitiveType.REAL);
 
             if (primitiveType.type == PrimitiveType.INTEGER && otherPrimitiveType.type != PrimitiveType.BOOLEAN ||
                     primitiveType.type == PrimitiveType.BOOLEAN && otherPrimitiveType.type != PrimitiveType.INTEGER)
-                primitiveType = new RuntimePrimitiveType(PrimitiveType.INTEGER);
+                primitiveType = RuntimePrimitiveType.of(PrimitiveType.INTEGER);
 
             if (primitiveType.type == PrimitiveType.REAL && otherPrimitiveType.type != PrimitiveType.BOOLEAN ||
                     primitiveType.type == PrimitiveType.BOOLEAN && otherPrimitiveType.type != PrimitiveType.REAL)
-                primitiveType = new RuntimePrimitiveType(PrimitiveType.REAL);
+                primitiveType = RuntimePrimitiveType.of(PrimitiveType.REAL);
         }
 
         return primitiveType;
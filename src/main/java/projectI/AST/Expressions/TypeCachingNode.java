@@ -0,0 +1,32 @@
+package projectI.AST.Expressions;
+
+import projectI.AST.Types.RuntimeType;
+import projectI.SemanticAnalysis.SymbolTable;
+
+/**
+ * A part of an expression that remembers its type once the symbol table is complete,
+ * so getType with the same symbol table does not compute it again.
+ */
+public abstract class TypeCachingNode {
+    /**
+     * Remember the type of the node.
+     * @param symbolTable the complete symbol table the type was computed with
+     * @param type the type
+     */
+    public void cacheType(SymbolTable symbolTable, RuntimeType type) {
+        cachedType = type;
+        cachedTypeSymbolTable = symbolTable;
+    }
+
+    /**
+     * Get the remembered type of the node.
+     * @param symbolTable the symbol table to get the type with
+     * @return the type if it was remembered with the same symbol table, null otherwise
+     */
+    protected RuntimeType getCachedType(SymbolTable symbolTable) {
+        return cachedTypeSymbolTable == symbolTable ? cachedType : null;
+    }
+
+    private RuntimeType cachedType;
+    private SymbolTable cachedTypeSymbolTable;
+}
@@ -94,7 +94,7 @@ public class BooleanLiteralNode implements PrimaryNode {
 
     @Override
     public RuntimeType getType(SymbolTable symbolTable) {
-        return new RuntimePrimitiveType(PrimitiveType.BOOLEAN);
+        return RuntimePrimitiveType.of(PrimitiveType.BOOLEAN);
     }
 
     /**
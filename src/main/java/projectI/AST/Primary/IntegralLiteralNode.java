@@ -119,7 +119,7 @@ public class IntegralLiteralNode implements PrimaryNode {
 
     @Override
     public RuntimeType getType(SymbolTable symbolTable) {
-        return new RuntimePrimitiveType(PrimitiveType.INTEGER);
+        return RuntimePrimitiveType.of(PrimitiveType.INTEGER);
     }
 
     /**
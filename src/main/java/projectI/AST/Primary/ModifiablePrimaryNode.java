@@ -126,7 +126,7 @@ public class ModifiablePrimaryNode implements PrimaryNode {
 
     @Override
     public RuntimeType getType(SymbolTable symbolTable) {
-        var type = symbolTable.getType(this, identifier.name);
+        var type = identifier.getType(symbolTable);
         if (accessors.size() == 0) return type;
 
         for (var accessor : accessors) {
@@ -329,7 +329,7 @@ public class ModifiablePrimaryNode implements PrimaryNode {
         @Override
         public RuntimeType getRuntimeType(RuntimeType modifiable, SymbolTable symbolTable) {
             if (modifiable instanceof RuntimeArrayType) {
-                return new RuntimePrimitiveType(PrimitiveType.INTEGER);
+                return RuntimePrimitiveType.of(PrimitiveType.INTEGER);
             }
 
             return InvalidRuntimeType.instance;
@@ -132,7 +132,7 @@ public class RealLiteralNode implements PrimaryNode {
 
     @Override
     public RuntimeType getType(SymbolTable symbolTable) {
-        return new RuntimePrimitiveType(PrimitiveType.REAL);
+        return RuntimePrimitiveType.of(PrimitiveType.REAL);
     }
 
     /**
@@ -104,7 +104,7 @@ public class RoutineCallNode implements StatementNode, PrimaryNode {
 
     @Override
     public RuntimeType getType(SymbolTable symbolTable) {
-        var routine = symbolTable.getType(this, name.name);
+        var routine = name.getType(symbolTable);
 
         if (routine instanceof RuntimeRoutineType)
         {
@@ -3,18 +3,30 @@ package projectI.AST.Types;
 import java.util.Objects;
 
 public final class RuntimeArrayType implements RuntimeType {
-    public RuntimeArrayType(RuntimeType elementType, Integer size) {
+    private RuntimeArrayType(RuntimeType elementType, Integer size) {
         this.elementType = elementType;
         this.size = size;
+        this.hashCode = Objects.hash(elementType, size);
+    }
+
+    /**
+     * Get the instance of an array type, equal array types are the same instance.
+     * @param elementType type of the elements
+     * @param size number of the elements, or null if it is not known
+     * @return the array type
+     */
+    public static RuntimeArrayType of(RuntimeType elementType, Integer size) {
+        return interner.intern(new RuntimeArrayType(elementType, size));
     }
 
     @Override
     public boolean canBeCastedTo(RuntimeType otherType) {
-        if (equals(otherType)) return true;
+        if (this == otherType) return true;
         if (!(otherType instanceof RuntimeArrayType)) return false;
         var otherArray = (RuntimeArrayType) otherType;
 
-        return elementType.equals(otherArray.elementType) &&
+        // The element types are interned, so equal ones are the same instance
+        return elementType == otherArray.elementType &&
                 (otherArray.size == null || Objects.equals(size, otherArray.size));
     }
 
@@ -23,17 +35,21 @@ public final class RuntimeArrayType implements RuntimeType {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         RuntimeArrayType that = (RuntimeArrayType) o;
-        return Objects.equals(size, that.size) &&
+        return hashCode == that.hashCode &&
+                Objects.equals(size, that.size) &&
                 Objects.equals(elementType, that.elementType);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(elementType, size);
+        return hashCode;
     }
 
     public final RuntimeType elementType;
     public final Integer size;
+    private final int hashCode;
+
+    private static final TypeInterner<RuntimeArrayType> interner = new TypeInterner<>();
 
     @Override
     public String toString() {
@@ -1,13 +1,21 @@
 package projectI.AST.Types;
 
-import java.util.Objects;
 import projectI.AST.Declarations.PrimitiveType;
 
 public final class RuntimePrimitiveType implements RuntimeType {
-    public RuntimePrimitiveType(projectI.AST.Declarations.PrimitiveType type) {
+    private RuntimePrimitiveType(PrimitiveType type) {
         this.type = type;
     }
 
+    /**
+     * Get the instance of a primitive type, there is only one for each of them.
+     * @param type the primitive type
+     * @return the runtime type
+     */
+    public static RuntimePrimitiveType of(PrimitiveType type) {
+        return instances[type.ordinal()];
+    }
+
     @Override
     public boolean canBeCastedTo(RuntimeType otherType) {
         if (otherType instanceof RuntimePrimitiveType) {
@@ -27,19 +35,23 @@ public final class RuntimePrimitiveType implements RuntimeType {
 
     @Override
     public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        RuntimePrimitiveType that = (RuntimePrimitiveType) o;
-        return type == that.type;
+        return this == o;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(type);
+        return type.ordinal();
     }
 
     @Override
     public String toString() {
         return type.toString().toLowerCase();
     }
+
+    private static final RuntimePrimitiveType[] instances = new RuntimePrimitiveType[PrimitiveType.values().length];
+
+    static {
+        for (var type : PrimitiveType.values())
+            instances[type.ordinal()] = new RuntimePrimitiveType(type);
+    }
 }
@@ -2,15 +2,33 @@ package projectI.AST.Types;
 
 import org.javatuples.Triplet;
 
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 public final class RuntimeRecordType implements RuntimeType {
-    public final ArrayList<Triplet<String, RuntimeType, Object>> variables = new ArrayList<>();
+    /**
+     * Variables of the record: names, types and initial values or null.
+     */
+    public final List<Triplet<String, RuntimeType, Object>> variables;
+
+    private RuntimeRecordType(List<Triplet<String, RuntimeType, Object>> variables) {
+        this.variables = List.copyOf(variables);
+        this.hashCode = Objects.hash(this.variables);
+    }
+
+    /**
+     * Get the instance of a record type, equal record types are the same instance.
+     * @param variables names, types and initial values of the variables
+     * @return the record type
+     */
+    public static RuntimeRecordType of(List<Triplet<String, RuntimeType, Object>> variables) {
+        return interner.intern(new RuntimeRecordType(variables));
+    }
 
     @Override
     public boolean canBeCastedTo(RuntimeType otherType) {
-        return equals(otherType);
+        // Record types are interned, so equal ones are the same instance
+        return this == otherType;
     }
 
     @Override
@@ -18,7 +36,7 @@ public final class RuntimeRecordType implements RuntimeType {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         RuntimeRecordType that = (RuntimeRecordType) o;
-        if (variables.size() != that.variables.size()) return false;
+        if (hashCode != that.hashCode || variables.size() != that.variables.size()) return false;
 
         for (int index = 0; index < variables.size(); index++) {
             var variable = variables.get(index);
@@ -33,6 +51,10 @@ public final class RuntimeRecordType implements RuntimeType {
 
     @Override
     public int hashCode() {
-        return Objects.hash(variables);
+        return hashCode;
     }
+
+    private final int hashCode;
+
+    private static final TypeInterner<RuntimeRecordType> interner = new TypeInterner<>();
 }
@@ -0,0 +1,26 @@
+package projectI.AST.Types;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps one instance of each distinct type, so the types can be compared by reference.
+ * The instances are held weakly and are dropped when no symbol table or node uses them anymore.
+ */
+final class TypeInterner<T extends RuntimeType> {
+    /**
+     * Get the instance equal to a type, which is the type itself if it is the first one of its kind.
+     * @param type a type that is not changed after it is interned
+     * @return the instance of the type
+     */
+    synchronized T intern(T type) {
+        var reference = instances.get(type);
+        var instance = reference != null ? reference.get() : null;
+        if (instance != null) return instance;
+
+        instances.put(type, new WeakReference<>(type));
+        return type;
+    }
+
+    private final WeakHashMap<T, WeakReference<T>> instances = new WeakHashMap<>();
+}
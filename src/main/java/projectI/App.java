@@ -5,6 +5,7 @@ import projectI.CodeGeneration.JVM.JVMCodeGenerator;
 import projectI.Lexer.InvalidLexemeException;
 import projectI.Lexer.Lexer;
 import projectI.Parser.Parser;
+import projectI.Parser.ParserStats;
 import projectI.SemanticAnalysis.CompositeSemanticAnalyzer;
 import projectI.SemanticAnalysis.Exceptions.SemanticAnalysisException;
 import projectI.SemanticAnalysis.SymbolTable;
@@ -12,12 +13,18 @@ import projectI.SemanticAnalysis.SymbolTable;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Scanner;
 
 public class App 
 {
     public static void main( String[] args ) throws IOException, InvalidLexemeException {
+        var printParserStats = args.length > 0 && args[0].equals(PARSER_STATS_FLAG);
+
+        if (printParserStats)
+            args = Arrays.copyOfRange(args, 1, args.length);
+
         String fileName = getFileName(args);
 
         var file = new File(fileName);
@@ -28,10 +35,16 @@ public class App
 
         if (file.exists()) {
             try {
-                var sourceCode = Files.readString(file.toPath());
-                var parser = createParserOf(sourceCode);
+                var parser = createParserOf(file.toPath());
+
+                if (printParserStats)
+                    parser.setStats(new ParserStats());
+
                 var program = parser.tryParseProgram();
 
+                if (printParserStats)
+                    System.err.print(parser.getStats().getSummary());
+
                 if (program != null && program.validate()) {
                     System.out.println(program);
                     var symbolTable = new SymbolTable();
@@ -78,10 +91,9 @@ public class App
         return fileName;
     }
 
-    private static Parser createParserOf(String sourceCode) throws InvalidLexemeException {
+    private static Parser createParserOf(Path sourceFile) throws IOException, InvalidLexemeException {
         var lexer = new Lexer();
-        var tokens = lexer.scan(sourceCode);
-        return new Parser(tokens, lexer.getLexemesWithLocations());
+        return new Parser(lexer.scanToBuffer(sourceFile));
     }
 
     private static void printParsingErrors(Parser parser) {
@@ -106,4 +118,5 @@ public class App
     }
 
     private final static CompositeSemanticAnalyzer analyzer = new CompositeSemanticAnalyzer();
+    private final static String PARSER_STATS_FLAG = "--parser-stats";
 }
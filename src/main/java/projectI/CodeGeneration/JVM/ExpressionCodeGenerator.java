@@ -145,7 +145,7 @@ public class ExpressionCodeGenerator {
 
     private void generate(NegatedRelationNode relation) {
         generate(relation.innerRelation);
-        generateCastIfNecessary(methodVisitor, relation.innerRelation.getType(generator.symbolTable), new RuntimePrimitiveType(INTEGER));
+        generateCastIfNecessary(methodVisitor, relation.innerRelation.getType(generator.symbolTable), RuntimePrimitiveType.of(INTEGER));
 
         var falseLabel = new Label();
         var exitLabel = new Label();
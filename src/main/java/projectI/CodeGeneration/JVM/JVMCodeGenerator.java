@@ -103,7 +103,7 @@ public class JVMCodeGenerator implements ICodeGenerator {
                 var primitiveType = initialValue instanceof Integer ?
                         PrimitiveType.INTEGER : initialValue instanceof Double ?
                         PrimitiveType.REAL : PrimitiveType.BOOLEAN;
-                var initialValueType = new RuntimePrimitiveType(primitiveType);
+                var initialValueType = RuntimePrimitiveType.of(primitiveType);
                 generateCastIfNecessary(ctorVisitor, initialValueType, variableType);
                 ctorVisitor.visitFieldInsn(PUTFIELD, name, variable.getValue0(), descriptor);
             } if (variableType instanceof RuntimeRecordType) {
@@ -255,7 +255,7 @@ public class JVMCodeGenerator implements ICodeGenerator {
         // evaluate the condition
         var conditionType = pushExpression(program, methodVisitor, ifStatement.condition, context, symbolTable, this);
         // cast it to boolean
-        generateCastIfNecessary(methodVisitor, conditionType, new RuntimePrimitiveType(PrimitiveType.BOOLEAN));
+        generateCastIfNecessary(methodVisitor, conditionType, RuntimePrimitiveType.of(PrimitiveType.BOOLEAN));
 
         if (ifStatement.elseBody == null) { // if there is not else
             var exitLabel = new Label();
@@ -284,7 +284,7 @@ public class JVMCodeGenerator implements ICodeGenerator {
 
     private void generateForLoop(MethodVisitor methodVisitor, ForLoopNode forLoop, RoutineDeclarationNode routine, VariableContext context) {
         // define the iterator variable
-        var variableId = context.defineVariable(forLoop, forLoop.variable.name, new RuntimePrimitiveType(PrimitiveType.INTEGER));
+        var variableId = context.defineVariable(forLoop, forLoop.variable.name, RuntimePrimitiveType.of(PrimitiveType.INTEGER));
 
         var exitLabel = new Label();
         var loopLabel = new Label();
@@ -295,12 +295,12 @@ public class JVMCodeGenerator implements ICodeGenerator {
         // evaluate initial value
         pushExpression(program, methodVisitor, initialValue, context, symbolTable, this);
         // store the initial value in the iterator
-        storeVariable(methodVisitor, new RuntimePrimitiveType(PrimitiveType.INTEGER), variableId);
+        storeVariable(methodVisitor, RuntimePrimitiveType.of(PrimitiveType.INTEGER), variableId);
 
         // evaluate the final value
-        var finalValueId = context.defineVariable(forLoop, forLoop.variable.name + "_final", new RuntimePrimitiveType(PrimitiveType.INTEGER));
+        var finalValueId = context.defineVariable(forLoop, forLoop.variable.name + "_final", RuntimePrimitiveType.of(PrimitiveType.INTEGER));
         pushExpression(program, methodVisitor, finalValue, context, symbolTable, this);
-        storeVariable(methodVisitor, new RuntimePrimitiveType(PrimitiveType.INTEGER), finalValueId);
+        storeVariable(methodVisitor, RuntimePrimitiveType.of(PrimitiveType.INTEGER), finalValueId);
 
         methodVisitor.visitLabel(loopLabel);
 
@@ -327,7 +327,7 @@ public class JVMCodeGenerator implements ICodeGenerator {
         // check condition
         methodVisitor.visitLabel(loopLabel);
         pushExpression(program, methodVisitor, whileLoop.condition, context, symbolTable, this);
-        generateCastIfNecessary(methodVisitor, whileLoop.condition.getType(symbolTable), new RuntimePrimitiveType(PrimitiveType.BOOLEAN));
+        generateCastIfNecessary(methodVisitor, whileLoop.condition.getType(symbolTable), RuntimePrimitiveType.of(PrimitiveType.BOOLEAN));
         // if false, exit
         methodVisitor.visitJumpInsn(IFEQ, exitLabel);
 
@@ -13,6 +13,7 @@ import projectI.AST.Primary.ModifiablePrimaryNode;
 import projectI.AST.ProgramNode;
 import projectI.AST.Statements.RoutineCallNode;
 import projectI.AST.Types.*;
+import projectI.SemanticAnalysis.Binding;
 import projectI.SemanticAnalysis.SymbolTable;
 
 import java.util.List;
@@ -220,14 +221,14 @@ public class JVMUtils {
     }
 
     public static void generateGet(MethodVisitor methodVisitor, ModifiablePrimaryNode modifiablePrimary, VariableContext variableContext, JVMCodeGenerator codeGenerator, int accessors) {
-        var name = modifiablePrimary.identifier.name;
+        var binding = getBinding(modifiablePrimary, codeGenerator.symbolTable);
 
-        if (codeGenerator.symbolTable.isDefinedAt(codeGenerator.program, name)) {
-            methodVisitor.visitFieldInsn(GETSTATIC, "Program", name, getJavaTypeName(codeGenerator.symbolTable.getType(modifiablePrimary, name), codeGenerator));
+        if (binding.kind == Binding.Kind.GLOBAL_VARIABLE) {
+            methodVisitor.visitFieldInsn(GETSTATIC, "Program", binding.name, getJavaTypeName(binding.type, codeGenerator));
         } else {
-            int variableIndex = variableContext.tryGetIndexOf(modifiablePrimary, name);
+            int variableIndex = variableContext.getIndexOf(binding);
 
-            var type = codeGenerator.symbolTable.getType(modifiablePrimary, name);
+            var type = binding.type;
 
             int opcode = 0;
 
@@ -243,7 +244,7 @@ public class JVMUtils {
             methodVisitor.visitVarInsn(opcode, variableIndex);
         }
 
-        var type = codeGenerator.symbolTable.getType(modifiablePrimary, modifiablePrimary.identifier.name);
+        var type = binding.type;
 
         for (var index = 0; index < accessors && index < modifiablePrimary.accessors.size(); index++) {
             var accessor = modifiablePrimary.accessors.get(index);
@@ -257,13 +258,13 @@ public class JVMUtils {
                 type = fieldType;
             } else if (accessor instanceof ModifiablePrimaryNode.ArraySize && type instanceof RuntimeArrayType) {
                 methodVisitor.visitInsn(ARRAYLENGTH);
-                type = new RuntimePrimitiveType(PrimitiveType.INTEGER);
+                type = RuntimePrimitiveType.of(PrimitiveType.INTEGER);
             } else if (accessor instanceof ModifiablePrimaryNode.Indexer && type instanceof RuntimeArrayType) {
                 var indexAccessor = (ModifiablePrimaryNode.Indexer) accessor;
                 var arrayType = (RuntimeArrayType) type;
 
                 pushExpression(codeGenerator.program, methodVisitor, indexAccessor.value, variableContext, codeGenerator.symbolTable, codeGenerator);
-                generateCastIfNecessary(methodVisitor, indexAccessor.value.getType(codeGenerator.symbolTable), new RuntimePrimitiveType(PrimitiveType.INTEGER));
+                generateCastIfNecessary(methodVisitor, indexAccessor.value.getType(codeGenerator.symbolTable), RuntimePrimitiveType.of(PrimitiveType.INTEGER));
                 methodVisitor.visitInsn(ICONST_1);
                 methodVisitor.visitInsn(ISUB);
 
@@ -283,8 +284,16 @@ public class JVMUtils {
         }
     }
 
+    private static Binding getBinding(ModifiablePrimaryNode modifiablePrimary, SymbolTable symbolTable) {
+        var binding = symbolTable.getBinding(modifiablePrimary.identifier);
+
+        if (binding == null)
+            throw new IllegalStateException(String.format("%s is not bound to a declaration.", modifiablePrimary.identifier));
+
+        return binding;
+    }
+
     public static void generateSet(MethodVisitor methodVisitor, ModifiablePrimaryNode modifiablePrimary, ExpressionNode expression, VariableContext variableContext, JVMCodeGenerator codeGenerator) {
-        var name = modifiablePrimary.identifier.name;
         var symbolTable = codeGenerator.symbolTable;
         var program = codeGenerator.program;
 
@@ -294,12 +303,14 @@ public class JVMUtils {
             // cast it to the type of the variable
             generateCastIfNecessary(methodVisitor, expressionType, variableType);
 
-            if (symbolTable.isDefinedAt(program, name)) {
-                methodVisitor.visitFieldInsn(PUTSTATIC, "Program", name, JVMUtils.getJavaTypeName(symbolTable.getType(modifiablePrimary, name), codeGenerator));
+            var binding = getBinding(modifiablePrimary, symbolTable);
+
+            if (binding.kind == Binding.Kind.GLOBAL_VARIABLE) {
+                methodVisitor.visitFieldInsn(PUTSTATIC, "Program", binding.name, JVMUtils.getJavaTypeName(binding.type, codeGenerator));
             } else {
-                int variableIndex = variableContext.tryGetIndexOf(modifiablePrimary, name);
+                int variableIndex = variableContext.getIndexOf(binding);
 
-                var type = symbolTable.getType(modifiablePrimary, name);
+                var type = binding.type;
 
                 int opcode = 0;
 
@@ -340,7 +351,7 @@ public class JVMUtils {
                 var lastIndexAccessor = (ModifiablePrimaryNode.Indexer) lastAccessor;
                 // push index
                 pushExpression(program, methodVisitor, lastIndexAccessor.value, variableContext, symbolTable, codeGenerator);
-                generateCastIfNecessary(methodVisitor, lastIndexAccessor.value.getType(symbolTable), new RuntimePrimitiveType(PrimitiveType.INTEGER));
+                generateCastIfNecessary(methodVisitor, lastIndexAccessor.value.getType(symbolTable), RuntimePrimitiveType.of(PrimitiveType.INTEGER));
                 methodVisitor.visitInsn(ICONST_1);
                 methodVisitor.visitInsn(ISUB);
                 // evaluate assigned expression
@@ -368,7 +379,7 @@ public class JVMUtils {
     }
 
     public static void generateRoutineCall(ProgramNode program, MethodVisitor methodVisitor, RoutineCallNode routineCall, VariableContext context, SymbolTable symbolTable, JVMCodeGenerator codeGenerator) {
-        var routineType = (RuntimeRoutineType) symbolTable.getType(routineCall, routineCall.name.name);
+        var routineType = (RuntimeRoutineType) routineCall.name.getType(symbolTable);
 
         for (var index = 0; index < routineCall.arguments.size(); index++) {
             var argument = routineCall.arguments.get(index);
@@ -1,15 +1,16 @@
 package projectI.CodeGeneration.JVM;
 
-import org.javatuples.Pair;
 import projectI.AST.ASTNode;
 import projectI.AST.Declarations.RoutineDeclarationNode;
 import projectI.AST.Types.RuntimePrimitiveType;
 import projectI.AST.Types.RuntimeType;
+import projectI.SemanticAnalysis.Binding;
 import projectI.SemanticAnalysis.SymbolTable;
 
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 
-public class VariableContext extends HashMap<Pair<ASTNode, String>, Integer> {
+public class VariableContext {
     public final RoutineDeclarationNode routine;
 
     public VariableContext(SymbolTable symbolTable, RoutineDeclarationNode routine) {
@@ -20,23 +21,18 @@ public class VariableContext extends HashMap<Pair<ASTNode, String>, Integer> {
         }
     }
 
-    public Integer tryGetIndexOf(ASTNode context, String identifier) {
-        var node = context;
+    public int getIndexOf(Binding binding) {
+        var scopeVariables = variables.get(binding.scope);
 
-        while (node != null) {
-            var key = new Pair<>(node, identifier);
-            if (this.containsKey(key))
-                return this.get(key);
+        if (scopeVariables == null || !scopeVariables.containsKey(binding.name))
+            throw new IllegalStateException();
 
-            node = node.getParent();
-        }
-
-        throw new IllegalStateException();
+        return scopeVariables.get(binding.name);
     }
 
     public int defineVariable(ASTNode context, String identifier, RuntimeType variableType) {
         var id = localVariablesCount;
-        this.put(new Pair<>(context, identifier), id);
+        variables.computeIfAbsent(context, scope -> new HashMap<>()).put(identifier, id);
         localVariablesCount += getTypeOffset(variableType);
         return id;
     }
@@ -52,5 +48,6 @@ public class VariableContext extends HashMap<Pair<ASTNode, String>, Integer> {
         return 1;
     }
 
+    private final IdentityHashMap<ASTNode, HashMap<String, Integer>> variables = new IdentityHashMap<>();
     private int localVariablesCount = 0;
 }
@@ -3,14 +3,25 @@ package projectI;
 import java.util.Objects;
 
 public class CodePosition implements Comparable<CodePosition> {
-    public final int lineIndex;
-    public final int beginningIndex;
+    public int lineIndex;
+    public int beginningIndex;
 
     public CodePosition(int lineIndex, int beginningIndex) {
         this.lineIndex = lineIndex;
         this.beginningIndex = beginningIndex;
     }
 
+    /**
+     * Move the position after a change of the source code before it.
+     * The hash code changes, so a position must not be moved while it is a key of a hash map.
+     * @param lineDelta number of lines to move the position by
+     * @param columnDelta number of columns to move the position by
+     */
+    public void move(int lineDelta, int columnDelta) {
+        lineIndex += lineDelta;
+        beginningIndex += columnDelta;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
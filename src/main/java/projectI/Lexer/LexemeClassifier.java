@@ -0,0 +1,189 @@
+package projectI.Lexer;
+
+/**
+ * Classifies lexemes as identifiers and literals by inspecting their characters directly,
+ * without regular expressions or parsing (and therefore without exceptions).
+ */
+final class LexemeClassifier {
+    private LexemeClassifier() { }
+
+    /**
+     * Check whether the lexeme is an identifier, that is it matches [A-Za-z_][A-Za-z_0-9]*.
+     * @param lexeme a lexeme to check
+     * @return true if the lexeme is an identifier, false otherwise
+     */
+    static boolean isIdentifier(CharSequence lexeme) {
+        var length = lexeme.length();
+        if (length == 0 || !isIdentifierStart(lexeme.charAt(0))) return false;
+
+        for (int index = 1; index < length; index++) {
+            if (!isIdentifierPart(lexeme.charAt(index)))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Check whether the lexeme is a non-negative integer literal.
+     * Accepts exactly the strings for which Integer.parseInt succeeds with a non-negative value.
+     * @param lexeme a lexeme to check
+     * @return true if the lexeme is an integer literal, false otherwise
+     */
+    static boolean isIntegerLiteral(CharSequence lexeme) {
+        var length = lexeme.length();
+        var index = 0;
+        var negative = false;
+
+        if (length > 0 && isSign(lexeme.charAt(0))) {
+            negative = lexeme.charAt(0) == '-';
+            index++;
+        }
+
+        if (index == length) return false;
+
+        long value = 0;
+
+        for (; index < length; index++) {
+            var digit = Character.digit(lexeme.charAt(index), 10);
+            if (digit < 0) return false;
+
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE) return false;
+        }
+
+        return !negative || value == 0;
+    }
+
+    /**
+     * Check whether the lexeme is a non-negative real literal.
+     * Accepts the strings for which Float.parseFloat succeeds with a non-negative value:
+     * decimal and hexadecimal floating point numbers with an optional exponent and type suffix,
+     * surrounded by optional control characters or spaces.
+     * Scanned lexemes never contain signs; a signed one is accepted unless it is negative with a non-zero digit.
+     * @param lexeme a lexeme to check
+     * @return true if the lexeme is a real literal, false otherwise
+     */
+    static boolean isRealLiteral(CharSequence lexeme) {
+        var begin = 0;
+        var end = lexeme.length();
+
+        while (begin < end && lexeme.charAt(begin) <= ' ') begin++;
+        while (end > begin && lexeme.charAt(end - 1) <= ' ') end--;
+
+        var negative = false;
+
+        if (begin < end && isSign(lexeme.charAt(begin))) {
+            negative = lexeme.charAt(begin) == '-';
+            begin++;
+        }
+
+        if (regionEquals(lexeme, begin, end, "Infinity"))
+            return !negative;
+
+        var hexadecimal = end - begin > 2 && lexeme.charAt(begin) == '0'
+                && (lexeme.charAt(begin + 1) == 'x' || lexeme.charAt(begin + 1) == 'X');
+        var radix = 10;
+
+        if (hexadecimal) {
+            radix = 16;
+            begin += 2;
+        }
+
+        var index = begin;
+        var digitsCount = 0;
+        var hasNonZeroDigit = false;
+
+        for (; index < end && lexeme.charAt(index) != '.'; index++) {
+            var digit = asciiDigit(lexeme.charAt(index), radix);
+            if (digit < 0) break;
+
+            digitsCount++;
+            hasNonZeroDigit |= digit != 0;
+        }
+
+        if (index < end && lexeme.charAt(index) == '.') {
+            for (index++; index < end; index++) {
+                var digit = asciiDigit(lexeme.charAt(index), radix);
+                if (digit < 0) break;
+
+                digitsCount++;
+                hasNonZeroDigit |= digit != 0;
+            }
+        }
+
+        if (digitsCount == 0) return false;
+
+        var exponentMarker = hexadecimal ? 'p' : 'e';
+
+        if (index < end && Character.toLowerCase(lexeme.charAt(index)) == exponentMarker) {
+            index++;
+            if (index < end && isSign(lexeme.charAt(index))) index++;
+
+            var exponentBegin = index;
+            while (index < end && asciiDigit(lexeme.charAt(index), 10) >= 0) index++;
+            if (index == exponentBegin) return false;
+        } else if (hexadecimal) {
+            return false;
+        }
+
+        if (index < end && isTypeSuffix(lexeme.charAt(index))) index++;
+        if (index != end) return false;
+
+        return !negative || !hasNonZeroDigit;
+    }
+
+    private static boolean isIdentifierStart(char character) {
+        return character < 128 && IDENTIFIER_START[character];
+    }
+
+    private static boolean isIdentifierPart(char character) {
+        return character < 128 && IDENTIFIER_PART[character];
+    }
+
+    private static boolean isSign(char character) {
+        return character == '+' || character == '-';
+    }
+
+    private static boolean isTypeSuffix(char character) {
+        return switch (character) {
+            case 'f', 'F', 'd', 'D' -> true;
+            default -> false;
+        };
+    }
+
+    private static int asciiDigit(char character, int radix) {
+        if (character >= '0' && character <= '9') return character - '0';
+        if (radix != 16) return -1;
+        if (character >= 'a' && character <= 'f') return character - 'a' + 10;
+        if (character >= 'A' && character <= 'F') return character - 'A' + 10;
+        return -1;
+    }
+
+    private static boolean regionEquals(CharSequence lexeme, int begin, int end, String expected) {
+        if (end - begin != expected.length()) return false;
+
+        for (int index = 0; index < expected.length(); index++) {
+            if (lexeme.charAt(begin + index) != expected.charAt(index))
+                return false;
+        }
+
+        return true;
+    }
+
+    private static final boolean[] IDENTIFIER_START = new boolean[128];
+    private static final boolean[] IDENTIFIER_PART = new boolean[128];
+
+    static {
+        for (char character = 'a'; character <= 'z'; character++) {
+            IDENTIFIER_START[character] = true;
+            IDENTIFIER_START[Character.toUpperCase(character)] = true;
+        }
+
+        IDENTIFIER_START['_'] = true;
+        System.arraycopy(IDENTIFIER_START, 0, IDENTIFIER_PART, 0, IDENTIFIER_START.length);
+
+        for (char character = '0'; character <= '9'; character++)
+            IDENTIFIER_PART[character] = true;
+    }
+}
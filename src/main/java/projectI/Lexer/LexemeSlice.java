@@ -0,0 +1,86 @@
+package projectI.Lexer;
+
+/**
+ * A view of a lexeme in the characters of source code that does not copy them.
+ */
+public final class LexemeSlice implements CharSequence {
+    /**
+     * Create a view of a range of characters.
+     * @param source characters containing the lexeme
+     * @param start index of the first character of the lexeme
+     * @param length length of the lexeme
+     */
+    public LexemeSlice(char[] source, int start, int length) {
+        if (start < 0 || length < 0 || start + length > source.length)
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + (start + length) + ") is out of bounds for " + source.length + " characters.");
+
+        this.source = source;
+        this.start = start;
+        this.length = length;
+    }
+
+    /**
+     * Get the length of the lexeme.
+     * @return number of characters
+     */
+    @Override
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Get a character of the lexeme.
+     * @param index index of the character in the lexeme
+     * @return character
+     */
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for length " + length + ".");
+
+        return source[start + index];
+    }
+
+    /**
+     * Get a view of a part of the lexeme.
+     * @param begin index of the first character of the part
+     * @param end index after the last character of the part
+     * @return view of the part
+     */
+    @Override
+    public LexemeSlice subSequence(int begin, int end) {
+        if (begin < 0 || end > length || begin > end)
+            throw new IndexOutOfBoundsException("Range [" + begin + ", " + end + ") is out of bounds for length " + length + ".");
+
+        return new LexemeSlice(source, start + begin, end - begin);
+    }
+
+    /**
+     * Check whether the lexeme consists of the same characters as the passed sequence.
+     * @param other characters to compare with
+     * @return true if the characters are equal, false otherwise
+     */
+    public boolean contentEquals(CharSequence other) {
+        if (other.length() != length) return false;
+
+        for (int index = 0; index < length; index++) {
+            if (source[start + index] != other.charAt(index))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Copy the characters of the lexeme to a new string.
+     * @return the lexeme as a string
+     */
+    @Override
+    public String toString() {
+        return new String(source, start, length);
+    }
+
+    private final char[] source;
+    private final int start;
+    private final int length;
+}
@@ -0,0 +1,195 @@
+package projectI.Lexer;
+
+import java.util.Arrays;
+
+/**
+ * A table of interned lexemes.
+ * Keywords, operators and declaration separators are found with a perfect hash generated for them,
+ * other lexemes (identifiers and literals) are interned on demand and get symbol ids.
+ */
+public final class LexemeTable {
+    /**
+     * Find the kind of a keyword, an operator or a declaration separator.
+     * @param lexeme lexeme to look up
+     * @return token kind or TokenKind.UNKNOWN if the lexeme is not fixed
+     */
+    public static int findFixedKind(CharSequence lexeme) {
+        var hash = FIXED_SEED;
+
+        for (int index = 0; index < lexeme.length(); index++)
+            hash = (hash ^ lexeme.charAt(index)) * HASH_PRIME;
+
+        var kind = FIXED_SLOTS[slotOf(hash, FIXED_SLOTS.length)];
+        if (kind == TokenKind.UNKNOWN) return kind;
+
+        return TokenKind.getLexeme(kind).contentEquals(lexeme) ? kind : TokenKind.UNKNOWN;
+    }
+
+    /**
+     * Find the kind of a keyword, an operator or a declaration separator.
+     * @param source characters containing the lexeme
+     * @param start index of the first character of the lexeme
+     * @param length length of the lexeme
+     * @return token kind or TokenKind.UNKNOWN if the lexeme is not fixed
+     */
+    static int findFixedKind(char[] source, int start, int length) {
+        var kind = FIXED_SLOTS[slotOf(hash(FIXED_SEED, source, start, length), FIXED_SLOTS.length)];
+        if (kind == TokenKind.UNKNOWN) return kind;
+
+        return equals(TokenKind.getLexeme(kind), source, start, length) ? kind : TokenKind.UNKNOWN;
+    }
+
+    /**
+     * Get the number of interned symbols.
+     * @return number of symbols
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the string of an interned symbol.
+     * @param symbol symbol id
+     * @return interned string
+     */
+    public String getString(int symbol) {
+        if (symbol < 0 || symbol >= size)
+            throw new IndexOutOfBoundsException("Symbol " + symbol + " is out of bounds for " + size + " symbols.");
+
+        return strings[symbol];
+    }
+
+    /**
+     * Intern a lexeme.
+     * @param lexeme lexeme to intern
+     * @return symbol id of the lexeme
+     */
+    public int intern(String lexeme) {
+        return intern(lexeme.toCharArray(), 0, lexeme.length());
+    }
+
+    /**
+     * Intern a lexeme stored in a range of characters.
+     * @param source characters containing the lexeme
+     * @param start index of the first character of the lexeme
+     * @param length length of the lexeme
+     * @return symbol id of the lexeme
+     */
+    int intern(char[] source, int start, int length) {
+        var hash = hash(SYMBOLS_SEED, source, start, length);
+        var mask = slots.length - 1;
+
+        for (int slot = slotOf(hash, slots.length); ; slot = (slot + 1) & mask) {
+            var symbol = slots[slot];
+
+            if (symbol == TokenKind.UNKNOWN) {
+                symbol = add(new String(source, start, length), hash);
+                slots[slot] = symbol;
+
+                if (size * 2 > slots.length)
+                    rehash();
+
+                return symbol;
+            }
+
+            if (hashes[symbol] == hash && equals(strings[symbol], source, start, length))
+                return symbol;
+        }
+    }
+
+    private int add(String string, int hash) {
+        if (size == strings.length) {
+            strings = Arrays.copyOf(strings, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+
+        strings[size] = string;
+        hashes[size] = hash;
+        return size++;
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        Arrays.fill(slots, TokenKind.UNKNOWN);
+        var mask = slots.length - 1;
+
+        for (int symbol = 0; symbol < size; symbol++) {
+            var slot = slotOf(hashes[symbol], slots.length);
+            while (slots[slot] != TokenKind.UNKNOWN) slot = (slot + 1) & mask;
+            slots[slot] = symbol;
+        }
+    }
+
+    private static int hash(int seed, char[] source, int start, int length) {
+        var hash = seed;
+
+        for (int index = start; index < start + length; index++)
+            hash = (hash ^ source[index]) * HASH_PRIME;
+
+        return hash;
+    }
+
+    private static int slotOf(int hash, int slotsCount) {
+        return (hash ^ (hash >>> 15)) & (slotsCount - 1);
+    }
+
+    private static boolean equals(String string, char[] source, int start, int length) {
+        if (string.length() != length) return false;
+
+        for (int index = 0; index < length; index++) {
+            if (string.charAt(index) != source[start + index])
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Find a seed with which the hashes of all fixed lexemes fall into distinct slots.
+     * @return perfect hash seed
+     */
+    private static int findPerfectSeed() {
+        var occupied = new boolean[FIXED_SLOTS.length];
+
+        for (int seed = 1; ; seed++) {
+            Arrays.fill(occupied, false);
+            var collision = false;
+
+            for (int kind = 0; kind < TokenKind.FIXED_KINDS_COUNT && !collision; kind++) {
+                var lexeme = TokenKind.getLexeme(kind).toCharArray();
+                var slot = slotOf(hash(seed, lexeme, 0, lexeme.length), FIXED_SLOTS.length);
+
+                collision = occupied[slot];
+                occupied[slot] = true;
+            }
+
+            if (!collision) return seed;
+        }
+    }
+
+    private static final int HASH_PRIME = 0x01000193;
+    private static final int SYMBOLS_SEED = 0x811c9dc5;
+    private static final int[] FIXED_SLOTS = new int[256];
+    private static final int FIXED_SEED;
+
+    static {
+        FIXED_SEED = findPerfectSeed();
+        Arrays.fill(FIXED_SLOTS, TokenKind.UNKNOWN);
+
+        for (int kind = 0; kind < TokenKind.FIXED_KINDS_COUNT; kind++) {
+            var lexeme = TokenKind.getLexeme(kind).toCharArray();
+            FIXED_SLOTS[slotOf(hash(FIXED_SEED, lexeme, 0, lexeme.length), FIXED_SLOTS.length)] = kind;
+        }
+    }
+
+    private String[] strings = new String[64];
+    private int[] hashes = new int[64];
+    private int[] slots = newSlots();
+    private int size = 0;
+
+    private static int[] newSlots() {
+        var slots = new int[128];
+        Arrays.fill(slots, TokenKind.UNKNOWN);
+        return slots;
+    }
+}
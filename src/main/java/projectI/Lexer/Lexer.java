@@ -1,24 +1,59 @@
 package projectI.Lexer;
 
-import org.javatuples.Pair;
-
-import java.util.*;
-import java.util.regex.Pattern;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A stage of compilation that splits the given source code into a sequence of tokens.
  */
 public class Lexer {
-    private List<StringWithLocation> words;
+    private TokenBuffer buffer;
+    private final int parallelThreshold;
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a lexer that scans sources of at least DEFAULT_PARALLEL_THRESHOLD characters in parallel.
+     */
+    public Lexer() {
+        this(DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Create a lexer that scans large sources in parallel in the common fork/join pool.
+     * @param parallelThreshold minimal number of characters of a source to scan it in parallel
+     */
+    public Lexer(int parallelThreshold) {
+        this(parallelThreshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a lexer that scans large sources in parallel.
+     * @param parallelThreshold minimal number of characters of a source to scan it in parallel
+     * @param pool pool to scan chunks of large sources in
+     */
+    public Lexer(int parallelThreshold, ForkJoinPool pool) {
+        this.parallelThreshold = parallelThreshold;
+        this.pool = pool;
+    }
+
+    /**
+     * Default minimal number of characters of a source to scan it in parallel.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 20;
 
     /**
      * Create an array with lexeme + its location for each token (the last scan is considered).
      * @return lexemes with locations.
      */
     public StringWithLocation[] getLexemesWithLocations() {
-        var stringWithLocations = new StringWithLocation[words.size()];
-        words.toArray(stringWithLocations);
-        return stringWithLocations;
+        return buffer.toLexemesWithLocations();
     }
 
     /**
@@ -28,269 +63,221 @@ public class Lexer {
      * @throws InvalidLexemeException when lexer is unable to recognize a token
      */
     public Token[] scan(String programText) throws InvalidLexemeException {
-        programText = changeNewLinesToConventional(programText);
-        words = splitToWords(programText);
-        separateDeclarations(words);
-
-        for (int order = 0; order < operatorOrders.size(); order++) {
-            separateSymbolicOperators(words, order);
-        }
-
-        return toTokens();
-    }
-
-    private static String changeNewLinesToConventional(String programText) {
-        return programText.replaceAll("\r\n", "\n");
+        return scanToBuffer(programText).toTokens();
     }
 
     /**
-     * Generate a list of words storing their locations
-     * @param programText source code
-     * @return a list of lexemes with locations
+     * Split the program text in a sequence of tokens stored in a compact buffer.
+     * @param programText source code to scan
+     * @return buffer of tokens
+     * @throws InvalidLexemeException when lexer is unable to recognize a token
      */
-    private List<StringWithLocation> splitToWords(String programText) {
-        var strings = new ArrayList<StringWithLocation>();
-        var buffer = new StringBuilder();
-
-        var lineIndex = 0;
-        var wordBeginningIndex = 0;
-
-        for (var character : programText.toCharArray()) {
-            if (character == ' ' || character == '\n' || character == '\t') {
-                int offset = 1;
-
-                if (buffer.length() > 0) {
-                    var word = buffer.toString();
-                    offset += word.length();
-                    strings.add(new StringWithLocation(word, lineIndex, wordBeginningIndex));
-                    buffer.setLength(0);
-                }
-
-                wordBeginningIndex += offset;
-
-                if (character == '\n') {
-                    strings.add(new StringWithLocation("\n", lineIndex, wordBeginningIndex - 1));
-                    wordBeginningIndex = 0;
-                    lineIndex++;
-                }
-            } else {
-                buffer.append(character);
-            }
-        }
-
-        if (buffer.length() > 0) {
-            var word = buffer.toString();
-            strings.add(new StringWithLocation(word, lineIndex, wordBeginningIndex));
-        }
-
-        return strings;
+    public TokenBuffer scanToBuffer(String programText) throws InvalidLexemeException {
+        var text = programText.toCharArray();
+        return scanToBuffer(text, text.length);
     }
 
     /**
-     * Split words containing declaration character(s).
-     * @param words a list of lexemes with locations
+     * Update the tokens of source code after an edit.
+     * Only the lines touched by the edit are scanned again: from the declaration separator preceding the edit
+     * to the first one following it, after which the new tokens are the old ones shifted.
+     * The updated buffer shares the lexeme table with the previous one, so symbol ids of unchanged tokens are kept.
+     * @param previous tokens of the source code before the edit
+     * @param offset offset of the edit in the previous source code
+     * @param removedLength number of removed characters
+     * @param insertedText inserted characters
+     * @return updated tokens with the range of changed ones
+     * @throws InvalidLexemeException when lexer is unable to recognize a token
      */
-    private void separateDeclarations(List<StringWithLocation> words) {
-        for (int index = 0; index < words.size(); index++) {
-            var word = words.get(index);
-            var separatorIndex = getIndexOfDeclarationSeparator(word.getString());
-            if (separatorIndex == -1 || word.getString().length() == 1) continue;
-
-            var left = word.getString().substring(0, separatorIndex);
-            var separator = word.getString().charAt(separatorIndex);
-            var right = word.getString().substring(separatorIndex + 1);
-
-            words.set(index, new StringWithLocation(left, word.getLineIndex(), word.getBeginningIndex()));
-            words.add(index + 1, new StringWithLocation(Character.toString(separator), word.getLineIndex(), word.getBeginningIndex() + left.length()));
-            words.add(index + 2, new StringWithLocation(right, word.getLineIndex(), word.getBeginningIndex() + left.length() + 1));
-        }
+    public TokenBufferChange rescan(TokenBuffer previous, int offset, int removedLength, String insertedText) throws InvalidLexemeException {
+        var previousSource = previous.getSource();
+        var previousLength = previous.getSourceLength();
 
-        removeBlank(words);
-    }
+        if (offset < 0 || removedLength < 0 || offset + removedLength > previousLength)
+            throw new IndexOutOfBoundsException("Edit of " + removedLength + " characters at " + offset + " is out of bounds for " + previousLength + " characters.");
 
-    private static int getIndexOfDeclarationSeparator(String str) {
-        var index = -1;
+        var shift = insertedText.length() - removedLength;
+        var editEnd = offset + insertedText.length();
+        var text = new char[previousLength + shift];
+        System.arraycopy(previousSource, 0, text, 0, offset);
+        insertedText.getChars(0, insertedText.length(), text, offset);
+        System.arraycopy(previousSource, offset + removedLength, text, editEnd, previousLength - offset - removedLength);
 
-        for (char separator: declarationSeparators) {
-            var separatorIndex = str.indexOf(separator);
-            if (separatorIndex == -1) continue;
-            if (index != -1 && separatorIndex > index) continue;
+        var begin = previous.findFirstTokenFrom(offset);
+        while (begin > 0 && !(isDeclarationSeparator(previous.getKind(begin - 1)) && previous.getEnd(begin - 1) <= offset))
+            begin--;
 
-            index = separatorIndex;
-        }
+        var scanBegin = begin == 0 ? 0 : previous.getEnd(begin - 1);
+        var scanEnd = editEnd;
+        while (scanEnd < text.length && text[scanEnd] != '\n' && text[scanEnd] != ';')
+            scanEnd++;
+        scanEnd = Math.min(scanEnd + 1, text.length);
 
-        return index;
-    }
+        var scanned = SourceScanner.scan(text, scanBegin, scanEnd);
 
-    private static void removeBlank(List<StringWithLocation> strings) {
-        for (int index = strings.size() - 1; index >= 0; index--) {
-            if (strings.get(index).getString().isEmpty())
-                strings.remove(index);
-        }
-    }
+        for (int index = 0; index < scanned.size(); index++) {
+            if (scanned.getKind(index) != TokenKind.UNKNOWN) continue;
 
-    /**
-     * Split words containing operators (only those that cannot be a part of an identifier).
-     * @param words a list of lexemes with locations
-     * @param order the order of operators to consider
-     */
-    private static void separateSymbolicOperators(List<StringWithLocation> words, int order) {
-        for (int index = 0; index < words.size(); index++) {
-            var word = words.get(index);
-            if (isIntegerLiteral(word.getString()) || isRealLiteral(word.getString())) continue;
-
-            var position = getPositionOfSymbolicOperator(word.getString(), order);
-            var operatorIndex = position.getValue0();
-            var operatorLength = position.getValue1();
-            if (operatorIndex == -1 || operatorLength == word.getString().length()) continue;
-
-            var left = word.getString().substring(0, operatorIndex);
-            var operator = word.getString().substring(operatorIndex, operatorIndex + operatorLength);
-            var right = word.getString().substring(operatorIndex + operatorLength);
-
-            words.set(index, new StringWithLocation(left, word.getLineIndex(), word.getBeginningIndex()));
-            words.add(index + 1, new StringWithLocation(operator, word.getLineIndex(), word.getBeginningIndex() + left.length()));
-            words.add(index + 2, new StringWithLocation(right, word.getLineIndex(), word.getBeginningIndex() + left.length() + operator.length()));
-        }
+            var kind = resolveKind(text, scanned.getOffset(index), scanned.getLength(index));
 
-        removeBlank(words);
-    }
+            if (kind == TokenKind.UNKNOWN)
+                throw new InvalidLexemeException(scanned.getLexemeWithLocation(index));
+
+            scanned.setKind(index, kind);
+        }
 
-    private static Pair<Integer, Integer> getPositionOfSymbolicOperator(String word, int order) {
-        int index = -1;
-        int length = 0;
+        var previousResume = previous.findFirstTokenFrom(scanEnd - shift);
+        buffer = new TokenBuffer(text, text.length, previous.size() + scanned.size(), previous.getLexemeTable());
+        buffer.append(previous, 0, begin, 0);
+        buffer.append(scanned);
+        buffer.append(previous, previousResume, previous.size(), shift);
 
-        for (int operatorsIndex = 0; operatorsIndex < operatorOrders.size() && operatorsIndex <= order; operatorsIndex++) {
-            for (String operator : operatorOrders.get(operatorsIndex)) {
-                if (!isSymbolic(operator)) continue;
+        var endExclusive = begin + scanned.size();
+        var previousEndExclusive = previousResume;
 
-                var operatorIndex = word.indexOf(operator);
-                if (operatorIndex == -1) continue;
-                if (index != -1 && operatorIndex > index) continue;
-                if (operator.length() < length) continue;
+        while (begin < endExclusive && begin < previousEndExclusive && isSameToken(previous, begin, begin, 0))
+            begin++;
 
-                index = operatorIndex;
-                length = operator.length();
-            }
+        while (endExclusive > begin && previousEndExclusive > begin
+                && isSameToken(previous, previousEndExclusive - 1, endExclusive - 1, shift)) {
+            endExclusive--;
+            previousEndExclusive--;
         }
 
-        return new Pair<>(index, length);
+        return new TokenBufferChange(buffer, begin, endExclusive, previousEndExclusive);
     }
 
-    private static boolean isSymbolic(String string) {
-        if (string.length() == 0) return false;
-
-        for (int index = 0; index < string.length(); index++) {
-            if (Character.isAlphabetic(string.charAt(index)))
-                return false;
-        }
-
-        return true;
+    private boolean isSameToken(TokenBuffer previous, int previousIndex, int index, int shift) {
+        return previous.getKind(previousIndex) == buffer.getKind(index)
+                && previous.getSymbol(previousIndex) == buffer.getSymbol(index)
+                && previous.getLength(previousIndex) == buffer.getLength(index)
+                && previous.getOffset(previousIndex) + shift == buffer.getOffset(index);
     }
 
-    private Token[] toTokens() throws InvalidLexemeException {
-        var tokens = new ArrayList<Token>();
+    private static boolean isDeclarationSeparator(int kind) {
+        return kind == TokenKind.NEW_LINE || kind == TokenKind.SEMICOLON;
+    }
 
-        for (StringWithLocation word : words) {
-            var token = tryResolveToken(word.getString());
+    /**
+     * Split the UTF-8 source code stored in the file in a sequence of tokens stored in a compact buffer.
+     * Files of at least MAPPING_THRESHOLD bytes are memory-mapped and decoded straight into the buffer's characters,
+     * so no intermediate byte array or string of the whole source is created. Smaller files are read into a heap buffer.
+     * The buffer keeps only the decoded characters, but the JDK releases a mapping when it is garbage collected,
+     * not when the file is closed, so a mapped file stays mapped (and locked on Windows) until then.
+     * @param sourceFile path to the source code
+     * @return buffer of tokens
+     * @throws IOException when the file cannot be read or is not valid UTF-8
+     * @throws InvalidLexemeException when lexer is unable to recognize a token
+     */
+    public TokenBuffer scanToBuffer(Path sourceFile) throws IOException, InvalidLexemeException {
+        var text = read(sourceFile);
+        return scanToBuffer(text.array(), text.position());
+    }
 
-            if (token == null)
-                throw new InvalidLexemeException(word);
+    /**
+     * Minimal number of bytes of a source file to memory-map it rather than read it.
+     */
+    public static final int MAPPING_THRESHOLD = 1 << 20;
 
-            tokens.add(token);
-        }
+    private TokenBuffer scanToBuffer(char[] text, int length) throws InvalidLexemeException {
+        buffer = length >= parallelThreshold && pool.getParallelism() > 1
+                ? ParallelScanner.scan(text, length, pool)
+                : SourceScanner.scan(text, length);
 
-        var result = new Token[tokens.size()];
-        tokens.toArray(result);
-        return result;
+        resolveKinds(buffer);
+        return buffer;
     }
 
-    private static Token tryResolveToken(String lexeme) {
-        Token token;
-
-        token = tryResolveSpecificToken(lexeme, keywords, TokenType.Keyword);
-        if (token != null) return token;
-
-        for (Set<String> operators : operatorOrders) {
-            token = tryResolveSpecificToken(lexeme, operators, TokenType.Operator);
-            if (token != null) return token;
-        }
+    /**
+     * Decode a UTF-8 file, memory-mapping it if it has at least MAPPING_THRESHOLD bytes.
+     * @param sourceFile path to the file
+     * @return buffer whose array holds the characters and whose position is their number
+     * @throws IOException when the file cannot be read or is not valid UTF-8
+     */
+    private static CharBuffer read(Path sourceFile) throws IOException {
+        try (var channel = FileChannel.open(sourceFile, StandardOpenOption.READ)) {
+            var size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new IOException("File " + sourceFile + " is too large to be scanned.");
 
-        token = tryResolveSpecificToken(lexeme, declarationSeparators, TokenType.DeclarationSeparator);
-        if (token != null) return token;
+            if (size >= MAPPING_THRESHOLD)
+                return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
 
-        token = tryResolveIdentifier(lexeme);
-        if (token != null) return token;
+            var bytes = ByteBuffer.allocate((int) size);
+            while (bytes.hasRemaining() && channel.read(bytes) != -1) { }
 
-        token = tryResolveLiteral(lexeme);
-        return token;
+            return decode(bytes.flip());
+        }
     }
 
-    private static Token tryResolveSpecificToken(String lexeme, Set<String> definedLexemes, TokenType type) {
-        if (definedLexemes.contains(lexeme))
-            return new Token(type, lexeme);
-
-        return null;
-    }
+    /**
+     * Decode UTF-8 bytes.
+     * ASCII bytes are widened directly, the decoder is only used from the first non-ASCII byte on.
+     * @param bytes bytes from the beginning to the limit of the buffer
+     * @return buffer whose array holds the characters and whose position is their number
+     * @throws IOException when the bytes are not valid UTF-8
+     */
+    private static CharBuffer decode(ByteBuffer bytes) throws IOException {
+        var text = new char[bytes.limit()];
+        var length = 0;
 
-    private static Token tryResolveSpecificToken(String lexeme, char[] definedLexemes, TokenType type) {
-        if (lexeme.length() != 1) return null;
+        while (length < text.length) {
+            var value = bytes.get(length);
+            if (value < 0) break;
 
-        for (char definedLexeme : definedLexemes) {
-            if (lexeme.charAt(0) == definedLexeme)
-                return new Token(type, lexeme);
+            text[length++] = (char) value;
         }
 
-        return null;
-    }
+        var characters = CharBuffer.wrap(text, length, text.length - length);
+        if (length == text.length) return characters;
 
-    private static Token tryResolveIdentifier(String lexeme) {
-        if (Pattern.matches("^[A-Za-z_][A-Za-z_0-9]*$", lexeme))
-            return new Token(TokenType.Identifier, lexeme);
+        var decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        var result = decoder.decode(bytes.position(length), characters, true);
+        if (result.isError()) result.throwException();
 
-        return null;
+        decoder.flush(characters);
+        return characters;
     }
 
-    private static Token tryResolveLiteral(String lexeme) {
-        if (isIntegerLiteral(lexeme))
-            return new Token(TokenType.Literal, lexeme);
+    /**
+     * Resolve kinds of tokens left unresolved by the scanner: keywords, word operators, identifiers and literals.
+     * @param buffer tokens
+     * @throws InvalidLexemeException when a token cannot be recognized
+     */
+    private static void resolveKinds(TokenBuffer buffer) throws InvalidLexemeException {
+        for (int index = 0; index < buffer.size(); index++) {
+            if (buffer.getKind(index) != TokenKind.UNKNOWN) continue;
 
-        if (isRealLiteral(lexeme))
-            return new Token(TokenType.Literal, lexeme);
+            var kind = resolveKind(buffer.getSource(), buffer.getOffset(index), buffer.getLength(index));
 
-        return null;
-    }
+            if (kind == TokenKind.UNKNOWN)
+                throw new InvalidLexemeException(buffer.getLexemeWithLocation(index));
 
-    private static boolean isIntegerLiteral(String str)  {
-        try {
-            int value = Integer.parseInt(str);
-            return value >= 0;
-        }
-        catch (NumberFormatException ignored) {
-            return false;
+            buffer.resolve(index, kind);
         }
     }
 
-    private static boolean isRealLiteral(String str) {
-        try {
-            var value = Float.parseFloat(str);
-            return value >= 0f;
-        }
-        catch (NumberFormatException ignored) {
-            return false;
-        }
-    }
+    /**
+     * Resolve the kind of a word: a keyword, a word operator, an identifier or a literal.
+     * @param source characters containing the word
+     * @param start index of the first character of the word
+     * @param length length of the word
+     * @return token kind or TokenKind.UNKNOWN if the word is not a valid lexeme
+     */
+    static int resolveKind(char[] source, int start, int length) {
+        var kind = LexemeTable.findFixedKind(source, start, length);
+        if (kind != TokenKind.UNKNOWN) return kind;
 
-    private static final char[] declarationSeparators = {';', '\n'};
+        var lexeme = new LexemeSlice(source, start, length);
 
-    private static final List<Set<String>> operatorOrders = Arrays.asList(
-            new HashSet<>(Arrays.asList("and", "or", "xor",
-                    "not", "<", "<=", ">", ">=", "=", "/=", "*", "/", "%",
-                    "+", "-", "..", "[", "]", "(", ")", ":=", ":", ",")),
-            new HashSet<>(Arrays.asList(".")));
+        if (LexemeClassifier.isIdentifier(lexeme))
+            return TokenKind.IDENTIFIER;
 
-    private static final Set<String> keywords = new HashSet<>(Arrays.asList(
-            "var", "is", "type", "record", "end",
-            "array", "if", "then", "else", "routine", "size", "true", "false", "for",
-            "in", "reverse", "loop", "integer", "real", "boolean", "return", "while"));
+        if (LexemeClassifier.isIntegerLiteral(lexeme) || LexemeClassifier.isRealLiteral(lexeme))
+            return TokenKind.LITERAL;
+
+        return TokenKind.UNKNOWN;
+    }
 }
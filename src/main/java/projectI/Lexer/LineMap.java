@@ -0,0 +1,113 @@
+package projectI.Lexer;
+
+import projectI.CodePosition;
+
+import java.util.Arrays;
+
+/**
+ * Offsets of the beginnings of lines of a source code.
+ * Converts character offsets to line indices and columns on demand,
+ * so tokens only have to store their offsets.
+ */
+public final class LineMap {
+    /**
+     * Find the beginnings of lines of the source code.
+     * @param source characters of the source code
+     * @param length number of characters of the source code
+     * @return line map of the source code
+     */
+    public static LineMap of(char[] source, int length) {
+        var lineStarts = new int[16];
+        var count = 1;
+
+        for (int index = 0; index < length; index++) {
+            if (source[index] != '\n') continue;
+
+            if (count == lineStarts.length)
+                lineStarts = Arrays.copyOf(lineStarts, count * 2);
+
+            lineStarts[count++] = index + 1;
+        }
+
+        return new LineMap(lineStarts, count);
+    }
+
+    private LineMap(int[] lineStarts, int count) {
+        this.lineStarts = lineStarts;
+        this.count = count;
+    }
+
+    /**
+     * Get the number of lines.
+     * @return number of lines
+     */
+    public int getLineCount() {
+        return count;
+    }
+
+    /**
+     * Get the offset of the first character of the line.
+     * @param lineIndex line index
+     * @return offset of the line
+     */
+    public int getLineStart(int lineIndex) {
+        if (lineIndex < 0 || lineIndex >= count)
+            throw new IndexOutOfBoundsException("Line index " + lineIndex + " is out of bounds for " + count + " lines.");
+
+        return lineStarts[lineIndex];
+    }
+
+    /**
+     * Get the index of the line containing the character at the passed offset.
+     * Consecutive queries usually hit the same or the next line, so these are checked before the binary search.
+     * @param offset offset of a character
+     * @return line index
+     */
+    public int getLineIndex(int offset) {
+        if (offset < 0)
+            throw new IndexOutOfBoundsException("Offset " + offset + " is negative.");
+
+        var line = lastLine;
+        if (contains(line, offset)) return line;
+        if (line + 1 < count && contains(line + 1, offset)) return lastLine = line + 1;
+
+        var low = 0;
+        var high = count - 1;
+
+        while (low < high) {
+            var middle = (low + high + 1) >>> 1;
+
+            if (lineStarts[middle] <= offset) low = middle;
+            else high = middle - 1;
+        }
+
+        return lastLine = low;
+    }
+
+    /**
+     * Get the index of the character at the passed offset in its line.
+     * @param offset offset of a character
+     * @return column
+     */
+    public int getColumn(int offset) {
+        return offset - lineStarts[getLineIndex(offset)];
+    }
+
+    /**
+     * Get the position of the character at the passed offset.
+     * @param offset offset of a character
+     * @return position
+     */
+    public CodePosition getPosition(int offset) {
+        var line = getLineIndex(offset);
+        return new CodePosition(line, offset - lineStarts[line]);
+    }
+
+    private boolean contains(int line, int offset) {
+        return lineStarts[line] <= offset && (line + 1 == count || offset < lineStarts[line + 1]);
+    }
+
+    private final int[] lineStarts;
+    private final int count;
+    private int lastLine = 0;
+}
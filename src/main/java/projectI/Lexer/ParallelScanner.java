@@ -0,0 +1,73 @@
+package projectI.Lexer;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Scans large source code in chunks on the workers of a fork/join pool.
+ * No token spans a line break, so chunks are cut right after new line characters
+ * and the scanned chunks are concatenated in order.
+ */
+final class ParallelScanner {
+    private ParallelScanner() { }
+
+    /**
+     * Split the source code into tokens and resolve their kinds.
+     * Identifiers and literals are interned while the chunks are concatenated,
+     * invalid lexemes are left unresolved.
+     * @param text characters of the source code
+     * @param length number of characters of the source code
+     * @param pool pool to scan chunks in
+     * @return a buffer of tokens
+     */
+    static TokenBuffer scan(char[] text, int length, ForkJoinPool pool) {
+        var chunkSize = Math.max(MIN_CHUNK_SIZE, length / (pool.getParallelism() * CHUNKS_PER_WORKER) + 1);
+        var tasks = new ArrayList<ForkJoinTask<TokenBuffer>>();
+
+        for (int begin = 0; begin < length; ) {
+            var end = findChunkEnd(text, Math.min(begin + chunkSize, length), length);
+            var chunkBegin = begin;
+            tasks.add(ForkJoinTask.adapt(() -> scanChunk(text, chunkBegin, end)));
+            begin = end;
+        }
+
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+        var tokensCount = 0;
+        for (var task : tasks)
+            tokensCount += task.join().size();
+
+        var buffer = new TokenBuffer(text, length, tokensCount);
+
+        for (var task : tasks)
+            buffer.append(task.join());
+
+        return buffer;
+    }
+
+    private static int findChunkEnd(char[] text, int index, int length) {
+        while (index < length && text[index - 1] != '\n')
+            index++;
+
+        return index;
+    }
+
+    private static TokenBuffer scanChunk(char[] text, int begin, int end) {
+        var tokens = SourceScanner.scan(text, begin, end);
+
+        for (int index = 0; index < tokens.size(); index++) {
+            if (tokens.getKind(index) != TokenKind.UNKNOWN) continue;
+
+            var kind = Lexer.resolveKind(text, tokens.getOffset(index), tokens.getLength(index));
+
+            if (kind != TokenKind.UNKNOWN)
+                tokens.setKind(index, kind);
+        }
+
+        return tokens;
+    }
+
+    private static final int MIN_CHUNK_SIZE = 16 * 1024;
+    private static final int CHUNKS_PER_WORKER = 4;
+}
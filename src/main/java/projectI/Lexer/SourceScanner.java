@@ -0,0 +1,292 @@
+package projectI.Lexer;
+
+import java.util.Arrays;
+
+/**
+ * A single-pass, table-driven scanner that splits source code into lexemes with their offsets.
+ * Each character is inspected a constant number of times, so scanning is linear in the size of the source.
+ */
+final class SourceScanner {
+    /**
+     * Receives the tokens found by the scanner.
+     * Tokens are located by their offsets only, a new line token of a CRLF pair starts at the carriage return.
+     */
+    interface Sink {
+        /**
+         * Accept a token.
+         * @param kind token kind or TokenKind.UNKNOWN if the token is a word yet to be resolved
+         * @param start index of the first character of the token in the scanned text
+         * @param length length of the token
+         */
+        void accept(int kind, int start, int length);
+    }
+
+    /**
+     * Split the first characters of the array into tokens storing their offsets.
+     * Kinds of operators and separators are resolved, other tokens are left unresolved.
+     * @param text characters of the source code, the buffer keeps a reference to them
+     * @param length number of characters of the source code
+     * @return a buffer of tokens
+     */
+    static TokenBuffer scan(char[] text, int length) {
+        return scan(text, 0, length);
+    }
+
+    /**
+     * Split a range of the source code that begins a line into tokens storing their offsets.
+     * Kinds of operators and separators are resolved, other tokens are left unresolved.
+     * @param text characters of the source code, the buffer keeps a reference to them
+     * @param begin index of the first character of the range
+     * @param end index after the last character of the range
+     * @return a buffer of tokens
+     */
+    static TokenBuffer scan(char[] text, int begin, int end) {
+        var tokens = new TokenBuffer(text, end, (end - begin) / 4);
+        var scanner = new SourceScanner(text, (kind, start, tokenLength) ->
+                tokens.add(kind, kind == TokenKind.UNKNOWN ? null : TokenKind.getType(kind), start, tokenLength));
+
+        scanner.scan(begin, end, true);
+        return tokens;
+    }
+
+    /**
+     * Create a scanner of the text.
+     * @param text characters to scan
+     * @param sink receiver of the tokens
+     */
+    SourceScanner(char[] text, Sink sink) {
+        this.text = text;
+        this.sink = sink;
+    }
+
+    /**
+     * Scan a range of the text.
+     * Unless the range ends the input, a token that may continue after the range is not scanned.
+     * @param begin index of the first character to scan
+     * @param end index after the last available character
+     * @param endOfInput whether no characters follow the range
+     * @return index of the first character that has not been scanned
+     */
+    int scan(int begin, int end, boolean endOfInput) {
+        var index = begin;
+
+        while (index < end) {
+            var character = text[index];
+
+            switch (classOf(character)) {
+                case BLANK -> index++;
+                case NEW_LINE -> {
+                    emit(TokenKind.NEW_LINE, index, 1);
+                    index++;
+                }
+                case CARRIAGE_RETURN -> {
+                    if (index + 1 < end && text[index + 1] == '\n') {
+                        emit(TokenKind.NEW_LINE, index, 1);
+                        index += 2;
+                    } else {
+                        var runEnd = findRunEnd(index, end);
+                        if (!endOfInput && runEnd == end) return index;
+
+                        index = scanRun(index, runEnd);
+                    }
+                }
+                case SEPARATOR -> {
+                    emit(TokenKind.SEMICOLON, index, 1);
+                    index++;
+                }
+                case OPERATOR -> {
+                    if (!endOfInput && index + 1 == end && SECOND_OPERATOR_CHARACTERS[character] != 0) return index;
+
+                    index = scanOperator(index, end);
+                }
+                case DOT -> {
+                    if (index + 1 < end && text[index + 1] == '.') {
+                        index = scanOperator(index, end);
+                    } else {
+                        var runEnd = findRunEnd(index, end);
+                        if (!endOfInput && runEnd == end) return index;
+
+                        index = scanRun(index, runEnd);
+                    }
+                }
+                default -> {
+                    var runEnd = findRunEnd(index, end);
+                    if (!endOfInput && runEnd == end) return index;
+
+                    index = scanRun(index, runEnd);
+                }
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Emit the longest symbolic operator that starts at the passed index.
+     * @param begin index of the first character of the operator
+     * @param end index after the last available character
+     * @return index of the character after the operator
+     */
+    private int scanOperator(int begin, int end) {
+        var first = text[begin];
+        var second = SECOND_OPERATOR_CHARACTERS[first];
+
+        if (second != 0 && begin + 1 < end && text[begin + 1] == second) {
+            emit(LexemeTable.findFixedKind(text, begin, 2), begin, 2);
+            return begin + 2;
+        }
+
+        emit(LexemeTable.findFixedKind(text, begin, 1), begin, 1);
+        return begin + 1;
+    }
+
+    /**
+     * Emit the lexemes of a run of characters that are neither blank nor symbolic operators.
+     * The run is split on member access dots, and the longest numeric literal that starts a part and ends
+     * before a dot or at the end of the run is kept whole, so "1.1.7" is split as "1.1", "." and "7".
+     * @param begin index of the first character of the run
+     * @param end index after the last character of the run
+     * @return index of the character after the run
+     */
+    private int scanRun(int begin, int end) {
+        var left = begin;
+
+        while (left < end) {
+            var partEnd = findNumericLiteralEnd(left, end);
+
+            if (partEnd == left) {
+                while (partEnd < end && text[partEnd] != '.') partEnd++;
+            }
+
+            if (partEnd > left)
+                emit(TokenKind.UNKNOWN, left, partEnd - left);
+
+            if (partEnd < end)
+                emit(TokenKind.DOT, partEnd, 1);
+
+            left = partEnd + 1;
+        }
+
+        return end;
+    }
+
+    /**
+     * Find the end of a run of characters.
+     * @param begin index of the first character of the run
+     * @param end index after the last available character
+     * @return index after the last character of the run or end if the run may continue after the available characters
+     */
+    private int findRunEnd(int begin, int end) {
+        var index = begin;
+
+        while (index < end) {
+            var character = text[index];
+
+            switch (classOf(character)) {
+                case DIGIT, WORD -> index++;
+                case DOT -> {
+                    if (index + 1 < end && text[index + 1] == '.')
+                        return index;
+
+                    index++;
+                }
+                case CARRIAGE_RETURN -> {
+                    if (index + 1 < end && text[index + 1] == '\n')
+                        return index;
+
+                    index++;
+                }
+                default -> {
+                    return index;
+                }
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Run the numeric literal automaton from the passed index.
+     * @param begin index of the first character
+     * @param end index after the last character of the run
+     * @return index after the longest integral or real literal that starts at begin and is followed by a dot
+     *         or the end of the run, or begin if there is no such literal
+     */
+    private int findNumericLiteralEnd(int begin, int end) {
+        var state = NUMBER_START;
+        var literalEnd = begin;
+
+        for (int index = begin; index < end; index++) {
+            state = NUMBER_TRANSITIONS[state][classOf(text[index])];
+            if (state == NUMBER_REJECTED) break;
+
+            if (NUMBER_ACCEPTING[state] && (index + 1 == end || text[index + 1] == '.'))
+                literalEnd = index + 1;
+        }
+
+        return literalEnd;
+    }
+
+    private void emit(int kind, int start, int length) {
+        sink.accept(kind, start, length);
+    }
+
+    private static byte classOf(char character) {
+        return character < CHARACTER_CLASSES.length ? CHARACTER_CLASSES[character] : WORD;
+    }
+
+    private final char[] text;
+    private final Sink sink;
+
+    private static final byte WORD = 0;
+    private static final byte DIGIT = 1;
+    private static final byte DOT = 2;
+    private static final byte OPERATOR = 3;
+    private static final byte BLANK = 4;
+    private static final byte NEW_LINE = 5;
+    private static final byte CARRIAGE_RETURN = 6;
+    private static final byte SEPARATOR = 7;
+    private static final int CLASSES_COUNT = 8;
+
+    private static final byte[] CHARACTER_CLASSES = new byte[128];
+    private static final char[] SECOND_OPERATOR_CHARACTERS = new char[128];
+
+    private static final int NUMBER_START = 0;
+    private static final int NUMBER_INTEGRAL = 1;
+    private static final int NUMBER_POINT = 2;
+    private static final int NUMBER_LEADING_POINT = 3;
+    private static final int NUMBER_FRACTION = 4;
+    private static final int NUMBER_REJECTED = 5;
+
+    private static final int[][] NUMBER_TRANSITIONS = new int[6][CLASSES_COUNT];
+    private static final boolean[] NUMBER_ACCEPTING = { false, true, true, false, true, false };
+
+    static {
+        for (var character : "0123456789".toCharArray())
+            CHARACTER_CLASSES[character] = DIGIT;
+
+        for (var character : ":=<>/*%+-[](),".toCharArray())
+            CHARACTER_CLASSES[character] = OPERATOR;
+
+        CHARACTER_CLASSES['.'] = DOT;
+        CHARACTER_CLASSES[' '] = BLANK;
+        CHARACTER_CLASSES['\t'] = BLANK;
+        CHARACTER_CLASSES['\n'] = NEW_LINE;
+        CHARACTER_CLASSES['\r'] = CARRIAGE_RETURN;
+        CHARACTER_CLASSES[';'] = SEPARATOR;
+
+        for (var operator : new String[] { ":=", "<=", ">=", "/=", ".." })
+            SECOND_OPERATOR_CHARACTERS[operator.charAt(0)] = operator.charAt(1);
+
+        for (var transitions : NUMBER_TRANSITIONS)
+            Arrays.fill(transitions, NUMBER_REJECTED);
+
+        NUMBER_TRANSITIONS[NUMBER_START][DIGIT] = NUMBER_INTEGRAL;
+        NUMBER_TRANSITIONS[NUMBER_START][DOT] = NUMBER_LEADING_POINT;
+        NUMBER_TRANSITIONS[NUMBER_INTEGRAL][DIGIT] = NUMBER_INTEGRAL;
+        NUMBER_TRANSITIONS[NUMBER_INTEGRAL][DOT] = NUMBER_POINT;
+        NUMBER_TRANSITIONS[NUMBER_POINT][DIGIT] = NUMBER_FRACTION;
+        NUMBER_TRANSITIONS[NUMBER_LEADING_POINT][DIGIT] = NUMBER_FRACTION;
+        NUMBER_TRANSITIONS[NUMBER_FRACTION][DIGIT] = NUMBER_FRACTION;
+    }
+}
@@ -21,7 +21,7 @@ public class StringWithLocation {
      * @return line index
      */
     public int getLineIndex() {
-        return position.lineIndex;
+        return lineIndex;
     }
 
     /**
@@ -29,7 +29,7 @@ public class StringWithLocation {
      * @return beginning index
      */
     public int getBeginningIndex() {
-        return position.beginningIndex;
+        return beginningIndex;
     }
 
     /**
@@ -37,7 +37,7 @@ public class StringWithLocation {
      * @return position
      */
     public CodePosition getPosition() {
-        return position;
+        return new CodePosition(lineIndex, beginningIndex);
     }
 
     /**
@@ -48,7 +48,8 @@ public class StringWithLocation {
      */
     public StringWithLocation(String string, int lineIndex, int beginningIndex) {
         this.string = string;
-        this.position = new CodePosition(lineIndex, beginningIndex);
+        this.lineIndex = lineIndex;
+        this.beginningIndex = beginningIndex;
     }
 
     /**
@@ -61,7 +62,8 @@ public class StringWithLocation {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         StringWithLocation that = (StringWithLocation) o;
-        return Objects.equals(position, that.position) &&
+        return lineIndex == that.lineIndex &&
+                beginningIndex == that.beginningIndex &&
                 Objects.equals(string, that.string);
     }
 
@@ -71,7 +73,7 @@ public class StringWithLocation {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(string, position);
+        return Objects.hash(string, lineIndex, beginningIndex);
     }
 
     /**
@@ -82,11 +84,12 @@ public class StringWithLocation {
     public String toString() {
         return "StringWithLocation{" +
                 "string='" + string + '\'' +
-                ", lineIndex=" + position.lineIndex +
-                ", beginningIndex=" + position.beginningIndex +
+                ", lineIndex=" + lineIndex +
+                ", beginningIndex=" + beginningIndex +
                 '}';
     }
 
     private final String string;
-    private final CodePosition position;
+    private final int lineIndex;
+    private final int beginningIndex;
 }
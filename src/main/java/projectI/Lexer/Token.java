@@ -14,6 +14,14 @@ public class Token {
         return type;
     }
 
+    /**
+     * Get the kind of the token.
+     * @return token's kind (one of TokenKind constants)
+     */
+    public int getKind() {
+        return kind;
+    }
+
     /**
      * Get the lexeme of the token.
      * @return lexeme of the token
@@ -28,6 +36,11 @@ public class Token {
      * @param lexeme token lexeme
      */
     public Token(TokenType type, String lexeme) {
+        this(TokenKind.of(type, lexeme), type, lexeme);
+    }
+
+    Token(int kind, TokenType type, String lexeme) {
+        this.kind = kind;
         this.type = type;
         this.lexeme = lexeme;
     }
@@ -71,6 +84,7 @@ public class Token {
         return this.type == type && this.lexeme.equals(lexeme);
     }
 
+    private final int kind;
     private final TokenType type;
     private final String lexeme;
 }
\ No newline at end of file
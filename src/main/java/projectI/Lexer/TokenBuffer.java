@@ -0,0 +1,461 @@
+package projectI.Lexer;
+
+import projectI.CodePosition;
+
+import java.util.Arrays;
+
+/**
+ * A compact sequence of tokens stored as parallel primitive arrays over the source code characters.
+ * Lexemes are not stored separately: each token refers to a range of the source,
+ * keywords, operators and separators are identified by their kinds,
+ * and identifiers and literals are interned in a lexeme table.
+ */
+public final class TokenBuffer {
+    /**
+     * Create a buffer from tokens and their locations.
+     * The source code is laid out again from the locations, which must be in the order of the tokens.
+     * @param tokens tokens
+     * @param locations lexemes with locations of the tokens
+     * @return a buffer holding the passed tokens
+     */
+    public static TokenBuffer of(Token[] tokens, StringWithLocation[] locations) {
+        if (tokens.length != locations.length)
+            throw new IllegalArgumentException("The number of tokens and locations must be equal.");
+
+        var text = new StringBuilder();
+        var offsets = new int[tokens.length];
+        var lineIndex = 0;
+        var lineStart = 0;
+
+        for (int index = 0; index < tokens.length; index++) {
+            var location = locations[index];
+            var column = text.length() - lineStart;
+
+            if (location.getLineIndex() < lineIndex || location.getLineIndex() == lineIndex && location.getBeginningIndex() < column)
+                throw new IllegalArgumentException("Token locations must follow the order of the tokens.");
+
+            for (; lineIndex < location.getLineIndex(); lineIndex++) {
+                text.append('\n');
+                lineStart = text.length();
+            }
+
+            while (text.length() - lineStart < location.getBeginningIndex())
+                text.append(' ');
+
+            offsets[index] = text.length();
+            text.append(tokens[index].getLexeme());
+
+            if (tokens[index].getKind() == TokenKind.NEW_LINE) {
+                lineIndex++;
+                lineStart = text.length();
+            }
+        }
+
+        var source = text.toString().toCharArray();
+        var buffer = new TokenBuffer(source, source.length, tokens.length);
+
+        for (int index = 0; index < tokens.length; index++) {
+            var token = tokens[index];
+            var length = token.getLexeme().length();
+            buffer.add(token.getKind(), token.getType(), offsets[index], length);
+
+            if (token.getKind() == TokenKind.IDENTIFIER || token.getKind() == TokenKind.LITERAL)
+                buffer.symbols[index] = buffer.lexemes.intern(source, offsets[index], length);
+        }
+
+        return buffer;
+    }
+
+    TokenBuffer(char[] source, int length, int initialCapacity) {
+        this(source, length, initialCapacity, new LexemeTable());
+    }
+
+    TokenBuffer(char[] source, int length, int initialCapacity, LexemeTable lexemes) {
+        this.source = source;
+        this.sourceLength = length;
+        this.lexemes = lexemes;
+        initialCapacity = Math.max(initialCapacity, 16);
+        kinds = new byte[initialCapacity];
+        types = new byte[initialCapacity];
+        symbols = new int[initialCapacity];
+        starts = new int[initialCapacity];
+        lengths = new int[initialCapacity];
+    }
+
+    /**
+     * Get the number of tokens.
+     * @return number of tokens
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the type of the token.
+     * @param index index of the token
+     * @return token's type or null if it has not been resolved yet
+     */
+    public TokenType getType(int index) {
+        var type = types[checkIndex(index)];
+        return type == UNRESOLVED ? null : TYPES[type];
+    }
+
+    /**
+     * Get the kind of the token.
+     * @param index index of the token
+     * @return token's kind (one of TokenKind constants)
+     */
+    public int getKind(int index) {
+        return kinds[checkIndex(index)];
+    }
+
+    /**
+     * Get the symbol id of an identifier or a literal in the lexeme table.
+     * @param index index of the token
+     * @return symbol id or -1 if the token is not an identifier or a literal
+     */
+    public int getSymbol(int index) {
+        return symbols[checkIndex(index)];
+    }
+
+    /**
+     * Get the table where identifiers and literals are interned.
+     * @return lexeme table
+     */
+    public LexemeTable getLexemeTable() {
+        return lexemes;
+    }
+
+    /**
+     * Get the lexeme of the token.
+     * Lexemes of the same keywords, operators, identifiers or literals are shared.
+     * @param index index of the token
+     * @return lexeme of the token
+     */
+    public String getLexeme(int index) {
+        var kind = kinds[checkIndex(index)];
+        if (0 <= kind && kind < TokenKind.FIXED_KINDS_COUNT) return TokenKind.getLexeme(kind);
+        if (symbols[index] >= 0) return lexemes.getString(symbols[index]);
+
+        return new String(source, starts[index], lengths[index]);
+    }
+
+    /**
+     * Get a view of the token's lexeme in source code without copying it.
+     * @param index index of the token
+     * @return lexeme view
+     */
+    public LexemeSlice getLexemeSlice(int index) {
+        return new LexemeSlice(source, starts[checkIndex(index)], lengths[index]);
+    }
+
+    /**
+     * Check whether the lexeme of the token is an integer literal, that is Integer.parseInt accepts it.
+     * @param index index of the token
+     * @return true if the lexeme is an integer literal, false otherwise
+     */
+    public boolean isIntegerLiteral(int index) {
+        return LexemeClassifier.isIntegerLiteral(getLexemeSlice(index));
+    }
+
+    /**
+     * Check whether the lexeme of the token is a real literal, that is Double.parseDouble accepts it and it is not "NaN".
+     * @param index index of the token
+     * @return true if the lexeme is a real literal, false otherwise
+     */
+    public boolean isRealLiteral(int index) {
+        return LexemeClassifier.isRealLiteral(getLexemeSlice(index));
+    }
+
+    /**
+     * Get the length of the token's lexeme.
+     * @param index index of the token
+     * @return lexeme length
+     */
+    public int getLength(int index) {
+        return lengths[checkIndex(index)];
+    }
+
+    /**
+     * Check whether the token's lexeme equals to the passed string.
+     * @param index index of the token
+     * @param lexeme the string to compare with
+     * @return true if the lexeme equals the string, false otherwise
+     */
+    public boolean lexemeEquals(int index, String lexeme) {
+        var kind = kinds[checkIndex(index)];
+        if (0 <= kind && kind < TokenKind.FIXED_KINDS_COUNT) return TokenKind.getLexeme(kind).equals(lexeme);
+        if (lengths[index] != lexeme.length()) return false;
+
+        var start = starts[index];
+
+        for (int offset = 0; offset < lexeme.length(); offset++) {
+            if (source[start + offset] != lexeme.charAt(offset))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Check whether the token has the passed type and lexeme.
+     * @param index index of the token
+     * @param type expected type
+     * @param lexeme expected lexeme
+     * @return true if both the type and the lexeme match, false otherwise
+     */
+    public boolean is(int index, TokenType type, String lexeme) {
+        return types[checkIndex(index)] == type.ordinal() && lexemeEquals(index, lexeme);
+    }
+
+    /**
+     * Get the offset of the first character of the token in source code.
+     * @param index index of the token
+     * @return offset
+     */
+    public int getOffset(int index) {
+        return starts[checkIndex(index)];
+    }
+
+    /**
+     * Get the map of lines of the source code, building it on the first call.
+     * @return line map
+     */
+    public LineMap getLineMap() {
+        if (lines == null)
+            lines = LineMap.of(source, sourceLength);
+
+        return lines;
+    }
+
+    /**
+     * Get the line index where the token resides.
+     * @param index index of the token
+     * @return line index
+     */
+    public int getLineIndex(int index) {
+        return getLineMap().getLineIndex(getOffset(index));
+    }
+
+    /**
+     * Get the index of the character in its line where the token begins.
+     * @param index index of the token
+     * @return beginning index
+     */
+    public int getBeginningIndex(int index) {
+        return getLineMap().getColumn(getOffset(index));
+    }
+
+    /**
+     * Get the position of the token in source code.
+     * @param index index of the token
+     * @return position
+     */
+    public CodePosition getPosition(int index) {
+        return getLineMap().getPosition(getOffset(index));
+    }
+
+    /**
+     * Create a token object for the token at the passed index.
+     * @param index index of the token
+     * @return token
+     */
+    public Token getToken(int index) {
+        return new Token(getKind(index), getType(index), getLexeme(index));
+    }
+
+    /**
+     * Create token objects for a range of tokens.
+     * @param begin index of the first token
+     * @param endExclusive index after the last token
+     * @return tokens in the range
+     */
+    public Token[] getTokens(int begin, int endExclusive) {
+        var tokens = new Token[endExclusive - begin];
+
+        for (int index = begin; index < endExclusive; index++)
+            tokens[index - begin] = getToken(index);
+
+        return tokens;
+    }
+
+    /**
+     * Create token objects for all tokens.
+     * @return tokens
+     */
+    public Token[] toTokens() {
+        return getTokens(0, size);
+    }
+
+    /**
+     * Create a lexeme with location object for the token at the passed index.
+     * @param index index of the token
+     * @return lexeme with location
+     */
+    public StringWithLocation getLexemeWithLocation(int index) {
+        var lines = getLineMap();
+        var line = lines.getLineIndex(getOffset(index));
+        return new StringWithLocation(getLexeme(index), line, starts[index] - lines.getLineStart(line));
+    }
+
+    /**
+     * Create lexeme with location objects for all tokens.
+     * @return lexemes with locations
+     */
+    public StringWithLocation[] toLexemesWithLocations() {
+        var lexemes = new StringWithLocation[size];
+
+        for (int index = 0; index < size; index++)
+            lexemes[index] = getLexemeWithLocation(index);
+
+        return lexemes;
+    }
+
+    void add(int kind, TokenType type, int start, int length) {
+        if (size == types.length)
+            grow();
+
+        kinds[size] = (byte) kind;
+        types[size] = type == null ? UNRESOLVED : (byte) type.ordinal();
+        symbols[size] = -1;
+        starts[size] = start;
+        lengths[size] = length;
+        size++;
+    }
+
+    /**
+     * Set the kind (and so the type) of an unresolved token, interning identifiers and literals.
+     * @param index index of the token
+     * @param kind kind of the token
+     */
+    void resolve(int index, int kind) {
+        kinds[checkIndex(index)] = (byte) kind;
+        types[index] = (byte) TokenKind.getType(kind).ordinal();
+
+        if (kind == TokenKind.IDENTIFIER || kind == TokenKind.LITERAL)
+            symbols[index] = lexemes.intern(source, starts[index], lengths[index]);
+    }
+
+    /**
+     * Set the kind (and so the type) of an unresolved token without interning it.
+     * @param index index of the token
+     * @param kind kind of the token
+     */
+    void setKind(int index, int kind) {
+        kinds[checkIndex(index)] = (byte) kind;
+        types[index] = (byte) TokenKind.getType(kind).ordinal();
+    }
+
+    /**
+     * Append the tokens of a buffer over the same source code, interning identifiers and literals.
+     * @param other buffer to append
+     */
+    void append(TokenBuffer other) {
+        append(other, 0, other.size, 0);
+    }
+
+    /**
+     * Append a range of tokens of a buffer, interning identifiers and literals unless the buffers share the lexeme table.
+     * @param other buffer to append tokens of
+     * @param begin index of the first token to append
+     * @param endExclusive index after the last token to append
+     * @param shift difference between offsets of the tokens in this buffer's source and in the other one's
+     */
+    void append(TokenBuffer other, int begin, int endExclusive, int shift) {
+        var count = endExclusive - begin;
+
+        while (size + count > types.length)
+            grow();
+
+        System.arraycopy(other.kinds, begin, kinds, size, count);
+        System.arraycopy(other.types, begin, types, size, count);
+        System.arraycopy(other.lengths, begin, lengths, size, count);
+
+        for (int index = 0; index < count; index++)
+            starts[size + index] = other.starts[begin + index] + shift;
+
+        if (other.lexemes == lexemes) {
+            System.arraycopy(other.symbols, begin, symbols, size, count);
+        } else {
+            for (int index = size; index < size + count; index++) {
+                var kind = kinds[index];
+                symbols[index] = kind == TokenKind.IDENTIFIER || kind == TokenKind.LITERAL
+                        ? lexemes.intern(source, starts[index], lengths[index])
+                        : -1;
+            }
+        }
+
+        size += count;
+    }
+
+    /**
+     * Find the first token that begins at or after the offset.
+     * @param offset offset in source code
+     * @return index of the token or the number of tokens if there is no such token
+     */
+    int findFirstTokenFrom(int offset) {
+        var low = 0;
+        var high = size;
+
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+
+            if (starts[middle] < offset) low = middle + 1;
+            else high = middle;
+        }
+
+        return low;
+    }
+
+    /**
+     * Get the offset after the last character of the token, including the line feed of a CRLF new line token.
+     * @param index index of the token
+     * @return offset after the token
+     */
+    int getEnd(int index) {
+        var end = starts[checkIndex(index)] + lengths[index];
+
+        if (kinds[index] == TokenKind.NEW_LINE && source[starts[index]] == '\r')
+            end++;
+
+        return end;
+    }
+
+    int getSourceLength() {
+        return sourceLength;
+    }
+
+    char[] getSource() {
+        return source;
+    }
+
+    private void grow() {
+        var capacity = types.length * 2;
+        kinds = Arrays.copyOf(kinds, capacity);
+        types = Arrays.copyOf(types, capacity);
+        symbols = Arrays.copyOf(symbols, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Token index " + index + " is out of bounds for " + size + " tokens.");
+
+        return index;
+    }
+
+    private static final byte UNRESOLVED = -1;
+    private static final TokenType[] TYPES = TokenType.values();
+
+    private final char[] source;
+    private final int sourceLength;
+    private LineMap lines;
+    private final LexemeTable lexemes;
+    private byte[] kinds;
+    private byte[] types;
+    private int[] symbols;
+    private int[] starts;
+    private int[] lengths;
+    private int size = 0;
+}
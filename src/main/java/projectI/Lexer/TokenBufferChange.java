@@ -0,0 +1,59 @@
+package projectI.Lexer;
+
+/**
+ * The result of re-scanning edited source code: the updated tokens and the range of tokens that differ.
+ * Tokens before the range are the same as before the edit, tokens after it are the same but shifted
+ * by the difference between the inserted and the removed lengths.
+ */
+public final class TokenBufferChange {
+    /**
+     * Create a change of tokens.
+     * @param buffer tokens of the edited source code
+     * @param begin index of the first changed token
+     * @param endExclusive index after the last changed token in the updated buffer
+     * @param previousEndExclusive index after the last changed token in the previous buffer
+     */
+    public TokenBufferChange(TokenBuffer buffer, int begin, int endExclusive, int previousEndExclusive) {
+        this.buffer = buffer;
+        this.begin = begin;
+        this.endExclusive = endExclusive;
+        this.previousEndExclusive = previousEndExclusive;
+    }
+
+    /**
+     * Get the tokens of the edited source code.
+     * @return updated buffer
+     */
+    public TokenBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Get the index of the first changed token, the same in both buffers.
+     * @return index of the first changed token
+     */
+    public int getBegin() {
+        return begin;
+    }
+
+    /**
+     * Get the index after the last changed token in the updated buffer.
+     * @return end of the changed range in the updated buffer
+     */
+    public int getEndExclusive() {
+        return endExclusive;
+    }
+
+    /**
+     * Get the index after the last changed token in the previous buffer.
+     * @return end of the changed range in the previous buffer
+     */
+    public int getPreviousEndExclusive() {
+        return previousEndExclusive;
+    }
+
+    private final TokenBuffer buffer;
+    private final int begin;
+    private final int endExclusive;
+    private final int previousEndExclusive;
+}
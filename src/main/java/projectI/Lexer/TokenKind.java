@@ -0,0 +1,115 @@
+package projectI.Lexer;
+
+/**
+ * Integer codes of token kinds: one for each keyword, operator and declaration separator,
+ * and one for all identifiers and literals respectively.
+ */
+public final class TokenKind {
+    private TokenKind() { }
+
+    public static final int UNKNOWN = -1;
+
+    public static final int VAR = 0;
+    public static final int IS = 1;
+    public static final int TYPE = 2;
+    public static final int RECORD = 3;
+    public static final int END = 4;
+    public static final int ARRAY = 5;
+    public static final int IF = 6;
+    public static final int THEN = 7;
+    public static final int ELSE = 8;
+    public static final int ROUTINE = 9;
+    public static final int SIZE = 10;
+    public static final int TRUE = 11;
+    public static final int FALSE = 12;
+    public static final int FOR = 13;
+    public static final int IN = 14;
+    public static final int REVERSE = 15;
+    public static final int LOOP = 16;
+    public static final int INTEGER = 17;
+    public static final int REAL = 18;
+    public static final int BOOLEAN = 19;
+    public static final int RETURN = 20;
+    public static final int WHILE = 21;
+
+    public static final int AND = 22;
+    public static final int OR = 23;
+    public static final int XOR = 24;
+    public static final int NOT = 25;
+    public static final int LESS = 26;
+    public static final int LESS_OR_EQUAL = 27;
+    public static final int GREATER = 28;
+    public static final int GREATER_OR_EQUAL = 29;
+    public static final int EQUAL = 30;
+    public static final int NOT_EQUAL = 31;
+    public static final int MULTIPLY = 32;
+    public static final int DIVIDE = 33;
+    public static final int MODULO = 34;
+    public static final int PLUS = 35;
+    public static final int MINUS = 36;
+    public static final int RANGE = 37;
+    public static final int OPENING_BRACKET = 38;
+    public static final int CLOSING_BRACKET = 39;
+    public static final int OPENING_PARENTHESIS = 40;
+    public static final int CLOSING_PARENTHESIS = 41;
+    public static final int ASSIGNMENT = 42;
+    public static final int COLON = 43;
+    public static final int COMMA = 44;
+    public static final int DOT = 45;
+
+    public static final int SEMICOLON = 46;
+    public static final int NEW_LINE = 47;
+
+    public static final int IDENTIFIER = 48;
+    public static final int LITERAL = 49;
+
+    /**
+     * Number of kinds with a fixed lexeme (keywords, operators and declaration separators).
+     */
+    public static final int FIXED_KINDS_COUNT = 48;
+
+    /**
+     * Get the type of tokens of the passed kind.
+     * @param kind token kind
+     * @return token type
+     */
+    public static TokenType getType(int kind) {
+        if (kind <= WHILE) return TokenType.Keyword;
+        if (kind <= DOT) return TokenType.Operator;
+        if (kind <= NEW_LINE) return TokenType.DeclarationSeparator;
+        if (kind == IDENTIFIER) return TokenType.Identifier;
+        return TokenType.Literal;
+    }
+
+    /**
+     * Get the lexeme of a keyword, an operator or a declaration separator.
+     * @param kind token kind
+     * @return lexeme or null if the kind does not have a fixed lexeme
+     */
+    public static String getLexeme(int kind) {
+        return 0 <= kind && kind < FIXED_KINDS_COUNT ? LEXEMES[kind] : null;
+    }
+
+    /**
+     * Get the kind of a token with the passed type and lexeme.
+     * @param type token type
+     * @param lexeme token lexeme
+     * @return token kind or UNKNOWN if no kind has such type and lexeme
+     */
+    public static int of(TokenType type, String lexeme) {
+        if (type == TokenType.Identifier) return IDENTIFIER;
+        if (type == TokenType.Literal) return LITERAL;
+
+        var kind = LexemeTable.findFixedKind(lexeme);
+        return kind != UNKNOWN && getType(kind) == type ? kind : UNKNOWN;
+    }
+
+    private static final String[] LEXEMES = {
+            "var", "is", "type", "record", "end",
+            "array", "if", "then", "else", "routine", "size", "true", "false", "for",
+            "in", "reverse", "loop", "integer", "real", "boolean", "return", "while",
+            "and", "or", "xor", "not", "<", "<=", ">", ">=", "=", "/=", "*", "/", "%",
+            "+", "-", "..", "[", "]", "(", ")", ":=", ":", ",", ".",
+            ";", "\n"
+    };
+}
@@ -0,0 +1,237 @@
+package projectI.Lexer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+/**
+ * A lexer mode that reads source code in fixed-size chunks and produces tokens on demand.
+ * Only the current chunk, the tokens scanned but not yet consumed and a fixed-size cache of recent identifiers
+ * and literals are kept in memory.
+ */
+public final class TokenStream implements Closeable {
+    /**
+     * Create a stream of tokens of the source code read from the reader.
+     * @param reader source code reader
+     */
+    public TokenStream(Reader reader) {
+        this(reader, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Create a stream of tokens of the source code read from the reader.
+     * @param reader source code reader
+     * @param chunkSize number of characters to read at once
+     */
+    public TokenStream(Reader reader, int chunkSize) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("Chunk size must be positive.");
+
+        this.reader = reader;
+        this.window = new char[chunkSize];
+        this.scanner = new SourceScanner(window, this::accept);
+    }
+
+    /**
+     * Create a stream of tokens of the UTF-8 source code read from the channel.
+     * @param channel source code channel
+     * @return stream of tokens
+     */
+    public static TokenStream of(ReadableByteChannel channel) {
+        return new TokenStream(Channels.newReader(channel, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Check whether there are more tokens.
+     * @return true if there are more tokens, false otherwise
+     * @throws IOException when the source code cannot be read
+     * @throws InvalidLexemeException when the next token cannot be recognized
+     */
+    public boolean hasNext() throws IOException, InvalidLexemeException {
+        return peek(0) != null;
+    }
+
+    /**
+     * Consume the next token.
+     * @return the next token
+     * @throws IOException when the source code cannot be read
+     * @throws InvalidLexemeException when the next token cannot be recognized
+     * @throws NoSuchElementException when there are no more tokens
+     */
+    public Token next() throws IOException, InvalidLexemeException {
+        var token = peek(0);
+        if (token == null)
+            throw new NoSuchElementException();
+
+        current = locations[head];
+        tokens[head] = null;
+        locations[head] = null;
+        head = (head + 1) & (tokens.length - 1);
+        count--;
+
+        return token;
+    }
+
+    /**
+     * Look at an upcoming token without consuming it.
+     * @param offset number of tokens to skip: 0 for the token returned by the next call of next()
+     * @return the token or null if the stream ends before it
+     * @throws IOException when the source code cannot be read
+     * @throws InvalidLexemeException when the token or one before it cannot be recognized
+     */
+    public Token peek(int offset) throws IOException, InvalidLexemeException {
+        while (count <= offset && !exhausted)
+            readChunk();
+
+        if (count <= offset) return null;
+
+        for (int index = 0; index <= offset; index++) {
+            var slot = (head + index) & (tokens.length - 1);
+
+            if (tokens[slot] == null)
+                throw new InvalidLexemeException(locations[slot]);
+        }
+
+        return tokens[(head + offset) & (tokens.length - 1)];
+    }
+
+    /**
+     * Get the lexeme and the location of the token last returned by next().
+     * @return lexeme with location or null if no token has been consumed yet
+     */
+    public StringWithLocation getLexemeWithLocation() {
+        return current;
+    }
+
+    /**
+     * Close the underlying reader.
+     * @throws IOException when the reader cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readChunk() throws IOException {
+        if (windowStart > 0) {
+            System.arraycopy(window, windowStart, window, 0, windowEnd - windowStart);
+            windowOffset += windowStart;
+            windowEnd -= windowStart;
+            windowStart = 0;
+        }
+
+        if (windowEnd == window.length) {
+            var grown = new char[window.length * 2];
+            System.arraycopy(window, 0, grown, 0, windowEnd);
+            window = grown;
+            scanner = new SourceScanner(window, this::accept);
+        }
+
+        var read = reader.read(window, windowEnd, window.length - windowEnd);
+        var endOfInput = read == -1;
+
+        if (!endOfInput)
+            windowEnd += read;
+
+        windowStart = scanner.scan(windowStart, windowEnd, endOfInput);
+        exhausted = endOfInput;
+    }
+
+    private void accept(int kind, int start, int length) {
+        if (kind == TokenKind.UNKNOWN)
+            kind = Lexer.resolveKind(window, start, length);
+
+        String lexeme;
+
+        if (kind == TokenKind.UNKNOWN)
+            lexeme = new String(window, start, length);
+        else if (kind >= TokenKind.FIXED_KINDS_COUNT)
+            lexeme = getCachedLexeme(start, length);
+        else
+            lexeme = TokenKind.getLexeme(kind);
+
+        if (count == tokens.length)
+            growQueue();
+
+        var slot = (head + count) & (tokens.length - 1);
+        tokens[slot] = kind == TokenKind.UNKNOWN ? null : new Token(kind, TokenKind.getType(kind), lexeme);
+        locations[slot] = new StringWithLocation(lexeme, lineIndex, (int) (windowOffset + start - lineStart));
+        count++;
+
+        if (kind == TokenKind.NEW_LINE) {
+            lineIndex++;
+            lineStart = windowOffset + start + (window[start] == '\r' ? 2 : 1);
+        }
+    }
+
+    /**
+     * Get the string of an identifier or a literal, reusing the string of a recent equal lexeme.
+     * The cache is direct-mapped: a lexeme replaces the one in its slot, so its size never grows.
+     */
+    private String getCachedLexeme(int start, int length) {
+        var hash = length;
+
+        for (int index = start; index < start + length; index++)
+            hash = 31 * hash + window[index];
+
+        var slot = (hash ^ (hash >>> 16)) & (recentLexemes.length - 1);
+        var lexeme = recentLexemes[slot];
+
+        if (lexeme == null || !isLexemeAt(lexeme, start, length)) {
+            lexeme = new String(window, start, length);
+            recentLexemes[slot] = lexeme;
+        }
+
+        return lexeme;
+    }
+
+    private boolean isLexemeAt(String lexeme, int start, int length) {
+        if (lexeme.length() != length) return false;
+
+        for (int index = 0; index < length; index++) {
+            if (lexeme.charAt(index) != window[start + index])
+                return false;
+        }
+
+        return true;
+    }
+
+    private void growQueue() {
+        var grownTokens = new Token[tokens.length * 2];
+        var grownLocations = new StringWithLocation[tokens.length * 2];
+
+        for (int index = 0; index < count; index++) {
+            var slot = (head + index) & (tokens.length - 1);
+            grownTokens[index] = tokens[slot];
+            grownLocations[index] = locations[slot];
+        }
+
+        tokens = grownTokens;
+        locations = grownLocations;
+        head = 0;
+    }
+
+    private static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    private static final int LEXEME_CACHE_SIZE = 1024;
+
+    private final Reader reader;
+    private char[] window;
+    private int windowStart = 0;
+    private int windowEnd = 0;
+    private long windowOffset = 0;
+    private long lineStart = 0;
+    private int lineIndex = 0;
+    private boolean exhausted = false;
+    private SourceScanner scanner;
+    private final String[] recentLexemes = new String[LEXEME_CACHE_SIZE];
+
+    private Token[] tokens = new Token[64];
+    private StringWithLocation[] locations = new StringWithLocation[64];
+    private int head = 0;
+    private int count = 0;
+    private StringWithLocation current = null;
+}
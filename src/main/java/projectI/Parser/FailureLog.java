@@ -0,0 +1,245 @@
+package projectI.Parser;
+
+import projectI.CodePosition;
+import projectI.Lexer.TokenBuffer;
+import projectI.Parser.Errors.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Syntax errors of the parsers recorded as the kind of the error, the range of tokens it refers to
+ * and the expected keyword or operator.
+ * Only the failure that got the farthest into the tokens is kept: the errors that expect something at the farthest index,
+ * and the errors of the statements, ranges and declarations that enclose that index,
+ * which are added while the attempts containing the failure give up. Errors at smaller indices are dropped,
+ * so the log stays small however many attempts fail, and {@link ParsingError} objects with their positions and tokens
+ * are only built for the kept errors when the errors are requested.
+ */
+final class FailureLog {
+    static final int EXPECTED_DECLARATION = 0;
+    static final int EXPECTED_VARIABLE_DECLARATION = 1;
+    static final int EXPECTED_TYPE = 2;
+    static final int EXPECTED_EXPRESSION = 3;
+    static final int EXPECTED_MODIFIABLE_PRIMARY = 4;
+    static final int EXPECTED_STATEMENT = 5;
+    static final int EXPECTED_RANGE = 6;
+    static final int EXPECTED_IDENTIFIER = 7;
+    static final int EXPECTED_KEYWORD_AFTER = 8;
+    static final int EXPECTED_OPERATOR_AFTER = 9;
+    static final int EXPECTED_KEYWORD_AT = 10;
+    static final int EXPECTED_OPERATOR_AT = 11;
+
+    /**
+     * Record an error.
+     * An error that expects something before the farthest failure index is dropped, one that expects something
+     * after it replaces all the recorded errors. Statements, ranges and declarations that do not contain
+     * the farthest failure index are dropped. An error that is already recorded is not recorded again.
+     * @param kind one of the error kind constants
+     * @param begin index of the first token of the range, or of the token the error is at or after
+     * @param endExclusive index after the last token of the range, unused for errors at or after a token
+     * @param symbol the expected keyword or operator, or null for other kinds
+     */
+    void add(int kind, int begin, int endExclusive, String symbol) {
+        sequence++;
+
+        if (isEnclosing(kind)) {
+            if (expected.size > 0 && (begin > farthestIndex || endExclusive < farthestIndex)) return;
+
+            var index = enclosing.find(kind, begin, null, false);
+            if (index != -1) enclosing.touch(index, sequence);
+            else enclosing.add(kind, begin, endExclusive, symbol, sequence);
+
+            return;
+        }
+
+        var failureIndex = getFailureIndex(kind, begin);
+        if (failureIndex < farthestIndex) return;
+
+        if (failureIndex > farthestIndex) {
+            farthestIndex = failureIndex;
+            expected.clear();
+            enclosing.clear();
+        }
+
+        var index = expected.find(kind, begin, symbol, true);
+        if (index != -1) expected.touch(index, sequence);
+        else expected.add(kind, begin, endExclusive, symbol, sequence);
+    }
+
+    /**
+     * Record the errors of another log as if they were added to this one.
+     */
+    void addAll(FailureLog log) {
+        log.expected.addTo(this);
+        log.enclosing.addTo(this);
+    }
+
+    /**
+     * Get the number of calls to {@link #add} so far, to find the errors recorded after them with {@link #copySince}.
+     */
+    long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Copy the kept errors that were recorded, or recorded again, after a number of calls to {@link #add}.
+     */
+    FailureLog copySince(long sequence) {
+        var copy = new FailureLog();
+        expected.copySince(sequence, copy.expected);
+        enclosing.copySince(sequence, copy.enclosing);
+
+        return copy;
+    }
+
+    int size() {
+        return expected.size + enclosing.size;
+    }
+
+    void clear() {
+        farthestIndex = -1;
+        expected.clear();
+        enclosing.clear();
+    }
+
+    /**
+     * Build the errors of the log: the errors at the farthest failure index followed by the errors
+     * of the statements, ranges and declarations enclosing it, innermost first.
+     * @param tokens tokens the errors refer to
+     * @return errors in the order they were first recorded
+     */
+    List<ParsingError> toErrors(TokenBuffer tokens) {
+        var errors = new ArrayList<ParsingError>(size());
+        expected.toErrors(tokens, errors);
+        enclosing.toErrors(tokens, errors);
+
+        return errors;
+    }
+
+    private static boolean isEnclosing(int kind) {
+        return kind == EXPECTED_STATEMENT || kind == EXPECTED_RANGE || kind == EXPECTED_DECLARATION;
+    }
+
+    private static int getFailureIndex(int kind, int begin) {
+        return kind == EXPECTED_KEYWORD_AFTER || kind == EXPECTED_OPERATOR_AFTER ? begin + 1 : begin;
+    }
+
+    private static ParsingError toError(TokenBuffer tokens, int kind, int begin, int endExclusive, String symbol) {
+        return switch (kind) {
+            case EXPECTED_DECLARATION -> new ExpectedDeclarationError(getPosition(tokens, begin), getEnd(tokens, endExclusive - 1));
+            case EXPECTED_VARIABLE_DECLARATION -> new ExpectedVariableDeclarationError(tokens.getTokens(begin, endExclusive),
+                    getPosition(tokens, begin), getEnd(tokens, endExclusive - 1));
+            case EXPECTED_TYPE -> new ExpectedTypeError(tokens.getTokens(begin, endExclusive), getPosition(tokens, begin));
+            case EXPECTED_EXPRESSION -> new ExpectedExpressionError(tokens.getTokens(begin, endExclusive), getPosition(tokens, begin));
+            case EXPECTED_MODIFIABLE_PRIMARY -> new ExpectedModifiablePrimaryError(tokens.getTokens(begin, endExclusive),
+                    getPosition(tokens, begin));
+            case EXPECTED_STATEMENT -> new ExpectedStatementError(getPosition(tokens, begin), getEnd(tokens, endExclusive - 1));
+            case EXPECTED_RANGE -> new ExpectedRangeError(tokens.getTokens(begin, endExclusive), getPosition(tokens, begin),
+                    begin == endExclusive ? getPosition(tokens, begin) : getEnd(tokens, endExclusive - 1));
+            case EXPECTED_IDENTIFIER -> new ExpectedIdentifierError(tokens.getToken(begin), tokens.getPosition(begin));
+            case EXPECTED_KEYWORD_AFTER -> {
+                // The keyword is expected after a space following the token
+                var end = getEnd(tokens, begin);
+                yield new ExpectedKeywordError(symbol, new CodePosition(end.lineIndex, end.beginningIndex + 1));
+            }
+            case EXPECTED_OPERATOR_AFTER -> new ExpectedOperatorError(symbol, getEnd(tokens, begin));
+            case EXPECTED_KEYWORD_AT -> new ExpectedKeywordError(symbol, tokens.getPosition(begin));
+            case EXPECTED_OPERATOR_AT -> new ExpectedOperatorError(symbol, tokens.getPosition(begin));
+            default -> throw new IllegalStateException("Unknown error kind " + kind);
+        };
+    }
+
+    /**
+     * Get the position of a token, or the end of the last token if the index is after it.
+     */
+    private static CodePosition getPosition(TokenBuffer tokens, int index) {
+        return index < tokens.size() ? tokens.getPosition(index) : getEnd(tokens, index - 1);
+    }
+
+    private static CodePosition getEnd(TokenBuffer tokens, int index) {
+        var position = tokens.getPosition(index);
+        return new CodePosition(position.lineIndex, position.beginningIndex + tokens.getLength(index));
+    }
+
+    /**
+     * Errors stored as records of the kind, the range and the number of the call to {@link #add} that recorded them last,
+     * and the expected symbols.
+     */
+    private static final class Records {
+        void add(int kind, int begin, int endExclusive, String symbol, long sequence) {
+            if (size == symbols.length) {
+                records = Arrays.copyOf(records, size * 2 * RECORD_SIZE);
+                symbols = Arrays.copyOf(symbols, size * 2);
+                sequences = Arrays.copyOf(sequences, size * 2);
+            }
+
+            records[size * RECORD_SIZE] = kind;
+            records[size * RECORD_SIZE + 1] = begin;
+            records[size * RECORD_SIZE + 2] = endExclusive;
+            symbols[size] = symbol;
+            sequences[size++] = sequence;
+        }
+
+        /**
+         * Find a record of a kind that begins at an index, and expects a symbol if the symbols are compared.
+         * @return index of the record or -1 if there is no such record
+         */
+        int find(int kind, int begin, String symbol, boolean compareSymbols) {
+            for (int index = 0; index < size; index++) {
+                if (records[index * RECORD_SIZE] == kind && records[index * RECORD_SIZE + 1] == begin
+                        && (!compareSymbols || Objects.equals(symbols[index], symbol)))
+                    return index;
+            }
+
+            return -1;
+        }
+
+        void touch(int index, long sequence) {
+            sequences[index] = sequence;
+        }
+
+        void addTo(FailureLog log) {
+            for (int index = 0; index < size; index++) {
+                var offset = index * RECORD_SIZE;
+                log.add(records[offset], records[offset + 1], records[offset + 2], symbols[index]);
+            }
+        }
+
+        void copySince(long sequence, Records copy) {
+            for (int index = 0; index < size; index++) {
+                if (sequences[index] <= sequence) continue;
+
+                var offset = index * RECORD_SIZE;
+                copy.add(records[offset], records[offset + 1], records[offset + 2], symbols[index], sequences[index]);
+            }
+        }
+
+        void clear() {
+            Arrays.fill(symbols, 0, size, null);
+            size = 0;
+        }
+
+        void toErrors(TokenBuffer tokens, List<ParsingError> errors) {
+            for (int index = 0; index < size; index++) {
+                var offset = index * RECORD_SIZE;
+                errors.add(toError(tokens, records[offset], records[offset + 1], records[offset + 2], symbols[index]));
+            }
+        }
+
+        private int[] records = new int[INITIAL_CAPACITY * RECORD_SIZE];
+        private String[] symbols = new String[INITIAL_CAPACITY];
+        private long[] sequences = new long[INITIAL_CAPACITY];
+        private int size;
+    }
+
+    private static final int RECORD_SIZE = 3;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final Records expected = new Records();
+    private final Records enclosing = new Records();
+    private int farthestIndex = -1;
+    private long sequence;
+}
@@ -0,0 +1,122 @@
+package projectI.Parser;
+
+import projectI.AST.ProgramNode;
+import projectI.CodePosition;
+import projectI.Lexer.TokenBuffer;
+import projectI.Lexer.TokenType;
+
+/**
+ * Updates a parsed program after a change of its tokens by parsing again only the top-level declaration
+ * that contains the change. The tokens of a top-level declaration are found from its start position
+ * and the start position of the next declaration, and with matched brackets and blocks and no separators
+ * outside of them, the new tokens of the range are parsed by the predictive parser alone.
+ * Nodes keep the positions of their tokens, so if the change moves the tokens after the declaration
+ * to other lines or columns, the positions of the following declarations are moved by {@link PositionShift}.
+ */
+final class IncrementalParser {
+    private IncrementalParser() { }
+
+    /**
+     * Parse the declaration that contains the change again and replace it in the program.
+     * @param previous program parsed from the previous tokens
+     * @param previousTokens tokens the program was parsed from
+     * @param tokens tokens after the change
+     * @param changeBegin index of the first changed token, which is the same in both buffers
+     * @param previousChangeEndExclusive index after the last changed token in the previous buffer
+     * @return the previous program with the declaration replaced, or null if the change is not inside one declaration
+     *         or makes the declaration invalid
+     */
+    static ProgramNode reparse(ProgramNode previous, TokenBuffer previousTokens, TokenBuffer tokens,
+                               int changeBegin, int previousChangeEndExclusive) {
+        var declarations = previous.declarations;
+        if (declarations.isEmpty() || previousTokens.size() == 0) return null;
+
+        var changePosition = previousTokens.getPosition(Math.min(changeBegin, previousTokens.size() - 1));
+        var declarationIndex = findDeclaration(previous, changePosition);
+        if (declarationIndex == -1) return null;
+
+        var begin = findToken(previousTokens, declarations.get(declarationIndex).getStartPosition());
+        if (begin == -1) return null;
+
+        var previousEnd = previousTokens.size();
+
+        if (declarationIndex + 1 < declarations.size()) {
+            previousEnd = findToken(previousTokens, declarations.get(declarationIndex + 1).getStartPosition());
+            if (previousEnd == -1) return null;
+        }
+
+        while (previousEnd > begin && previousTokens.getType(previousEnd - 1) == TokenType.DeclarationSeparator)
+            previousEnd--;
+
+        if (changeBegin < begin || previousChangeEndExclusive > previousEnd) return null;
+        if (!MatchTable.isBalancedWithoutSeparators(previousTokens, begin, previousEnd)) return null;
+
+        var end = previousEnd + tokens.size() - previousTokens.size();
+        if (end <= begin || !MatchTable.isBalancedWithoutSeparators(tokens, begin, end)) return null;
+
+        var parsed = new PredictiveParser(tokens, begin, end).tryParseProgram();
+        if (parsed == null || parsed.declarations.size() != 1) return null;
+
+        var declaration = parsed.declarations.get(0);
+        declarations.set(declarationIndex, declaration);
+        declaration.setParent(previous);
+
+        if (end < tokens.size()) {
+            var shift = new PositionShift(previousTokens.getPosition(previousEnd), tokens.getPosition(end));
+
+            if (!shift.isEmpty()) {
+                for (var index = declarationIndex + 1; index < declarations.size(); index++)
+                    shift.apply(declarations.get(index));
+            }
+        }
+
+        return previous;
+    }
+
+    /**
+     * Find the last declaration that starts at or before a position.
+     * @return index of the declaration or -1 if every declaration starts after the position
+     */
+    private static int findDeclaration(ProgramNode program, CodePosition position) {
+        var low = 0;
+        var high = program.declarations.size() - 1;
+        var found = -1;
+
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var start = program.declarations.get(middle).getStartPosition();
+            if (start == null) return -1;
+
+            if (start.compareTo(position) <= 0) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Find the token that starts at a position.
+     * @return index of the token or -1 if no token starts there
+     */
+    private static int findToken(TokenBuffer tokens, CodePosition position) {
+        if (position == null) return -1;
+
+        var low = 0;
+        var high = tokens.size() - 1;
+
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var comparison = tokens.getPosition(middle).compareTo(position);
+
+            if (comparison == 0) return middle;
+            if (comparison < 0) low = middle + 1;
+            else high = middle - 1;
+        }
+
+        return -1;
+    }
+}
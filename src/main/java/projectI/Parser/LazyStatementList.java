@@ -0,0 +1,152 @@
+package projectI.Parser;
+
+import projectI.AST.Declarations.BodyNode;
+import projectI.AST.Statements.StatementNode;
+import projectI.Lexer.TokenBuffer;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statements of a routine body that are parsed from their range of tokens the first time the list is used.
+ * If the body has syntax errors, the list is empty, the body is marked invalid for {@link BodyNode#validate()},
+ * and the errors are reported by {@link Parser#tryParseBodies}.
+ * The body is parsed at most once even if the list is read from several threads, but changing the list is not thread-safe.
+ */
+final class LazyStatementList extends AbstractList<StatementNode> {
+    /**
+     * Create a body whose statements are parsed when they are needed.
+     * @param tokens tokens of the program
+     * @param begin index of the first token of the body
+     * @param endExclusive index of the 'end' keyword of the routine
+     * @return body node
+     */
+    static BodyNode createBody(TokenBuffer tokens, int begin, int endExclusive) {
+        var statements = new LazyStatementList(tokens, begin, endExclusive);
+        var body = new BodyNode(statements);
+        statements.body = body;
+
+        return body;
+    }
+
+    private LazyStatementList(TokenBuffer tokens, int begin, int endExclusive) {
+        this.tokens = tokens;
+        this.begin = begin;
+        this.endExclusive = endExclusive;
+    }
+
+    @Override
+    public StatementNode get(int index) {
+        return materialize().get(index);
+    }
+
+    @Override
+    public int size() {
+        return materialize().size();
+    }
+
+    @Override
+    public StatementNode set(int index, StatementNode statement) {
+        return materialize().set(index, statement);
+    }
+
+    @Override
+    public void add(int index, StatementNode statement) {
+        materialize().add(index, statement);
+        modCount++;
+    }
+
+    @Override
+    public StatementNode remove(int index) {
+        var statement = materialize().remove(index);
+        modCount++;
+
+        return statement;
+    }
+
+    /**
+     * Check whether the statements have been parsed.
+     * @return true if the body has been parsed, false otherwise
+     */
+    boolean isMaterialized() {
+        return statements != null;
+    }
+
+    /**
+     * Parse the statements if they have not been parsed yet and record the syntax errors of the body.
+     * @param failures log to record the errors in
+     * @return true if the body has no syntax errors, false otherwise
+     */
+    boolean tryMaterialize(FailureLog failures) {
+        materialize();
+        if (errors == null) return true;
+
+        failures.addAll(errors);
+        return false;
+    }
+
+    /**
+     * Keep a shift of positions to apply to the statements when they are parsed, if they have not been parsed yet.
+     * The tokens of the body keep their previous positions, so the statements parsed from them are moved after parsing.
+     * @param shift the shift of positions
+     * @return true if the shift is kept, false if the statements have been parsed and are to be moved by the caller
+     */
+    synchronized boolean deferShift(PositionShift shift) {
+        if (statements != null) return false;
+
+        if (shifts == null) shifts = new ArrayList<>();
+        shifts.add(shift);
+
+        return true;
+    }
+
+    private List<StatementNode> materialize() {
+        var statements = this.statements;
+        if (statements != null) return statements;
+
+        synchronized (this) {
+            if (this.statements == null)
+                this.statements = parse();
+
+            return this.statements;
+        }
+    }
+
+    /**
+     * Parse the statements by the predictive parser, keeping its errors if it fails,
+     * and move their positions by the shifts kept until then.
+     */
+    private List<StatementNode> parse() {
+        var failures = new FailureLog();
+        var parsed = new PredictiveParser(tokens, begin, endExclusive, null, null, failures).tryParseWholeBody();
+
+        if (parsed == null) {
+            errors = failures;
+            body.markInvalid();
+            return new ArrayList<>();
+        }
+
+        var statements = new ArrayList<>(parsed.statements);
+
+        for (var statement : statements) {
+            statement.setParent(body);
+
+            if (shifts != null) {
+                for (var shift : shifts)
+                    shift.apply(statement);
+            }
+        }
+
+        shifts = null;
+        return statements;
+    }
+
+    private final TokenBuffer tokens;
+    private final int begin;
+    private final int endExclusive;
+    private BodyNode body;
+    private FailureLog errors;
+    private List<PositionShift> shifts;
+    private volatile List<StatementNode> statements;
+}
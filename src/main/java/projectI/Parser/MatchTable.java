@@ -0,0 +1,188 @@
+package projectI.Parser;
+
+import projectI.Lexer.TokenBuffer;
+import projectI.Lexer.TokenKind;
+import projectI.Lexer.TokenType;
+
+import java.util.Arrays;
+
+/**
+ * Pairs of matching brackets and blocks and the indices of the next tokens of some kinds,
+ * found in one pass over the tokens, so the parser does not scan token ranges for them again.
+ */
+final class MatchTable {
+    /**
+     * Match the brackets and the blocks of a range of tokens.
+     * Parentheses and square brackets are matched with each other, routines, loops, records and if statements with ends.
+     * The pass stops at the first closing token that does not match the innermost opening one.
+     * The table only has entries for the tokens of the range, so its size does not depend on the size of the program.
+     * @param tokens tokens of the program
+     * @param begin index of the first token of the range
+     * @param endExclusive index after the last token of the range
+     * @return match table of the tokens
+     */
+    static MatchTable of(TokenBuffer tokens, int begin, int endExclusive) {
+        var matchIndex = new int[endExclusive - begin];
+        Arrays.fill(matchIndex, -1);
+
+        var stack = new int[16];
+        var stackSize = 0;
+        var mismatchIndex = -1;
+
+        for (int index = begin; index < endExclusive && mismatchIndex == -1; index++) {
+            var kind = tokens.getKind(index);
+
+            if (isOpening(kind)) {
+                if (stackSize == stack.length)
+                    stack = Arrays.copyOf(stack, stackSize * 2);
+
+                stack[stackSize++] = index;
+            } else if (isClosing(kind)) {
+                if (stackSize == 0 || getClosing(tokens.getKind(stack[stackSize - 1])) != kind) {
+                    mismatchIndex = index;
+                } else {
+                    var openingIndex = stack[--stackSize];
+                    matchIndex[openingIndex - begin] = index;
+                    matchIndex[index - begin] = openingIndex;
+                }
+            }
+        }
+
+        var nextSeparator = new int[endExclusive - begin + 1];
+        nextSeparator[endExclusive - begin] = endExclusive;
+
+        for (int index = endExclusive - 1; index >= begin; index--) {
+            nextSeparator[index - begin] = tokens.getType(index) == TokenType.DeclarationSeparator
+                    ? index
+                    : nextSeparator[index - begin + 1];
+        }
+
+        return new MatchTable(tokens, begin, endExclusive, matchIndex, nextSeparator, mismatchIndex,
+                mismatchIndex == -1 && stackSize == 0);
+    }
+
+    /**
+     * Check whether a range of tokens can be one top-level declaration: its brackets and blocks are balanced
+     * and it has no declaration separators outside of them. Unlike {@link #of}, the check does not allocate
+     * arrays for all the tokens, so it is cheap for a small range of a large program.
+     * @param tokens tokens of the program
+     * @param begin index of the first token of the range
+     * @param endExclusive index after the last token of the range
+     * @return true if the range is balanced and has no separators at its top level, false otherwise
+     */
+    static boolean isBalancedWithoutSeparators(TokenBuffer tokens, int begin, int endExclusive) {
+        var stack = new int[16];
+        var stackSize = 0;
+
+        for (int index = begin; index < endExclusive; index++) {
+            var kind = tokens.getKind(index);
+
+            if (isOpening(kind)) {
+                if (stackSize == stack.length)
+                    stack = Arrays.copyOf(stack, stackSize * 2);
+
+                stack[stackSize++] = kind;
+            } else if (isClosing(kind)) {
+                if (stackSize == 0 || getClosing(stack[--stackSize]) != kind) return false;
+            } else if (stackSize == 0 && tokens.getType(index) == TokenType.DeclarationSeparator) {
+                return false;
+            }
+        }
+
+        return stackSize == 0;
+    }
+
+    private MatchTable(TokenBuffer tokens, int begin, int endExclusive, int[] matchIndex, int[] nextSeparator,
+                       int mismatchIndex, boolean balanced) {
+        this.tokens = tokens;
+        this.begin = begin;
+        this.endExclusive = endExclusive;
+        this.matchIndex = matchIndex;
+        this.nextSeparator = nextSeparator;
+        this.mismatchIndex = mismatchIndex;
+        this.balanced = balanced;
+    }
+
+    /**
+     * Check whether every opening token in the range has a matching closing token and vice versa.
+     * @return true if the brackets and the blocks are balanced, false otherwise
+     */
+    boolean isBalanced() {
+        return balanced;
+    }
+
+    /**
+     * Get the index of the first closing token that does not match the innermost opening one.
+     * @return index of the token or -1 if there is no such token
+     */
+    int getMismatchIndex() {
+        return mismatchIndex;
+    }
+
+    /**
+     * Get the index of the token matching an opening or a closing token.
+     * @param index index of a bracket, a block start or an end
+     * @return index of the matching token or -1 if it has no match or is not in the range of the table
+     */
+    int getMatchIndex(int index) {
+        return index >= begin && index < endExclusive ? matchIndex[index - begin] : -1;
+    }
+
+    /**
+     * Get the index of the first declaration separator at or after the passed index.
+     * @param index index of a token of the range of the table or the end of the range
+     * @return index of the separator or the end of the range if there is no such separator
+     */
+    int getNextSeparator(int index) {
+        return nextSeparator[index - begin];
+    }
+
+    /**
+     * Get the index of the first token of a kind at or after the passed index.
+     * The indices for a kind are found on the first query for it.
+     * @param index index of a token of the range of the table or the end of the range
+     * @param kind kind of the token, one of the kinds with fixed lexemes
+     * @return index of the token or the end of the range if there is no such token
+     */
+    int getNextOfKind(int index, int kind) {
+        var next = nextOfKind[kind];
+
+        if (next == null) {
+            next = new int[endExclusive - begin + 1];
+            next[endExclusive - begin] = endExclusive;
+
+            for (int tokenIndex = endExclusive - 1; tokenIndex >= begin; tokenIndex--)
+                next[tokenIndex - begin] = tokens.getKind(tokenIndex) == kind ? tokenIndex : next[tokenIndex - begin + 1];
+
+            nextOfKind[kind] = next;
+        }
+
+        return next[index - begin];
+    }
+
+    private static boolean isOpening(int kind) {
+        return getClosing(kind) != TokenKind.UNKNOWN;
+    }
+
+    private static boolean isClosing(int kind) {
+        return kind == TokenKind.CLOSING_PARENTHESIS || kind == TokenKind.CLOSING_BRACKET || kind == TokenKind.END;
+    }
+
+    private static int getClosing(int openingKind) {
+        return switch (openingKind) {
+            case TokenKind.OPENING_PARENTHESIS -> TokenKind.CLOSING_PARENTHESIS;
+            case TokenKind.OPENING_BRACKET -> TokenKind.CLOSING_BRACKET;
+            case TokenKind.ROUTINE, TokenKind.WHILE, TokenKind.RECORD, TokenKind.FOR, TokenKind.IF -> TokenKind.END;
+            default -> TokenKind.UNKNOWN;
+        };
+    }
+
+    private final TokenBuffer tokens;
+    private final int begin;
+    private final int endExclusive;
+    private final int[] matchIndex;
+    private final int[] nextSeparator;
+    private final int[][] nextOfKind = new int[TokenKind.FIXED_KINDS_COUNT][];
+    private final int mismatchIndex;
+    private final boolean balanced;
+}
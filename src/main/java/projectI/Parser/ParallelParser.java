@@ -0,0 +1,68 @@
+package projectI.Parser;
+
+import projectI.AST.ProgramNode;
+import projectI.Lexer.TokenBuffer;
+import projectI.Lexer.TokenType;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parses the top-level declarations of a program on the workers of a fork/join pool.
+ * With matched brackets and blocks, a declaration ends at the first separator outside of them.
+ * One pass over the top level, jumping over brackets and blocks, cuts the program into chunks of whole declarations
+ * at such separators, the chunks are parsed by the predictive parser, and their declarations are joined in order.
+ */
+final class ParallelParser {
+    private ParallelParser() { }
+
+    /**
+     * Parse the program.
+     * @param tokens tokens of the program
+     * @param matches match table of the tokens, which must be balanced
+     * @param pool pool to parse chunks in
+     * @param lazyBodies whether to leave routine bodies to be parsed when they are needed
+     * @return a program node or null if a chunk cannot be parsed by the predictive parser
+     */
+    static ProgramNode parse(TokenBuffer tokens, MatchTable matches, ForkJoinPool pool, boolean lazyBodies) {
+        var chunkSize = Math.max(MIN_CHUNK_SIZE, tokens.size() / (pool.getParallelism() * CHUNKS_PER_WORKER) + 1);
+        var tasks = new ArrayList<ForkJoinTask<ProgramNode>>();
+        var chunkBegin = 0;
+
+        for (int index = 0; index < tokens.size(); index++) {
+            var matchIndex = matches.getMatchIndex(index);
+
+            if (matchIndex > index) {
+                index = matchIndex;
+            } else if (index - chunkBegin >= chunkSize && tokens.getType(index) == TokenType.DeclarationSeparator) {
+                tasks.add(parseChunk(tokens, chunkBegin, index, lazyBodies ? matches : null));
+                chunkBegin = index;
+            }
+        }
+
+        tasks.add(parseChunk(tokens, chunkBegin, tokens.size(), lazyBodies ? matches : null));
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+        var program = new ProgramNode();
+
+        for (var task : tasks) {
+            var chunk = task.join();
+            if (chunk == null) return null;
+
+            for (var declaration : chunk.declarations) {
+                program.declarations.add(declaration);
+                declaration.setParent(program);
+            }
+        }
+
+        return program;
+    }
+
+    private static ForkJoinTask<ProgramNode> parseChunk(TokenBuffer tokens, int begin, int endExclusive, MatchTable lazyBodies) {
+        return ForkJoinTask.adapt(() -> new PredictiveParser(tokens, begin, endExclusive, lazyBodies).tryParseProgram());
+    }
+
+    private static final int MIN_CHUNK_SIZE = 4 * 1024;
+    private static final int CHUNKS_PER_WORKER = 4;
+}
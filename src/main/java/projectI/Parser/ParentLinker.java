@@ -0,0 +1,157 @@
+package projectI.Parser;
+
+import projectI.AST.ASTNode;
+import projectI.AST.Declarations.*;
+import projectI.AST.Expressions.*;
+import projectI.AST.Flow.ForLoopNode;
+import projectI.AST.Flow.IfStatementNode;
+import projectI.AST.Flow.RangeNode;
+import projectI.AST.Flow.WhileLoopNode;
+import projectI.AST.Primary.ModifiablePrimaryNode;
+import projectI.AST.ProgramNode;
+import projectI.AST.Statements.AssignmentNode;
+import projectI.AST.Statements.ReturnStatementNode;
+import projectI.AST.Statements.RoutineCallNode;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * Sets the parents of all the nodes of a subtree the same way the parser does when it builds them.
+ * A subtree reused from {@link ParseMemo} may have been attached to other nodes by attempts that failed since it was built,
+ * so the memoizing parser links the tree it returns once, instead of every subtree it reuses.
+ * The nodes waiting for their children to be linked are kept in a deque instead of on the call stack,
+ * so the depth of the tree is not limited by the size of the call stack.
+ */
+final class ParentLinker {
+    /**
+     * Set the parents of the descendants of a node. The parent of the node itself is not changed.
+     * @param node root of the subtree
+     */
+    static void link(ASTNode node) {
+        var pending = new ArrayDeque<ASTNode>();
+        pending.push(node);
+
+        while (!pending.isEmpty()) {
+            var parent = pending.pop();
+
+            forEachChild(parent, child -> {
+                child.setParent(parent);
+                pending.push(child);
+            });
+        }
+    }
+
+    /**
+     * Pass the children of a node that are not null to an action, in the order the parser builds them.
+     * The statements of a body whose statements are parsed when they are needed are parsed to get them.
+     * @param node the node
+     * @param action the action to perform on every child
+     */
+    static void forEachChild(ASTNode node, Consumer<ASTNode> action) {
+        if (node instanceof ProgramNode) {
+            for (var declaration : ((ProgramNode) node).declarations)
+                accept(declaration, action);
+        } else if (node instanceof VariableDeclarationNode) {
+            var variable = (VariableDeclarationNode) node;
+            accept(variable.identifier, action);
+            accept(variable.type, action);
+            accept(variable.expression, action);
+        } else if (node instanceof TypeDeclarationNode) {
+            var declaration = (TypeDeclarationNode) node;
+            accept(declaration.identifier, action);
+            accept(declaration.type, action);
+        } else if (node instanceof RoutineDeclarationNode) {
+            var routine = (RoutineDeclarationNode) node;
+            accept(routine.name, action);
+            accept(routine.parameters, action);
+            accept(routine.returnType, action);
+            accept(routine.body, action);
+        } else if (node instanceof ParametersNode) {
+            for (var parameter : ((ParametersNode) node).parameters) {
+                accept(parameter.getValue0(), action);
+                accept(parameter.getValue1(), action);
+            }
+        } else if (node instanceof ArrayTypeNode) {
+            var array = (ArrayTypeNode) node;
+            accept(array.size, action);
+            accept(array.elementType, action);
+        } else if (node instanceof RecordTypeNode) {
+            for (var variable : ((RecordTypeNode) node).variables)
+                accept(variable, action);
+        } else if (node instanceof BodyNode) {
+            for (var statement : ((BodyNode) node).statements)
+                accept(statement, action);
+        } else if (node instanceof ExpressionNode) {
+            var expression = (ExpressionNode) node;
+            accept(expression.relation, action);
+
+            for (var relation : expression.otherRelations)
+                accept(relation.node, action);
+        } else if (node instanceof BinaryRelationNode) {
+            var relation = (BinaryRelationNode) node;
+            accept(relation.simple, action);
+            accept(relation.otherSimple, action);
+        } else if (node instanceof NegatedRelationNode) {
+            accept(((NegatedRelationNode) node).innerRelation, action);
+        } else if (node instanceof SimpleNode) {
+            var simple = (SimpleNode) node;
+            accept(simple.summand, action);
+
+            for (var summand : simple.otherSummands)
+                accept(summand.node, action);
+        } else if (node instanceof SummandNode) {
+            var summand = (SummandNode) node;
+            accept(summand.factor, action);
+
+            for (var factor : summand.otherFactors)
+                accept(factor.node, action);
+        } else if (node instanceof ModifiablePrimaryNode) {
+            var modifiable = (ModifiablePrimaryNode) node;
+            accept(modifiable.identifier, action);
+
+            for (var accessor : modifiable.accessors) {
+                if (accessor instanceof ModifiablePrimaryNode.Member)
+                    accept(((ModifiablePrimaryNode.Member) accessor).name, action);
+                else if (accessor instanceof ModifiablePrimaryNode.Indexer)
+                    accept(((ModifiablePrimaryNode.Indexer) accessor).value, action);
+            }
+        } else if (node instanceof RoutineCallNode) {
+            var routineCall = (RoutineCallNode) node;
+            accept(routineCall.name, action);
+
+            for (var argument : routineCall.arguments)
+                accept(argument, action);
+        } else if (node instanceof AssignmentNode) {
+            var assignment = (AssignmentNode) node;
+            accept(assignment.modifiable, action);
+            accept(assignment.assignedValue, action);
+        } else if (node instanceof ReturnStatementNode) {
+            accept(((ReturnStatementNode) node).expression, action);
+        } else if (node instanceof WhileLoopNode) {
+            var whileLoop = (WhileLoopNode) node;
+            accept(whileLoop.condition, action);
+            accept(whileLoop.body, action);
+        } else if (node instanceof ForLoopNode) {
+            var forLoop = (ForLoopNode) node;
+            accept(forLoop.variable, action);
+            accept(forLoop.range, action);
+            accept(forLoop.body, action);
+        } else if (node instanceof RangeNode) {
+            var range = (RangeNode) node;
+            accept(range.from, action);
+            accept(range.to, action);
+        } else if (node instanceof IfStatementNode) {
+            var ifStatement = (IfStatementNode) node;
+            accept(ifStatement.condition, action);
+            accept(ifStatement.body, action);
+            accept(ifStatement.elseBody, action);
+        }
+    }
+
+    private static void accept(ASTNode child, Consumer<ASTNode> action) {
+        if (child != null) action.accept(child);
+    }
+
+    private ParentLinker() { }
+}
@@ -0,0 +1,95 @@
+package projectI.Parser;
+
+import projectI.AST.ASTNode;
+
+import java.util.HashMap;
+
+/**
+ * Results of parsing ranges of tokens as nonterminals, so the backtracking parser parses every range
+ * as every nonterminal at most once.
+ */
+final class ParseMemo {
+    static final int NONE = -1;
+    static final int TYPE = 0;
+    static final int EXPRESSION = 1;
+    static final int RELATION = 2;
+    static final int SIMPLE = 3;
+    static final int SUMMAND = 4;
+    static final int BODY = 5;
+    static final int STATEMENT = 6;
+    private static final int NONTERMINALS_COUNT = 7;
+
+    /**
+     * The result of parsing a range together with its effect on the list of errors:
+     * the errors it added, and whether the list was cleared before that.
+     */
+    static final class Entry {
+        Entry(ASTNode node, boolean clearsErrors, FailureLog errors) {
+            this.node = node;
+            this.clearsErrors = clearsErrors;
+            this.errors = errors;
+        }
+
+        final ASTNode node;
+        final boolean clearsErrors;
+        final FailureLog errors;
+    }
+
+    /**
+     * Find the result of parsing a range as a nonterminal.
+     * @param nonterminal one of the nonterminal constants
+     * @param begin index of the first token of the range
+     * @param endExclusive index after the last token of the range
+     * @return the result or null if the range has not been parsed as the nonterminal yet
+     */
+    Entry get(int nonterminal, int begin, int endExclusive) {
+        var entry = entries[nonterminal].get(getKey(begin, endExclusive));
+
+        if (entry == null) missCount++;
+        else hitCount++;
+
+        return entry;
+    }
+
+    /**
+     * Remember the result of parsing a range as a nonterminal.
+     * @param nonterminal one of the nonterminal constants
+     * @param begin index of the first token of the range
+     * @param endExclusive index after the last token of the range
+     * @param entry the result
+     */
+    void put(int nonterminal, int begin, int endExclusive, Entry entry) {
+        entries[nonterminal].put(getKey(begin, endExclusive), entry);
+    }
+
+    /**
+     * Get the number of lookups that found a result.
+     * @return number of hits
+     */
+    long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Get the number of lookups that did not find a result, so the range was parsed.
+     * @return number of misses
+     */
+    long getMissCount() {
+        return missCount;
+    }
+
+    private static long getKey(int begin, int endExclusive) {
+        return (long) begin << 32 | endExclusive;
+    }
+
+    @SuppressWarnings("unchecked")
+    private final HashMap<Long, Entry>[] entries = new HashMap[NONTERMINALS_COUNT];
+
+    {
+        for (int nonterminal = 0; nonterminal < NONTERMINALS_COUNT; nonterminal++)
+            entries[nonterminal] = new HashMap<>();
+    }
+
+    private long hitCount = 0;
+    private long missCount = 0;
+}
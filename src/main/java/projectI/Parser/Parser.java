@@ -16,10 +16,13 @@ import projectI.AST.Statements.StatementNode;
 import projectI.CodePosition;
 import projectI.Lexer.StringWithLocation;
 import projectI.Lexer.Token;
+import projectI.Lexer.TokenBuffer;
+import projectI.Lexer.TokenKind;
 import projectI.Lexer.TokenType;
 import projectI.Parser.Errors.*;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A stage of compilation that takes the token produced by lexical analysis as input and generates a parse tree (or syntax tree)
@@ -27,130 +30,106 @@ import java.util.*;
 public class Parser {
 
     /**
-     * Parse the program
+     * Parse the program.
+     * The program is parsed by the predictive parser in linear time. If it has a syntax error,
+     * the parser stops at it, and the errors expected there are reported
      * @return a program node if it can be parsed otherwise null object
      */
     public ProgramNode tryParseProgram() {
-        return tryParseProgram(0, tokens.length);
+        failures.clear();
+        return new PredictiveParser(tokens, 0, tokens.size(), getLazyBodiesMatches(), stats, failures).tryParseProgram();
     }
 
-    private ProgramNode tryParseProgram(int begin, int endExclusive) {
-        if (!checkMatchingTokens(begin, endExclusive)) {
-            return null;
-        }
-
-        var program = new ProgramNode();
-        int left = begin;
-
-        while (left < endExclusive) {
-            if (tokens[left].getType() == TokenType.DeclarationSeparator) {
-                left++;
-                continue;
-            }
-
-            DeclarationNode declaration = null;
-
-            for (int rightExclusive = left + 1; rightExclusive <= endExclusive; rightExclusive++) {
-                if (rightExclusive != endExclusive && tokens[rightExclusive].getType() != TokenType.DeclarationSeparator) continue;
-                declaration = tryParseDeclaration(left, rightExclusive);
-
-                if (declaration != null) {
-                    left = rightExclusive;
-                    break;
-                }
-            }
-
-            if (declaration == null) {
-                if (getErrorCount() == 0)
-                    expectedDeclaration(left, endExclusive);
+    /**
+     * Parse the program in parallel.
+     * If brackets and blocks match, the program is cut into chunks of top-level declarations,
+     * which are parsed by the predictive parser on the workers of the pool. Otherwise, or if a chunk fails,
+     * the program is parsed as by {@link #tryParseProgram()} to report the errors
+     * @param pool is a pool to parse chunks of declarations in
+     * @return a program node if it can be parsed otherwise null object
+     */
+    public ProgramNode tryParseProgram(ForkJoinPool pool) {
+        var matches = getMatches();
 
-                return null;
-            }
+        if (matches.isBalanced()) {
+            var program = ParallelParser.parse(tokens, matches, pool, lazyBodies);
+            if (program != null) return program;
+        }
 
-            errors.clear();
-            program.declarations.add(declaration);
-            declaration.setParent(program);
+        return tryParseProgram();
+    }
 
-            if (left == endExclusive) break;
+    /**
+     * Parse the program again after a change of its tokens.
+     * If the change is inside one top-level declaration, only that declaration is parsed again and replaced
+     * in the previous program, whose other nodes are kept. If the change moves the tokens after the declaration
+     * to other lines or columns, the positions of the nodes of the following declarations are moved.
+     * Otherwise, if the new declaration cannot be parsed, the program is parsed from scratch as by {@link #tryParseProgram()}
+     * @param previous is the program parsed from the previous tokens, which may be changed by this method
+     * @param previousTokens is the buffer of tokens the previous program was parsed from
+     * @param changeBegin is an index of the first changed token, which is the same in both buffers
+     * @param previousChangeEndExclusive is an index after the last changed token in the previous buffer,
+     *                                   the tokens after it are the same as the last tokens of the new buffer
+     * @return a program node if it can be parsed otherwise null object
+     */
+    public ProgramNode tryReparseProgram(ProgramNode previous, TokenBuffer previousTokens, int changeBegin, int previousChangeEndExclusive) {
+        if (previous != null) {
+            var program = IncrementalParser.reparse(previous, previousTokens, tokens, changeBegin, previousChangeEndExclusive);
+            if (program != null) return program;
         }
 
-        if (getErrorCount() > 0)
-            return null;
-
-        return program;
+        return tryParseProgram();
     }
 
-    private boolean checkMatchingTokens(int left, int rightExclusive) {
-        var stack = new Stack<Integer>();
-
-        for (var index = left; index < rightExclusive; index++) {
-            var token = tokens[index];
-            switch (token.getLexeme()) {
-                case "(", "[", "routine", "while", "record", "for", "if" -> stack.push(index);
-                case ")" -> {
-                    if (stack.size() == 0 || !tokens[stack.pop()].getLexeme().equals("("))
-                    {
-                        errors.add(new ExpectedOperatorError("(", locations[index - 1].getPosition()));
-                        return false;
-                    }
-                }
-                case "]" -> {
-                    if (stack.size() == 0 || !tokens[stack.pop()].getLexeme().equals("["))
-                    {
-                        errors.add(new ExpectedOperatorError("[", locations[index].getPosition()));
-                        return false;
-                    }
-                }
-                case "end" -> {
-                    if (stack.size() == 0 || !tokens[stack.peek()].getLexeme().equals("routine") &&
-                            !tokens[stack.peek()].getLexeme().equals("while") &&
-                            !tokens[stack.peek()].getLexeme().equals("record") &&
-                            !tokens[stack.peek()].getLexeme().equals("for") &&
-                            !tokens[stack.peek()].getLexeme().equals("if"))
-                    {
-                        errors.add(new ExpectedKeywordError("BLOCK_START", locations[index].getPosition()));
-                        return false;
-                    }
-
-                    stack.pop();
-                }
-            }
-        }
+    /**
+     * Parse the routine bodies of a program that were left to be parsed when they are needed.
+     * The bodies are parsed up to the first one with syntax errors, which are reported as the errors of this parser
+     * @param program is a program parsed by this parser
+     * @return true if the bodies can be parsed, false otherwise
+     */
+    public boolean tryParseBodies(ProgramNode program) {
+        failures.clear();
 
-        if (stack.size() > 0) {
+        for (var declaration : program.declarations) {
+            if (!(declaration instanceof RoutineDeclarationNode)) continue;
 
-            while (stack.size() > 0) {
-                var index = (int) stack.pop();
-                switch (tokens[index].getLexeme()) {
-                    case "[" -> errors.add(new ExpectedOperatorError("]", locations[index].getPosition()));
-                    case "(" -> errors.add(new ExpectedOperatorError(")", locations[index].getPosition()));
-                    case "routine", "while", "record", "for", "if" -> errors.add(new ExpectedKeywordError("BLOCK_START", locations[index].getPosition()));
-                }
-            }
+            var statements = ((RoutineDeclarationNode) declaration).body.statements;
 
-            return false;
+            if (statements instanceof LazyStatementList && !((LazyStatementList) statements).tryMaterialize(failures))
+                return false;
         }
 
         return true;
     }
 
-    private void expectedDeclaration(int begin, int endExclusive) {
-        var endPosition = locations[endExclusive - 1].getPosition();
-        var lastTokenLength = tokens[endExclusive - 1].getLexeme().length();
-        endPosition = new CodePosition(endPosition.lineIndex, endPosition.beginningIndex + lastTokenLength);
-        errors.add(new ExpectedDeclarationError(locations[begin].getPosition(), endPosition));
+    private MatchTable getLazyBodiesMatches() {
+        if (!lazyBodies) return null;
+
+        var matches = getMatches();
+        return matches.isBalanced() ? matches : null;
+    }
+
+    private MatchTable getMatches() {
+        if (matches == null)
+            matches = MatchTable.of(tokens, 0, tokens.size());
+
+        return matches;
     }
 
-    private DeclarationNode tryParseDeclaration(int begin, int endExclusive) {
-        var simple = tryParseSimpleDeclaration(begin, endExclusive);
-        if (simple != null) return simple;
+    private int getIndexOfNextSeparator(int index, int endExclusive) {
+        if (index >= endExclusive) return index;
 
-        return tryParseRoutineDeclaration(begin, endExclusive);
+        return Math.min(getMatches().getNextSeparator(index), endExclusive);
     }
 
     private SimpleDeclarationNode tryParseSimpleDeclaration(int begin, int endExclusive) {
+        if (stats == null) return parseSimpleDeclaration(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.SIMPLE_DECLARATION, ParseMemo.NONE, begin, endExclusive, this::parseSimpleDeclaration);
+    }
+
+    private SimpleDeclarationNode parseSimpleDeclaration(int begin, int endExclusive) {
         for (int index = begin; index < endExclusive; index++) {
-            if (tokens[index].getLexeme().equals("routine"))
+            if (tokens.getKind(index) == TokenKind.ROUTINE)
                 return null;
         }
 
@@ -167,15 +146,20 @@ public class Parser {
      * @return a Variable Declaration Node if it can be parsed otherwise null object
      */
     public VariableDeclarationNode tryParseVariableDeclaration(int begin, int endExclusive) {
+        if (stats == null) return parseVariableDeclaration(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.VARIABLE_DECLARATION, ParseMemo.NONE, begin, endExclusive, this::parseVariableDeclaration);
+    }
+
+    private VariableDeclarationNode parseVariableDeclaration(int begin, int endExclusive) {
         if (begin >= endExclusive) return null;
-        if (!tokens[begin].equals(TokenType.Keyword, "var")) return null;
+        if (tokens.getKind(begin) != TokenKind.VAR) return null;
 
-        var position = locations[begin].getPosition();
+        var position = tokens.getPosition(begin);
 
         var identifierIndex = begin + 1;
         if (identifierIndex >= endExclusive) return null;
 
-        if (tokens[identifierIndex].getType() != TokenType.Identifier) {
+        if (tokens.getKind(identifierIndex) != TokenKind.IDENTIFIER) {
             expectedIdentifierAt(identifierIndex);
             return null;
         }
@@ -185,12 +169,12 @@ public class Parser {
 
         if (begin + 2 >= endExclusive) return null;
 
-        if (tokens[begin + 2].equals(TokenType.Operator, ":")) {
-            var isIndex = getIndexOfFirstToken(begin + 3, endExclusive, TokenType.Keyword, "is");
+        if (tokens.getKind(begin + 2) == TokenKind.COLON) {
+            var isIndex = getIndexOfFirstToken(begin + 3, endExclusive, TokenKind.IS);
 
             if (isIndex != -1) {
                 for (isIndex = endExclusive - 1; isIndex >= begin; isIndex--) {
-                    if (!tokens[isIndex].equals(TokenType.Keyword, "is")) continue;
+                    if (tokens.getKind(isIndex) != TokenKind.IS) continue;
 
                     var type = tryParseType(begin + 3, isIndex);
                     if (type == null) continue;
@@ -214,7 +198,7 @@ public class Parser {
             type.setParent(variable);
 
             return variable;
-        } else if (tokens[begin + 2].equals(TokenType.Keyword, "is")) {
+        } else if (tokens.getKind(begin + 2) == TokenKind.IS) {
             var expression = tryParseExpression(begin + 3, endExclusive);
             if (expression == null) return null;
 
@@ -229,17 +213,34 @@ public class Parser {
     }
 
     /**
-     * Parse an expression
+     * Parse an expression.
+     * Relations, simples and summands are parsed in one pass by precedence climbing first.
+     * Only if that fails the ends of the parts of the expression are searched for
      * @param begin is an index of token with which the expression begins
      * @param endExclusive is an index of token with which the expression ends
      * @return an Expression Node if it can be parsed otherwise null object
      */
     public ExpressionNode tryParseExpression(int begin, int endExclusive) {
+        if (memo == null && stats == null) return parseExpression(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.EXPRESSION, ParseMemo.EXPRESSION, begin, endExclusive, this::parseExpression);
+    }
+
+    private ExpressionNode parseExpression(int begin, int endExclusive) {
+        var parsed = new PredictiveParser(tokens, begin, endExclusive).tryParseWholeExpression();
+        if (parsed != null) return parsed;
+
+        return searchExpression(begin, endExclusive);
+    }
+
+    /**
+     * Parse an expression by searching for the ends of its relations, the longest candidates first
+     */
+    private ExpressionNode searchExpression(int begin, int endExclusive) {
         int left = begin;
         RelationNode relation = null;
 
         for (int rightExclusive = endExclusive; rightExclusive > left; rightExclusive--) {
-            relation = tryParseRelation(left, rightExclusive);
+            relation = searchRelation(left, rightExclusive);
 
             if (relation != null) {
                 left = rightExclusive;
@@ -253,14 +254,14 @@ public class Parser {
         relation.setParent(expression);
 
         while (left < endExclusive) {
-            var operator = tryParseLogicalOperator(tokens[left]);
+            var operator = tryParseLogicalOperator(left);
             if (operator == null) return null;
 
             var operatorIndex = left;
             left++;
 
             for (int rightExclusive = endExclusive; rightExclusive > left; rightExclusive--) {
-                relation = tryParseRelation(left, rightExclusive);
+                relation = searchRelation(left, rightExclusive);
 
                 if (relation != null) {
                     left = rightExclusive;
@@ -270,20 +271,18 @@ public class Parser {
 
             if (relation == null) return null;
 
-            expression.addRelation(operator, relation, locations[operatorIndex].getPosition());
+            expression.addRelation(operator, relation, tokens.getPosition(operatorIndex));
             relation.setParent(expression);
         }
 
         return expression;
     }
 
-    private LogicalOperator tryParseLogicalOperator(Token token) {
-        if (token.getType() != TokenType.Operator) return null;
-
-        return switch (token.getLexeme()) {
-            case "and" -> LogicalOperator.AND;
-            case "or" -> LogicalOperator.OR;
-            case "xor" -> LogicalOperator.XOR;
+    private LogicalOperator tryParseLogicalOperator(int index) {
+        return switch (tokens.getKind(index)) {
+            case TokenKind.AND -> LogicalOperator.AND;
+            case TokenKind.OR -> LogicalOperator.OR;
+            case TokenKind.XOR -> LogicalOperator.XOR;
             default -> null;
         };
     }
@@ -295,12 +294,27 @@ public class Parser {
      * @return a Relation Node if it can be parsed otherwise null object
      */
     public RelationNode tryParseRelation(int begin, int endExclusive) {
+        var parsed = new PredictiveParser(tokens, begin, endExclusive).tryParseWholeRelation();
+        if (parsed != null) return parsed;
+
+        return searchRelation(begin, endExclusive);
+    }
+
+    /**
+     * Parse a relation by searching for the ends of its simples, the longest candidates first
+     */
+    private RelationNode searchRelation(int begin, int endExclusive) {
+        if (memo == null && stats == null) return findRelation(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.RELATION, ParseMemo.RELATION, begin, endExclusive, this::findRelation);
+    }
+
+    private RelationNode findRelation(int begin, int endExclusive) {
         if (begin >= endExclusive) return null;
-        if (tokens[begin].equals(TokenType.Operator, "not")) {
-            var innerRelation = tryParseRelation(begin + 1, endExclusive);
+        if (tokens.getKind(begin) == TokenKind.NOT) {
+            var innerRelation = searchRelation(begin + 1, endExclusive);
             if (innerRelation == null) return null;
 
-            var negatedRelation = new NegatedRelationNode(innerRelation, locations[begin].getPosition());
+            var negatedRelation = new NegatedRelationNode(innerRelation, tokens.getPosition(begin));
             innerRelation.setParent(negatedRelation);
 
             return negatedRelation;
@@ -310,7 +324,7 @@ public class Parser {
         SimpleNode simple = null;
 
         for (int rightExclusive = endExclusive; rightExclusive > left; rightExclusive--) {
-            simple = tryParseSimple(left, rightExclusive);
+            simple = searchSimple(left, rightExclusive);
 
             if (simple != null) {
                 left = rightExclusive;
@@ -325,15 +339,15 @@ public class Parser {
             return binaryRelation;
         }
 
-        var comparison = tryParseComparison(tokens[left]);
+        var comparison = tryParseComparison(left);
         if (comparison == null) return null;
 
         if (left + 1 >= endExclusive) return null;
 
-        var otherSimple = tryParseSimple(left + 1, endExclusive);
+        var otherSimple = searchSimple(left + 1, endExclusive);
         if (otherSimple == null) return null;
 
-        var binaryRelation = new BinaryRelationNode(simple, comparison, otherSimple, locations[left].getPosition());
+        var binaryRelation = new BinaryRelationNode(simple, comparison, otherSimple, tokens.getPosition(left));
         simple.setParent(binaryRelation);
         otherSimple.setParent(binaryRelation);
         return binaryRelation;
@@ -346,11 +360,26 @@ public class Parser {
      * @return a Simple Node if it can be parsed otherwise null object
      */
     public SimpleNode tryParseSimple(int begin, int endExclusive) {
+        var parsed = new PredictiveParser(tokens, begin, endExclusive).tryParseWholeSimple();
+        if (parsed != null) return parsed;
+
+        return searchSimple(begin, endExclusive);
+    }
+
+    /**
+     * Parse a simple by searching for the ends of its summands, the longest candidates first
+     */
+    private SimpleNode searchSimple(int begin, int endExclusive) {
+        if (memo == null && stats == null) return findSimple(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.SIMPLE, ParseMemo.SIMPLE, begin, endExclusive, this::findSimple);
+    }
+
+    private SimpleNode findSimple(int begin, int endExclusive) {
         int left = begin;
         SummandNode factor = null;
 
         for (int rightExclusive = endExclusive; rightExclusive > left; rightExclusive--) {
-            factor = tryParseSummand(left, rightExclusive);
+            factor = searchSummand(left, rightExclusive);
 
             if (factor != null) {
                 left = rightExclusive;
@@ -364,14 +393,14 @@ public class Parser {
         factor.setParent(simple);
 
         while (left < endExclusive) {
-            var operator = tryParseSimpleNodeOperator(tokens[left]);
+            var operator = tryParseSimpleNodeOperator(left);
             if (operator == null) return null;
 
             var operatorIndex = left;
             left++;
 
             for (int rightExclusive = endExclusive; rightExclusive > left; rightExclusive--) {
-                factor = tryParseSummand(left, rightExclusive);
+                factor = searchSummand(left, rightExclusive);
 
                 if (factor != null) {
                     left = rightExclusive;
@@ -381,7 +410,7 @@ public class Parser {
 
             if (factor == null) return null;
 
-            simple.addSummand(operator, factor, locations[operatorIndex].getPosition());
+            simple.addSummand(operator, factor, tokens.getPosition(operatorIndex));
             factor.setParent(simple);
         }
 
@@ -395,6 +424,21 @@ public class Parser {
      * @return a Summand Node if it can be parsed otherwise null object
      */
     public SummandNode tryParseSummand(int begin, int endExclusive) {
+        var parsed = new PredictiveParser(tokens, begin, endExclusive).tryParseWholeSummand();
+        if (parsed != null) return parsed;
+
+        return searchSummand(begin, endExclusive);
+    }
+
+    /**
+     * Parse a summand by searching for the ends of its factors, the longest candidates first
+     */
+    private SummandNode searchSummand(int begin, int endExclusive) {
+        if (memo == null && stats == null) return findSummand(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.SUMMAND, ParseMemo.SUMMAND, begin, endExclusive, this::findSummand);
+    }
+
+    private SummandNode findSummand(int begin, int endExclusive) {
         int left = begin;
         FactorNode factor = null;
 
@@ -413,7 +457,7 @@ public class Parser {
         factor.setParent(summand);
 
         while (left < endExclusive) {
-            var operator = tryParseFactorOperator(tokens[left]);
+            var operator = tryParseFactorOperator(left);
             if (operator == null) return null;
 
             var operatorIndex = left;
@@ -430,7 +474,7 @@ public class Parser {
 
             if (factor == null) return null;
 
-            summand.addFactor(operator, factor, locations[operatorIndex].getPosition());
+            summand.addFactor(operator, factor, tokens.getPosition(operatorIndex));
             factor.setParent(summand);
         }
 
@@ -444,23 +488,26 @@ public class Parser {
      * @return a Factor Node if it can be parsed otherwise null object
      */
     public FactorNode tryParseFactor(int begin, int endExclusive) {
+        if (stats == null) return parseFactor(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.FACTOR, ParseMemo.NONE, begin, endExclusive, this::parseFactor);
+    }
+
+    private FactorNode parseFactor(int begin, int endExclusive) {
         var primary = tryParsePrimary(begin, endExclusive);
         if (primary != null) return primary;
 
         if (begin >= endExclusive - 1) return null;
-        if (!tokens[begin].equals(TokenType.Operator, "(")) return null;
-        if (!tokens[endExclusive - 1].equals(TokenType.Operator, ")")) return null;
+        if (tokens.getKind(begin) != TokenKind.OPENING_PARENTHESIS) return null;
+        if (tokens.getKind(endExclusive - 1) != TokenKind.CLOSING_PARENTHESIS) return null;
 
         return tryParseExpression(begin + 1, endExclusive - 1);
     }
 
-    private MultiplicationOperator tryParseFactorOperator(Token token) {
-        if (token.getType() != TokenType.Operator) return null;
-
-        return switch (token.getLexeme()) {
-            case "*" -> MultiplicationOperator.MULTIPLY;
-            case "/" -> MultiplicationOperator.DIVIDE;
-            case "%" -> MultiplicationOperator.MODULO;
+    private MultiplicationOperator tryParseFactorOperator(int index) {
+        return switch (tokens.getKind(index)) {
+            case TokenKind.MULTIPLY -> MultiplicationOperator.MULTIPLY;
+            case TokenKind.DIVIDE -> MultiplicationOperator.DIVIDE;
+            case TokenKind.MODULO -> MultiplicationOperator.MODULO;
             default -> null;
         };
     }
@@ -472,6 +519,11 @@ public class Parser {
      * @return a Primary Node if it can be parsed otherwise null object
      */
     public PrimaryNode tryParsePrimary(int begin, int endExclusive) {
+        if (stats == null) return parsePrimary(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.PRIMARY, ParseMemo.NONE, begin, endExclusive, this::parsePrimary);
+    }
+
+    private PrimaryNode parsePrimary(int begin, int endExclusive) {
         var integralLiteral = tryParseIntegralLiteral(begin, endExclusive);
         if (integralLiteral != null) return integralLiteral;
 
@@ -494,6 +546,11 @@ public class Parser {
      * @return a Integral Literal Node if it can be parsed otherwise null object
      */
     public IntegralLiteralNode tryParseIntegralLiteral(int begin, int endExclusive) {
+        if (stats == null) return parseIntegralLiteral(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.INTEGRAL_LITERAL, ParseMemo.NONE, begin, endExclusive, this::parseIntegralLiteral);
+    }
+
+    private IntegralLiteralNode parseIntegralLiteral(int begin, int endExclusive) {
         int literalTokenIndex;
         IntegralLiteralNode.Sign sign = null;
 
@@ -502,12 +559,10 @@ public class Parser {
         } else if (begin == endExclusive - 2) {
             literalTokenIndex = begin + 1;
 
-            if (tokens[begin].getType() != TokenType.Operator) return null;
-
-            sign = switch (tokens[begin].getLexeme()) {
-                case "+" -> IntegralLiteralNode.Sign.PLUS;
-                case "-" -> IntegralLiteralNode.Sign.MINUS;
-                case "not" -> IntegralLiteralNode.Sign.NOT;
+            sign = switch (tokens.getKind(begin)) {
+                case TokenKind.PLUS -> IntegralLiteralNode.Sign.PLUS;
+                case TokenKind.MINUS -> IntegralLiteralNode.Sign.MINUS;
+                case TokenKind.NOT -> IntegralLiteralNode.Sign.NOT;
                 default -> null;
             };
 
@@ -517,8 +572,8 @@ public class Parser {
         }
 
         try {
-            var value = Integer.parseInt(tokens[literalTokenIndex].getLexeme());
-            return new IntegralLiteralNode(value, sign, locations[literalTokenIndex].getPosition());
+            var value = Integer.parseInt(tokens.getLexeme(literalTokenIndex));
+            return new IntegralLiteralNode(value, sign, tokens.getPosition(literalTokenIndex));
         } catch (NumberFormatException ignored) {
             return null;
         }
@@ -531,6 +586,11 @@ public class Parser {
      * @return a Real Literal Node if it can be parsed otherwise null object
      */
     public RealLiteralNode tryParseRealLiteral(int begin, int endExclusive) {
+        if (stats == null) return parseRealLiteral(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.REAL_LITERAL, ParseMemo.NONE, begin, endExclusive, this::parseRealLiteral);
+    }
+
+    private RealLiteralNode parseRealLiteral(int begin, int endExclusive) {
         int literalTokenIndex;
         RealLiteralNode.Sign sign = null;
 
@@ -539,11 +599,9 @@ public class Parser {
         } else if (begin == endExclusive - 2) {
             literalTokenIndex = begin + 1;
 
-            if (tokens[begin].getType() != TokenType.Operator) return null;
-
-            sign = switch (tokens[begin].getLexeme()) {
-                case "+" -> RealLiteralNode.Sign.PLUS;
-                case "-" -> RealLiteralNode.Sign.MINUS;
+            sign = switch (tokens.getKind(begin)) {
+                case TokenKind.PLUS -> RealLiteralNode.Sign.PLUS;
+                case TokenKind.MINUS -> RealLiteralNode.Sign.MINUS;
                 default -> null;
             };
 
@@ -553,8 +611,8 @@ public class Parser {
         }
 
         try {
-            var value = Double.parseDouble(tokens[literalTokenIndex].getLexeme());
-            return new RealLiteralNode(value, sign, locations[literalTokenIndex].getPosition());
+            var value = Double.parseDouble(tokens.getLexeme(literalTokenIndex));
+            return new RealLiteralNode(value, sign, tokens.getPosition(literalTokenIndex));
         } catch (NumberFormatException ignored) {
             return null;
         }
@@ -567,21 +625,24 @@ public class Parser {
      * @return a Boolean Literal Node if it can be parsed otherwise null object
      */
     public BooleanLiteralNode tryParseBooleanLiteral(int begin, int endExclusive) {
+        if (stats == null) return parseBooleanLiteral(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.BOOLEAN_LITERAL, ParseMemo.NONE, begin, endExclusive, this::parseBooleanLiteral);
+    }
+
+    private BooleanLiteralNode parseBooleanLiteral(int begin, int endExclusive) {
         if (begin != endExclusive - 1) return null;
 
-        var booleanLiteralType = tryParseBooleanLiteralType(tokens[begin]);
+        var booleanLiteralType = tryParseBooleanLiteralType(begin);
         if (booleanLiteralType != null)
-            return BooleanLiteralNode.create(booleanLiteralType, locations[begin].getPosition());
+            return BooleanLiteralNode.create(booleanLiteralType, tokens.getPosition(begin));
 
         return null;
     }
 
-    private Boolean tryParseBooleanLiteralType(Token token) {
-        if (token.getType() != TokenType.Keyword) return null;
-
-        return switch (token.getLexeme()) {
-            case "true" -> true;
-            case "false" -> false;
+    private Boolean tryParseBooleanLiteralType(int index) {
+        return switch (tokens.getKind(index)) {
+            case TokenKind.TRUE -> true;
+            case TokenKind.FALSE -> false;
             default -> null;
         };
     }
@@ -593,34 +654,39 @@ public class Parser {
      * @return a Modifiable Primary Node if it can be parsed otherwise null object
      */
     public ModifiablePrimaryNode tryParseModifiablePrimary(int begin, int endExclusive) {
+        if (stats == null) return parseModifiablePrimary(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.MODIFIABLE_PRIMARY, ParseMemo.NONE, begin, endExclusive, this::parseModifiablePrimary);
+    }
+
+    private ModifiablePrimaryNode parseModifiablePrimary(int begin, int endExclusive) {
         if (begin >= endExclusive) return null;
 
         var identifier = tryParseIdentifier(begin, begin + 1);
         if (identifier == null) return null;
 
-        var modifiablePrimary = new ModifiablePrimaryNode(identifier, locations[begin].getPosition());
+        var modifiablePrimary = new ModifiablePrimaryNode(identifier, tokens.getPosition(begin));
         identifier.setParent(modifiablePrimary);
         var left = begin + 1;
 
         while (left < endExclusive) {
-            var token = tokens[left++];
+            var tokenIndex = left++;
             if (left >= endExclusive) return null;
 
-            if (token.equals(TokenType.Operator, ".")) {
+            if (tokens.getKind(tokenIndex) == TokenKind.DOT) {
                 var member = tryParseIdentifier(left, left + 1);
 
                 if (member != null) {
                     modifiablePrimary.addMember(member);
                     member.setParent(modifiablePrimary);
-                } else if (tokens[left].equals(TokenType.Keyword, "size")) {
+                } else if (tokens.getKind(left) == TokenKind.SIZE) {
                     modifiablePrimary.addArraySize();
                 } else {
                     return null;
                 }
 
                 left++;
-            } else if (token.equals(TokenType.Operator, "[")){
-                var closingBracketIndex = getIndexOfFirstStandaloneClosingBracket(left, endExclusive, '[', ']');
+            } else if (tokens.getKind(tokenIndex) == TokenKind.OPENING_BRACKET){
+                var closingBracketIndex = getIndexOfMatchingClosingBracket(tokenIndex, endExclusive, TokenKind.OPENING_BRACKET, TokenKind.CLOSING_BRACKET);
                 if (closingBracketIndex == -1) return null;
 
                 var indexer = tryParseExpression(left, closingBracketIndex);
@@ -637,26 +703,22 @@ public class Parser {
         return modifiablePrimary;
     }
 
-    private BinaryRelationNode.Comparison tryParseComparison(Token token) {
-        if (token.getType() != TokenType.Operator) return null;
-
-        return switch (token.getLexeme()) {
-            case "<" -> BinaryRelationNode.Comparison.LESS;
-            case "<=" -> BinaryRelationNode.Comparison.LESS_EQUAL;
-            case ">" -> BinaryRelationNode.Comparison.GREATER;
-            case ">=" -> BinaryRelationNode.Comparison.GREATER_EQUAL;
-            case "=" -> BinaryRelationNode.Comparison.EQUAL;
-            case "/=" -> BinaryRelationNode.Comparison.NOT_EQUAL;
+    private BinaryRelationNode.Comparison tryParseComparison(int index) {
+        return switch (tokens.getKind(index)) {
+            case TokenKind.LESS -> BinaryRelationNode.Comparison.LESS;
+            case TokenKind.LESS_OR_EQUAL -> BinaryRelationNode.Comparison.LESS_EQUAL;
+            case TokenKind.GREATER -> BinaryRelationNode.Comparison.GREATER;
+            case TokenKind.GREATER_OR_EQUAL -> BinaryRelationNode.Comparison.GREATER_EQUAL;
+            case TokenKind.EQUAL -> BinaryRelationNode.Comparison.EQUAL;
+            case TokenKind.NOT_EQUAL -> BinaryRelationNode.Comparison.NOT_EQUAL;
             default -> null;
         };
     }
 
-    private AdditionOperator tryParseSimpleNodeOperator(Token token) {
-        if (token.getType() != TokenType.Operator) return null;
-
-        return switch (token.getLexeme()) {
-            case "+" -> AdditionOperator.PLUS;
-            case "-" -> AdditionOperator.MINUS;
+    private AdditionOperator tryParseSimpleNodeOperator(int index) {
+        return switch (tokens.getKind(index)) {
+            case TokenKind.PLUS -> AdditionOperator.PLUS;
+            case TokenKind.MINUS -> AdditionOperator.MINUS;
             default -> null;
         };
     }
@@ -668,7 +730,12 @@ public class Parser {
      * @return a Type Node if it can be parsed otherwise null object
      */
     public TypeNode tryParseType(int begin, int endExclusive) {
-        if (begin < endExclusive && tokens[begin].getLexeme().equals("record")) {
+        if (memo == null && stats == null) return parseType(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.TYPE, ParseMemo.TYPE, begin, endExclusive, this::parseType);
+    }
+
+    private TypeNode parseType(int begin, int endExclusive) {
+        if (begin < endExclusive && tokens.getKind(begin) == TokenKind.RECORD) {
             return tryParseRecordType(begin, endExclusive);
         }
 
@@ -688,17 +755,19 @@ public class Parser {
      * @return a Primitive Type Node if it can be parsed otherwise null object
      */
     public PrimitiveTypeNode tryParsePrimitiveType(int begin, int endExclusive) {
-        if (begin != endExclusive - 1) return null;
+        if (stats == null) return parsePrimitiveType(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.PRIMITIVE_TYPE, ParseMemo.NONE, begin, endExclusive, this::parsePrimitiveType);
+    }
 
-        var token = tokens[begin];
-        if (token.getType() != TokenType.Keyword) return null;
+    private PrimitiveTypeNode parsePrimitiveType(int begin, int endExclusive) {
+        if (begin != endExclusive - 1) return null;
 
-        var position = locations[begin].getPosition();
+        var position = tokens.getPosition(begin);
 
-        return switch (token.getLexeme()) {
-            case "integer" -> new PrimitiveTypeNode(PrimitiveType.INTEGER, position);
-            case "real" -> new PrimitiveTypeNode(PrimitiveType.REAL, position);
-            case "boolean" -> new PrimitiveTypeNode(PrimitiveType.BOOLEAN, position);
+        return switch (tokens.getKind(begin)) {
+            case TokenKind.INTEGER -> new PrimitiveTypeNode(PrimitiveType.INTEGER, position);
+            case TokenKind.REAL -> new PrimitiveTypeNode(PrimitiveType.REAL, position);
+            case TokenKind.BOOLEAN -> new PrimitiveTypeNode(PrimitiveType.BOOLEAN, position);
             default -> null;
         };
     }
@@ -710,15 +779,20 @@ public class Parser {
      * @return an Array Type Node if it can be parsed otherwise null object
      */
     public ArrayTypeNode tryParseArrayType(int begin, int endExclusive) {
+        if (stats == null) return parseArrayType(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.ARRAY_TYPE, ParseMemo.NONE, begin, endExclusive, this::parseArrayType);
+    }
+
+    private ArrayTypeNode parseArrayType(int begin, int endExclusive) {
         if (begin >= endExclusive) return null;
-        if (!tokens[begin].equals(TokenType.Keyword, "array")) return null;
+        if (tokens.getKind(begin) != TokenKind.ARRAY) return null;
         if (begin + 1 >= endExclusive) return null;
-        if (!tokens[begin + 1].equals(TokenType.Operator, "[")) {
+        if (tokens.getKind(begin + 1) != TokenKind.OPENING_BRACKET) {
             expectedOperator("[", begin);
             return null;
         }
 
-        var closingBracketIndex = getIndexOfFirstStandaloneClosingBracket(begin + 2, endExclusive, '[', ']');
+        var closingBracketIndex = getIndexOfMatchingClosingBracket(begin + 1, endExclusive, TokenKind.OPENING_BRACKET, TokenKind.CLOSING_BRACKET);
         if (closingBracketIndex == -1) {
             expectedOperator("]", begin + 1);
             return null;
@@ -740,7 +814,7 @@ public class Parser {
             return null;
         }
 
-        var array = new ArrayTypeNode(size, type, locations[begin].getPosition());
+        var array = new ArrayTypeNode(size, type, tokens.getPosition(begin));
 
         type.setParent(array);
         if (size != null)
@@ -751,8 +825,7 @@ public class Parser {
     }
     
     private void expectedExpression(int begin, int endExclusive) {
-        var tokens = Arrays.copyOfRange(this.tokens, begin, endExclusive);
-        errors.add(new ExpectedExpressionError(tokens, locations[begin].getPosition()));
+        failures.add(FailureLog.EXPECTED_EXPRESSION, begin, endExclusive, null);
     }
 
     /**
@@ -762,20 +835,25 @@ public class Parser {
      * @return a Record Type Node if it can be parsed otherwise null object
      */
     public RecordTypeNode tryParseRecordType(int begin, int endExclusive) {
+        if (stats == null) return parseRecordType(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.RECORD_TYPE, ParseMemo.NONE, begin, endExclusive, this::parseRecordType);
+    }
+
+    private RecordTypeNode parseRecordType(int begin, int endExclusive) {
         if (begin >= endExclusive) return null;
-        if (!tokens[begin].equals(TokenType.Keyword, "record")) return null;
-        if (!tokens[endExclusive - 1].equals(TokenType.Keyword, "end")) {
+        if (tokens.getKind(begin) != TokenKind.RECORD) return null;
+        if (tokens.getKind(endExclusive - 1) != TokenKind.END) {
             expectedKeyword("end", endExclusive - 1);
             return null;
         }
 
-        var record = new RecordTypeNode(locations[begin].getPosition());
+        var record = new RecordTypeNode(tokens.getPosition(begin));
         begin += 1;
         endExclusive -= 1;
         var left = begin;
 
         while (left < endExclusive) {
-            if (tokens[left].getType() == TokenType.DeclarationSeparator) {
+            if (tokens.getType(left) == TokenType.DeclarationSeparator) {
                 left++;
                 continue;
             }
@@ -798,19 +876,14 @@ public class Parser {
                 return null;
             }
             if (left >= endExclusive) break;
-            if (tokens[left].getType() != TokenType.DeclarationSeparator) return null;
+            if (tokens.getType(left) != TokenType.DeclarationSeparator) return null;
         }
 
         return record;
     }
 
     private void expectedVariableDeclaration(int begin, int endExclusive) {
-        var tokens = Arrays.copyOfRange(this.tokens, begin, endExclusive);
-        var position = locations[begin].getPosition();
-        var endTokenPosition = locations[endExclusive - 1].getPosition();
-        var endTokenLength = this.tokens[endExclusive - 1].getLexeme().length();
-        var end = new CodePosition(endTokenPosition.lineIndex, endTokenPosition.beginningIndex + endTokenLength);
-        errors.add(new ExpectedVariableDeclarationError(tokens, position, end));
+        failures.add(FailureLog.EXPECTED_VARIABLE_DECLARATION, begin, endExclusive, null);
     }
 
     /**
@@ -820,21 +893,34 @@ public class Parser {
      * @return an Identifier Node if it can be parsed otherwise null object
      */
     public IdentifierNode tryParseIdentifier(int begin, int endExclusive) {
+        if (stats == null) return parseIdentifier(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.IDENTIFIER, ParseMemo.NONE, begin, endExclusive, this::parseIdentifier);
+    }
+
+    private IdentifierNode parseIdentifier(int begin, int endExclusive) {
         if (begin != endExclusive - 1) return null;
-        var token = tokens[begin];
-        if (token.getType() != TokenType.Identifier) return null;
+        if (tokens.getKind(begin) != TokenKind.IDENTIFIER) return null;
 
-        return new IdentifierNode(token.getLexeme(), locations[begin].getPosition());
+        return new IdentifierNode(tokens.getLexeme(begin), tokens.getPosition(begin));
     }
 
-    private int getIndexOfFirstStandaloneClosingBracket(int begin, int endExclusive, char opening, char closing) {
+    private int getIndexOfMatchingClosingBracket(int openingIndex, int endExclusive, int opening, int closing) {
+        var matches = getMatches();
+
+        if (matches.isBalanced()) {
+            var closingIndex = matches.getMatchIndex(openingIndex);
+            return closingIndex < endExclusive ? closingIndex : -1;
+        }
+
         int openedCount = 0;
 
-        for (int index = begin; index < endExclusive; index++) {
-            if (tokens[index].equals(TokenType.Operator, Character.toString(closing))) {
+        for (int index = openingIndex + 1; index < endExclusive; index++) {
+            var kind = tokens.getKind(index);
+
+            if (kind == closing) {
                 openedCount--;
                 if (openedCount == -1) return index;
-            } else if (tokens[index].equals(TokenType.Operator, Character.toString(opening))) {
+            } else if (kind == opening) {
                 openedCount++;
             }
         }
@@ -849,8 +935,13 @@ public class Parser {
      * @return a Declaration Node if it can be parsed otherwise null object
      */
     public TypeDeclarationNode tryParseTypeDeclaration(int begin, int endExclusive) {
+        if (stats == null) return parseTypeDeclaration(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.TYPE_DECLARATION, ParseMemo.NONE, begin, endExclusive, this::parseTypeDeclaration);
+    }
+
+    private TypeDeclarationNode parseTypeDeclaration(int begin, int endExclusive) {
         if (begin >= endExclusive) return null;
-        if (!tokens[begin].equals(TokenType.Keyword, "type")) return null;
+        if (tokens.getKind(begin) != TokenKind.TYPE) return null;
 
         var identifierIndex = begin + 1;
         if (identifierIndex >= endExclusive) return null;
@@ -862,12 +953,12 @@ public class Parser {
         }
 
         if (begin + 2 >= endExclusive) return null;
-        if (!tokens[begin + 2].equals(TokenType.Keyword, "is")) return null;
+        if (tokens.getKind(begin + 2) != TokenKind.IS) return null;
 
         var type = tryParseType(begin + 3, endExclusive);
         if (type == null) return null;
 
-        var declaration = new TypeDeclarationNode(identifier, type, locations[begin].getPosition());
+        var declaration = new TypeDeclarationNode(identifier, type, tokens.getPosition(begin));
         identifier.setParent(declaration);
         type.setParent(declaration);
 
@@ -876,7 +967,7 @@ public class Parser {
 
 
     private void expectedIdentifierAt(int tokenIndex) {
-        errors.add(new ExpectedIdentifierError(tokens[tokenIndex], locations[tokenIndex].getPosition()));
+        failures.add(FailureLog.EXPECTED_IDENTIFIER, tokenIndex, tokenIndex + 1, null);
     }
 
      /**
@@ -886,14 +977,22 @@ public class Parser {
      * @return a Routine Declaration Node if it can be parsed otherwise null object
      */
     public RoutineDeclarationNode tryParseRoutineDeclaration(int begin, int endExclusive) {
+        if (stats == null) return parseRoutineDeclaration(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.ROUTINE_DECLARATION, ParseMemo.NONE, begin, endExclusive, this::parseRoutineDeclaration);
+    }
+
+    private RoutineDeclarationNode parseRoutineDeclaration(int begin, int endExclusive) {
         if (begin >= endExclusive) return null;
-        if (!tokens[begin].equals(TokenType.Keyword, "routine")) return null;
-        if (!tokens[endExclusive - 1].equals(TokenType.Keyword, "end")) {
+        if (tokens.getKind(begin) != TokenKind.ROUTINE) return null;
+        if (tokens.getKind(endExclusive - 1) != TokenKind.END) {
             expectedKeyword("end", endExclusive - 1);
             return null;
         }
 
-        var startPosition = locations[begin].getPosition();
+        var lazyBody = getLazyBodiesMatches() != null;
+        if (lazyBody && matches.getMatchIndex(begin) != endExclusive - 1) return null;
+
+        var startPosition = tokens.getPosition(begin);
         endExclusive--;
 
         if (begin + 1 >= endExclusive) return null;
@@ -904,12 +1003,12 @@ public class Parser {
         }
 
         if (begin + 2 >= endExclusive) return null;
-        if (!tokens[begin + 2].equals(TokenType.Operator, "(")) {
+        if (tokens.getKind(begin + 2) != TokenKind.OPENING_PARENTHESIS) {
             expectedOperator("(", begin + 1);
             return null;
         }
 
-        var matchingParenthesisIndex = getIndexOfFirstStandaloneClosingBracket(begin + 3, endExclusive, '(', ')');
+        var matchingParenthesisIndex = getIndexOfMatchingClosingBracket(begin + 2, endExclusive, TokenKind.OPENING_PARENTHESIS, TokenKind.CLOSING_PARENTHESIS);
         if (matchingParenthesisIndex == -1) {
             expectedOperator(")", begin + 2);
             return null;
@@ -923,8 +1022,10 @@ public class Parser {
             return null;
         }
 
-        if (tokens[matchingParenthesisIndex + 1].equals(TokenType.Keyword, "is")) {
-            var body = tryParseBody(matchingParenthesisIndex + 2, endExclusive);
+        if (tokens.getKind(matchingParenthesisIndex + 1) == TokenKind.IS) {
+            var body = lazyBody
+                    ? LazyStatementList.createBody(tokens, matchingParenthesisIndex + 2, endExclusive)
+                    : tryParseBody(matchingParenthesisIndex + 2, endExclusive);
             if (body == null) return null;
 
             var routine = new RoutineDeclarationNode(identifier, parameters, body, startPosition);
@@ -933,17 +1034,19 @@ public class Parser {
             parameters.setParent(routine);
 
             return routine;
-        } else if (tokens[matchingParenthesisIndex + 1].equals(TokenType.Operator, ":")) {
-            for (int isIndex = matchingParenthesisIndex + 2; isIndex < endExclusive; isIndex++) {
-                if (!tokens[isIndex].equals(TokenType.Keyword, "is")) continue;
+        } else if (tokens.getKind(matchingParenthesisIndex + 1) == TokenKind.COLON) {
+            var isIndex = getIndexOfFirstToken(matchingParenthesisIndex + 2, endExclusive, TokenKind.IS);
 
+            if (isIndex != -1) {
                 var returnType = tryParseType(matchingParenthesisIndex + 2, isIndex);
                 if (returnType == null) {
                     expectedType(matchingParenthesisIndex + 2, isIndex);
                     return null;
                 }
 
-                var body = tryParseBody(isIndex + 1, endExclusive);
+                var body = lazyBody
+                        ? LazyStatementList.createBody(tokens, isIndex + 1, endExclusive)
+                        : tryParseBody(isIndex + 1, endExclusive);
                 if (body == null) return null;
 
                 var routine = new RoutineDeclarationNode(identifier, parameters, returnType, body, startPosition);
@@ -961,10 +1064,7 @@ public class Parser {
     }
 
     private void expectedKeyword(String keyword, int previousTokenIndex) {
-        var previousPosition = locations[previousTokenIndex].getPosition();
-        var previousTokenLength = tokens[previousTokenIndex].getLexeme().length();
-        var position = new CodePosition(previousPosition.lineIndex, previousPosition.beginningIndex + previousTokenLength + 1);
-        errors.add(new ExpectedKeywordError(keyword, position));
+        failures.add(FailureLog.EXPECTED_KEYWORD_AFTER, previousTokenIndex, previousTokenIndex + 1, keyword);
     }
 
     /**
@@ -974,18 +1074,23 @@ public class Parser {
      * @return a Parameters Node if it can be parsed otherwise null object
      */
     public ParametersNode tryParseParameters(int begin, int endExclusive) {
-        var startPosition = 0 <= begin && begin < tokens.length ? locations[begin].getPosition() : null;
+        if (stats == null) return parseParameters(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.PARAMETERS, ParseMemo.NONE, begin, endExclusive, this::parseParameters);
+    }
+
+    private ParametersNode parseParameters(int begin, int endExclusive) {
+        var startPosition = 0 <= begin && begin < tokens.size() ? tokens.getPosition(begin) : null;
         var parameters = new ParametersNode(startPosition);
         if (begin >= endExclusive) return parameters;
 
         var left = begin;
 
         while (left < endExclusive) {
-            var commaIndex = getIndexOfFirstToken(left, endExclusive, TokenType.Operator, ",");
+            var commaIndex = getIndexOfFirstToken(left, endExclusive, TokenKind.COMMA);
 
             if (commaIndex == -1) {
                 if (left + 2 >= endExclusive) return null;
-                if (!tokens[left + 1].equals(TokenType.Operator, ":")) return null;
+                if (tokens.getKind(left + 1) != TokenKind.COLON) return null;
 
                 var identifier = tryParseIdentifier(left, left + 1);
                 if (identifier == null) {
@@ -1008,7 +1113,7 @@ public class Parser {
             } else {
                 if (left + 2 >= commaIndex) return null;
                 if (commaIndex == endExclusive - 1) return null;
-                if (!tokens[left + 1].equals(TokenType.Operator, ":")) return null;
+                if (tokens.getKind(left + 1) != TokenKind.COLON) return null;
 
                 var identifier = tryParseIdentifier(left, left + 1);
                 if (identifier == null) return null;
@@ -1029,17 +1134,14 @@ public class Parser {
     }
 
     private void expectedType(int begin, int endExclusive) {
-        var tokens = Arrays.copyOfRange(this.tokens, begin, endExclusive);
-        errors.add(new ExpectedTypeError(tokens, locations[begin].getPosition()));
+        failures.add(FailureLog.EXPECTED_TYPE, begin, endExclusive, null);
     }
 
-    private int getIndexOfFirstToken(int begin, int endExclusive, TokenType type, String lexeme) {
-        for (int index = begin; index < endExclusive; index++) {
-            if (tokens[index].equals(type, lexeme))
-                return index;
-        }
+    private int getIndexOfFirstToken(int begin, int endExclusive, int kind) {
+        if (begin >= endExclusive) return -1;
 
-        return -1;
+        var index = getMatches().getNextOfKind(begin, kind);
+        return index < endExclusive ? index : -1;
     }
 
     /**
@@ -1049,27 +1151,32 @@ public class Parser {
      * @return a Body Node if it can be parsed otherwise null object
      */
     public BodyNode tryParseBody(int begin, int endExclusive) {
+        if (memo == null && stats == null) return parseBody(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.BODY, ParseMemo.BODY, begin, endExclusive, this::parseBody);
+    }
+
+    private BodyNode parseBody(int begin, int endExclusive) {
         var body = new BodyNode();
         if (begin >= endExclusive) return body;
 
         var left = begin;
 
         while (left < endExclusive) {
-            if (tokens[left].getType() == TokenType.DeclarationSeparator) {
+            if (tokens.getType(left) == TokenType.DeclarationSeparator) {
                 left++;
                 continue;
             }
 
             var foundStatement = false;
 
-            for (int rightExclusive = left + 1; rightExclusive <= endExclusive; rightExclusive++) {
-                if (rightExclusive != endExclusive && tokens[rightExclusive].getType() != TokenType.DeclarationSeparator) continue;
+            for (int rightExclusive = getIndexOfNextSeparator(left + 1, endExclusive); rightExclusive <= endExclusive;
+                 rightExclusive = getIndexOfNextSeparator(rightExclusive + 1, endExclusive)) {
                 var statement = tryParseStatement(left, rightExclusive);
 
                 if (statement != null) {
                     body.statements.add(statement);
                     statement.setParent(body);
-                    errors.clear();
+                    clearErrors();
                     left = rightExclusive;
                     foundStatement = true;
                     break;
@@ -1088,12 +1195,7 @@ public class Parser {
 
 
     private void expectedStatement(int begin, int endExclusive) {
-        var position = locations[begin].getPosition();
-        var end = locations[endExclusive - 1].getPosition();
-        var lastTokenLength = tokens[endExclusive - 1].getLexeme().length();
-        end = new CodePosition(end.lineIndex, end.beginningIndex + lastTokenLength);
-
-        errors.add(new ExpectedStatementError(position, end));
+        failures.add(FailureLog.EXPECTED_STATEMENT, begin, endExclusive, null);
     }
 
     /**
@@ -1103,6 +1205,11 @@ public class Parser {
      * @return a Statement Node if it can be parsed otherwise null object
      */
     public StatementNode tryParseStatement(int begin, int endExclusive) {
+        if (memo == null && stats == null) return parseStatement(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.STATEMENT, ParseMemo.STATEMENT, begin, endExclusive, this::parseStatement);
+    }
+
+    private StatementNode parseStatement(int begin, int endExclusive) {
         var simpleDeclaration = tryParseSimpleDeclaration(begin, endExclusive);
         if (simpleDeclaration != null) return simpleDeclaration;
 
@@ -1131,10 +1238,15 @@ public class Parser {
      * @return a Assignment Node if it can be parsed otherwise null object
      */
     public AssignmentNode tryParseAssignment(int begin, int endExclusive) {
+        if (stats == null) return parseAssignment(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.ASSIGNMENT, ParseMemo.NONE, begin, endExclusive, this::parseAssignment);
+    }
+
+    private AssignmentNode parseAssignment(int begin, int endExclusive) {
         int assignmentIndex = -1;
 
         for (int index = begin + 1; index < endExclusive - 1; index++) {
-            if (tokens[index].equals(TokenType.Operator, ":=")) {
+            if (tokens.getKind(index) == TokenKind.ASSIGNMENT) {
                 assignmentIndex = index;
                 break;
             }
@@ -1164,8 +1276,7 @@ public class Parser {
 
 
     private void expectedModifiablePrimary(int begin, int endExclusive) {
-        var tokens = Arrays.copyOfRange(this.tokens, begin, endExclusive);
-        errors.add(new ExpectedModifiablePrimaryError(tokens, locations[begin].getPosition()));
+        failures.add(FailureLog.EXPECTED_MODIFIABLE_PRIMARY, begin, endExclusive, null);
     }
 
     /**
@@ -1175,16 +1286,21 @@ public class Parser {
      * @return a Routine Call Node if it can be parsed otherwise null object
      */
     public RoutineCallNode tryParseRoutineCall(int begin, int endExclusive) {
+        if (stats == null) return parseRoutineCall(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.ROUTINE_CALL, ParseMemo.NONE, begin, endExclusive, this::parseRoutineCall);
+    }
+
+    private RoutineCallNode parseRoutineCall(int begin, int endExclusive) {
         if (begin >= endExclusive - 1) return null;
 
         var name = tryParseIdentifier(begin, begin + 1);
         if (name == null) return null;
 
-        var routineCall = new RoutineCallNode(name, locations[begin].getPosition());
+        var routineCall = new RoutineCallNode(name, tokens.getPosition(begin));
         name.setParent(routineCall);
 
-        if (!tokens[begin + 1].equals(TokenType.Operator, "(")) return null;
-        if (!tokens[endExclusive - 1].equals(TokenType.Operator, ")")) {
+        if (tokens.getKind(begin + 1) != TokenKind.OPENING_PARENTHESIS) return null;
+        if (tokens.getKind(endExclusive - 1) != TokenKind.CLOSING_PARENTHESIS) {
             expectedOperator(")", endExclusive - 1);
             return null;
         }
@@ -1193,7 +1309,7 @@ public class Parser {
         endExclusive--;
 
         while (left < endExclusive) {
-            var commaIndex = getIndexOfFirstToken(left, endExclusive, TokenType.Operator, ",");
+            var commaIndex = getIndexOfFirstToken(left, endExclusive, TokenKind.COMMA);
 
             if (commaIndex == -1) {
                 var argument = tryParseExpression(left, endExclusive);
@@ -1223,10 +1339,7 @@ public class Parser {
     }
 
     private void expectedOperator(String operator, int previousTokenIndex) {
-        var position = locations[previousTokenIndex].getPosition();
-        var tokenLength = tokens[previousTokenIndex].getLexeme().length();
-        position = new CodePosition(position.lineIndex, position.beginningIndex + tokenLength);
-        errors.add(new ExpectedOperatorError(operator, position));
+        failures.add(FailureLog.EXPECTED_OPERATOR_AFTER, previousTokenIndex, previousTokenIndex + 1, operator);
     }
 
     /**
@@ -1236,22 +1349,19 @@ public class Parser {
      * @return a While Loop Node if it can be parsed otherwise null object
      */
     public WhileLoopNode tryParseWhileLoop(int begin, int endExclusive) {
+        if (stats == null) return parseWhileLoop(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.WHILE_LOOP, ParseMemo.NONE, begin, endExclusive, this::parseWhileLoop);
+    }
+
+    private WhileLoopNode parseWhileLoop(int begin, int endExclusive) {
         if (begin >= endExclusive) return null;
-        if (!tokens[begin].equals(TokenType.Keyword, "while")) return null;
-        if (!tokens[endExclusive - 1].equals(TokenType.Keyword, "end")) {
+        if (tokens.getKind(begin) != TokenKind.WHILE) return null;
+        if (tokens.getKind(endExclusive - 1) != TokenKind.END) {
             expectedKeyword("end", endExclusive - 1);
             return null;
         }
 
-        var loopTokenIndex = -1;
-
-        for (int index = begin + 1; index < endExclusive - 1; index++) {
-            if (tokens[index].equals(TokenType.Keyword, "loop"))
-            {
-                loopTokenIndex = index;
-                break;
-            }
-        }
+        var loopTokenIndex = getIndexOfFirstToken(begin + 1, endExclusive - 1, TokenKind.LOOP);
 
         if (loopTokenIndex == -1) {
             expectedKeyword("loop", begin + 1);
@@ -1267,7 +1377,7 @@ public class Parser {
         var body = tryParseBody(loopTokenIndex + 1, endExclusive - 1);
         if (body == null) return null;
 
-        var whileLoop = new WhileLoopNode(condition, body, locations[begin].getPosition());
+        var whileLoop = new WhileLoopNode(condition, body, tokens.getPosition(begin));
         condition.setParent(whileLoop);
         body.setParent(whileLoop);
 
@@ -1281,9 +1391,14 @@ public class Parser {
      * @return a For Loop Node if it can be parsed otherwise null object
      */
     public ForLoopNode tryParseForLoop(int begin, int endExclusive) {
+        if (stats == null) return parseForLoop(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.FOR_LOOP, ParseMemo.NONE, begin, endExclusive, this::parseForLoop);
+    }
+
+    private ForLoopNode parseForLoop(int begin, int endExclusive) {
         if (begin >= endExclusive) return null;
-        if (!tokens[begin].equals(TokenType.Keyword, "for")) return null;
-        if (!tokens[endExclusive - 1].equals(TokenType.Keyword, "end")) {
+        if (tokens.getKind(begin) != TokenKind.FOR) return null;
+        if (tokens.getKind(endExclusive - 1) != TokenKind.END) {
             expectedKeyword("end", endExclusive - 1);
             return null;
         }
@@ -1298,14 +1413,7 @@ public class Parser {
         }
 
         left++;
-        var loopIndex = -1;
-
-        for (int index = left; index < endExclusive; index++) {
-            if (tokens[index].equals(TokenType.Keyword, "loop")) {
-                loopIndex = index;
-                break;
-            }
-        }
+        var loopIndex = getIndexOfFirstToken(left, endExclusive, TokenKind.LOOP);
 
         if (loopIndex == -1) {
             expectedKeyword("loop", endExclusive - 1);
@@ -1321,7 +1429,7 @@ public class Parser {
         var body = tryParseBody(loopIndex + 1, endExclusive);
         if (body == null) return null;
 
-        var forLoop = new ForLoopNode(variable, range, body, locations[begin].getPosition());
+        var forLoop = new ForLoopNode(variable, range, body, tokens.getPosition(begin));
         variable.setParent(forLoop);
         range.setParent(forLoop);
         body.setParent(forLoop);
@@ -1330,19 +1438,7 @@ public class Parser {
     }
 
     private void expectedRange(int begin, int endExclusive) {
-        var tokens = Arrays.copyOfRange(this.tokens, begin, endExclusive);
-        var position = locations[begin].getPosition();
-        CodePosition end;
-
-        if (begin == endExclusive) {
-            end = position;
-        } else {
-            end = locations[endExclusive - 1].getPosition();
-            var tokenLength = this.tokens[endExclusive - 1].getLexeme().length();
-            end = new CodePosition(end.lineIndex, end.beginningIndex + tokenLength);
-        }
-
-        errors.add(new ExpectedRangeError(tokens, position, end));
+        failures.add(FailureLog.EXPECTED_RANGE, begin, endExclusive, null);
     }
 
     /**
@@ -1352,11 +1448,16 @@ public class Parser {
      * @return a Range Node if it can be parsed otherwise null object
      */
     public RangeNode tryParseRange(int begin, int endExclusive) {
+        if (stats == null) return parseRange(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.RANGE, ParseMemo.NONE, begin, endExclusive, this::parseRange);
+    }
+
+    private RangeNode parseRange(int begin, int endExclusive) {
         if (begin >= endExclusive) {
             expectedKeyword("in", begin - 1);
             return null;
         }
-        if (!tokens[begin].equals(TokenType.Keyword, "in")) {
+        if (tokens.getKind(begin) != TokenKind.IN) {
             expectedKeyword("in", begin - 1);
             return null;
         }
@@ -1366,12 +1467,12 @@ public class Parser {
 
         boolean reverse = false;
 
-        if (tokens[left].equals(TokenType.Keyword, "reverse")) {
+        if (tokens.getKind(left) == TokenKind.REVERSE) {
             reverse = true;
             left++;
         }
 
-        var dotsIndex = getIndexOfFirstToken(left, endExclusive, TokenType.Operator, "..");
+        var dotsIndex = getIndexOfFirstToken(left, endExclusive, TokenKind.RANGE);
         if (dotsIndex == -1) {
             expectedOperator("..", left);
             return null;
@@ -1389,7 +1490,7 @@ public class Parser {
             return null;
         }
 
-        var range = new RangeNode(from, to, reverse, locations[begin].getPosition());
+        var range = new RangeNode(from, to, reverse, tokens.getPosition(begin));
         from.setParent(range);
         to.setParent(range);
 
@@ -1403,10 +1504,15 @@ public class Parser {
      * @return an If Statement Node if it can be parsed otherwise null object
      */
     public IfStatementNode tryParseIfStatement(int begin, int endExclusive) {
+        if (stats == null) return parseIfStatement(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.IF_STATEMENT, ParseMemo.NONE, begin, endExclusive, this::parseIfStatement);
+    }
+
+    private IfStatementNode parseIfStatement(int begin, int endExclusive) {
         if (begin >= endExclusive) return null;
-        if (!tokens[begin].equals(TokenType.Keyword, "if")) return null;
+        if (tokens.getKind(begin) != TokenKind.IF) return null;
 
-        if (!tokens[endExclusive - 1].equals(TokenType.Keyword, "end")) {
+        if (tokens.getKind(endExclusive - 1) != TokenKind.END) {
             expectedKeyword("end", endExclusive - 1);
             return null;
         }
@@ -1414,7 +1520,7 @@ public class Parser {
         int left = begin + 1;
         endExclusive--;
 
-        var thenIndex = getIndexOfFirstToken(left, endExclusive, TokenType.Keyword, "then");
+        var thenIndex = getIndexOfFirstToken(left, endExclusive, TokenKind.THEN);
         if (thenIndex == -1) {
             expectedKeyword("then", endExclusive - 1);
             return null;
@@ -1423,28 +1529,27 @@ public class Parser {
         var condition = tryParseExpression(left, thenIndex);
         if (condition == null) return null;
 
-        for (int elseIndex = thenIndex + 1; elseIndex < endExclusive; elseIndex++) {
-            if (tokens[elseIndex].equals(TokenType.Keyword, "else")) {
-                var body = tryParseBody(thenIndex + 1, elseIndex);
-                if (body == null) continue;
+        for (int elseIndex = getIndexOfFirstToken(thenIndex + 1, endExclusive, TokenKind.ELSE); elseIndex != -1;
+             elseIndex = getIndexOfFirstToken(elseIndex + 1, endExclusive, TokenKind.ELSE)) {
+            var body = tryParseBody(thenIndex + 1, elseIndex);
+            if (body == null) continue;
 
-                var elseBody = tryParseBody(elseIndex + 1, endExclusive);
-                if (elseBody == null) continue;
+            var elseBody = tryParseBody(elseIndex + 1, endExclusive);
+            if (elseBody == null) continue;
 
-                var statement = new IfStatementNode(condition, body, elseBody, locations[begin].getPosition());
+            var statement = new IfStatementNode(condition, body, elseBody, tokens.getPosition(begin));
 
-                condition.setParent(statement);
-                body.setParent(statement);
-                elseBody.setParent(statement);
+            condition.setParent(statement);
+            body.setParent(statement);
+            elseBody.setParent(statement);
 
-                return statement;
-            }
+            return statement;
         }
 
         var body = tryParseBody(thenIndex + 1, endExclusive);
         if (body == null) return null;
 
-        var statement = new IfStatementNode(condition, body, null, locations[begin].getPosition());
+        var statement = new IfStatementNode(condition, body, null, tokens.getPosition(begin));
 
         condition.setParent(statement);
         body.setParent(statement);
@@ -1459,15 +1564,20 @@ public class Parser {
      * @return a Return Statement Node if it can be parsed otherwise null object
      */
     public ReturnStatementNode tryParseReturn(int begin, int endExclusive) {
+        if (stats == null) return parseReturn(begin, endExclusive);
+        return tracked(ParserStats.Nonterminal.RETURN, ParseMemo.NONE, begin, endExclusive, this::parseReturn);
+    }
+
+    private ReturnStatementNode parseReturn(int begin, int endExclusive) {
         if (begin >= endExclusive) return null;
-        if (!tokens[begin].equals(TokenType.Keyword, "return")) return null;
+        if (tokens.getKind(begin) != TokenKind.RETURN) return null;
 
-        if (begin == endExclusive - 1) return new ReturnStatementNode(locations[begin].getPosition());
+        if (begin == endExclusive - 1) return new ReturnStatementNode(tokens.getPosition(begin));
 
         var expression = tryParseExpression(begin + 1, endExclusive);
         if (expression == null) return null;
 
-        var returnStatement = new ReturnStatementNode(expression, locations[begin].getPosition());
+        var returnStatement = new ReturnStatementNode(expression, tokens.getPosition(begin));
         expression.setParent(returnStatement);
 
         return returnStatement;
@@ -1479,8 +1589,45 @@ public class Parser {
      * @param locations is a list of lexemes with their locations in source code
      */
     public Parser(Token[] tokens, StringWithLocation[] locations) {
+        this(TokenBuffer.of(tokens, locations));
+    }
+
+    /**
+     * A constructor for initializing objects of class Parser
+     * @param tokens is a buffer of tokens with their locations in source code that will be used for parsing
+     */
+    public Parser(TokenBuffer tokens) {
+        this(tokens, false);
+    }
+
+    /**
+     * A constructor for initializing objects of class Parser
+     * @param tokens is a buffer of tokens with their locations in source code that will be used for parsing
+     * @param memoize is whether the backtracking parser remembers the result of parsing every range of tokens
+     *                as declarations, types, expressions and their parts, bodies and statements, and reuses it
+     *                instead of parsing the range again. Only the methods that parse a range of tokens use it,
+     *                {@link #tryParseProgram()} parses every token once in the predictive parser and does not need it
+     */
+    public Parser(TokenBuffer tokens, boolean memoize) {
+        this(tokens, memoize, false);
+    }
+
+    /**
+     * A constructor for initializing objects of class Parser
+     * @param tokens is a buffer of tokens with their locations in source code that will be used for parsing
+     * @param memoize is whether the backtracking parser remembers the result of parsing every range of tokens
+     *                as declarations, types, expressions and their parts, bodies and statements, and reuses it
+     *                instead of parsing the range again. Only the methods that parse a range of tokens use it,
+     *                {@link #tryParseProgram()} parses every token once in the predictive parser and does not need it
+     * @param lazyBodies is whether routine declarations keep only the range of tokens of their bodies
+     *                   if brackets and blocks match. Such a body is parsed the first time its statements are used,
+     *                   and if it has syntax errors, its statements are empty, the program does not validate,
+     *                   and {@link #tryParseBodies} reports them
+     */
+    public Parser(TokenBuffer tokens, boolean memoize, boolean lazyBodies) {
         this.tokens = tokens;
-        this.locations = locations;
+        this.memo = memoize ? new ParseMemo() : null;
+        this.lazyBodies = lazyBodies;
     }
 
     /**
@@ -1488,18 +1635,119 @@ public class Parser {
      * @return size of tokes list
      */
     public int getTokensCount() {
-        return tokens.length;
+        return tokens.size();
     }
 
     public int getErrorCount() {
-        return errors.size();
+        return failures.size();
     }
 
+    /**
+     * Returns the syntax errors found by the last parsing, which are built from the recorded failures on every call
+     * @return list of errors
+     */
     public List<ParsingError> getErrors() {
-        return Collections.unmodifiableList(errors);
+        return Collections.unmodifiableList(failures.toErrors(tokens));
+    }
+
+    /**
+     * Sets the collector of statistics of parsing, which makes the parser count its attempts to parse ranges of tokens
+     * as each nonterminal and measure the time spent on every top-level declaration
+     * @param stats is a collector or null to stop collecting statistics
+     */
+    public void setStats(ParserStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Returns the collector of statistics of parsing
+     * @return the collector or null if the parser does not collect statistics
+     */
+    public ParserStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Returns the number of times a range of tokens was not parsed again because its result was remembered
+     * @return number of memo hits or 0 if the parser does not memoize
+     */
+    public long getMemoHitCount() {
+        return memo == null ? 0 : memo.getHitCount();
+    }
+
+    /**
+     * Returns the number of times a range of tokens was parsed and its result was remembered
+     * @return number of memo misses or 0 if the parser does not memoize
+     */
+    public long getMemoMissCount() {
+        return memo == null ? 0 : memo.getMissCount();
+    }
+
+    private void clearErrors() {
+        failures.clear();
+        clearedErrorsCount++;
+    }
+
+    /**
+     * Parse a range as a nonterminal, reusing the remembered result if the parser memoizes the nonterminal,
+     * and count the attempt if the parser collects statistics.
+     * Subtrees reused from the memo may have been attached to other nodes by attempts that failed,
+     * so the parents in the result of the outermost memoizing parse are set once when it returns.
+     */
+    private <T extends ASTNode> T tracked(ParserStats.Nonterminal nonterminal, int memoNonterminal,
+                                          int begin, int endExclusive, RangeParser<T> parser) {
+        T node;
+        trackedDepth++;
+
+        try {
+            node = memo != null && memoNonterminal != ParseMemo.NONE
+                    ? memoized(memoNonterminal, begin, endExclusive, parser)
+                    : parser.parse(begin, endExclusive);
+        } finally {
+            trackedDepth--;
+        }
+
+        if (memo != null && trackedDepth == 0 && node != null)
+            ParentLinker.link(node);
+
+        if (stats != null)
+            stats.count(nonterminal, endExclusive - begin, node != null);
+
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends ASTNode> T memoized(int nonterminal, int begin, int endExclusive, RangeParser<T> parser) {
+        var entry = memo.get(nonterminal, begin, endExclusive);
+
+        if (entry != null) {
+            if (entry.clearsErrors)
+                clearErrors();
+
+            failures.addAll(entry.errors);
+            return (T) entry.node;
+        }
+
+        var previousClearedErrorsCount = clearedErrorsCount;
+        var previousSequence = failures.getSequence();
+        var node = parser.parse(begin, endExclusive);
+        var clearsErrors = clearedErrorsCount != previousClearedErrorsCount;
+        var addedErrors = failures.copySince(previousSequence);
+
+        memo.put(nonterminal, begin, endExclusive, new ParseMemo.Entry(node, clearsErrors, addedErrors));
+        return node;
+    }
+
+    private interface RangeParser<T extends ASTNode> {
+        T parse(int begin, int endExclusive);
     }
 
-    private final Token[] tokens;
-    private final StringWithLocation[] locations;
-    private final List<ParsingError> errors = new ArrayList<>();
+    private final TokenBuffer tokens;
+    private final FailureLog failures = new FailureLog();
+    private MatchTable matches;
+    private final ParseMemo memo;
+    private final boolean lazyBodies;
+    private int clearedErrorsCount = 0;
+    private int trackedDepth = 0;
+    private ParserStats stats;
 }
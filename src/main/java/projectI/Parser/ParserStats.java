@@ -0,0 +1,188 @@
+package projectI.Parser;
+
+import projectI.CodePosition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Collects the number of times the parsers tried to parse tokens as each nonterminal,
+ * how many of the attempts succeeded and how many tokens the attempts spanned,
+ * and the time the predictive parser spent on every top-level declaration.
+ * The backtracking parser counts every range it tries, the predictive parser counts every production it parses.
+ * A parser collects the statistics only if a collector is set with {@link Parser#setStats(ParserStats)}.
+ * The collector is not thread-safe.
+ */
+public final class ParserStats {
+    /**
+     * Nonterminals the backtracking parser has a method to parse a range of tokens as.
+     * The predictive parser counts only declarations, types, bodies, statements and the levels of expressions.
+     */
+    public enum Nonterminal {
+        SIMPLE_DECLARATION,
+        VARIABLE_DECLARATION,
+        TYPE_DECLARATION,
+        ROUTINE_DECLARATION,
+        PARAMETERS,
+        TYPE,
+        PRIMITIVE_TYPE,
+        ARRAY_TYPE,
+        RECORD_TYPE,
+        IDENTIFIER,
+        BODY,
+        STATEMENT,
+        ASSIGNMENT,
+        ROUTINE_CALL,
+        WHILE_LOOP,
+        FOR_LOOP,
+        RANGE,
+        IF_STATEMENT,
+        RETURN,
+        EXPRESSION,
+        RELATION,
+        SIMPLE,
+        SUMMAND,
+        FACTOR,
+        PRIMARY,
+        INTEGRAL_LITERAL,
+        REAL_LITERAL,
+        BOOLEAN_LITERAL,
+        MODIFIABLE_PRIMARY
+    }
+
+    /**
+     * Time spent on one top-level declaration.
+     */
+    public static final class DeclarationTime {
+        DeclarationTime(CodePosition position, int tokensCount, long nanoseconds, boolean parsed) {
+            this.position = position;
+            this.tokensCount = tokensCount;
+            this.nanoseconds = nanoseconds;
+            this.parsed = parsed;
+        }
+
+        /**
+         * Position of the first token of the declaration.
+         */
+        public final CodePosition position;
+
+        /**
+         * Number of tokens of the declaration, or of the rest of the program if it was not parsed.
+         */
+        public final int tokensCount;
+
+        /**
+         * Wall time spent on the declaration.
+         */
+        public final long nanoseconds;
+
+        /**
+         * Whether the declaration was parsed or the parser gave up on it.
+         */
+        public final boolean parsed;
+    }
+
+    void count(Nonterminal nonterminal, int tokensCount, boolean success) {
+        var index = nonterminal.ordinal();
+        invocations[index]++;
+        tokens[index] += tokensCount;
+
+        if (success)
+            successes[index]++;
+    }
+
+    void addDeclaration(CodePosition position, int tokensCount, long nanoseconds, boolean parsed) {
+        declarations.add(new DeclarationTime(position, tokensCount, nanoseconds, parsed));
+    }
+
+    /**
+     * Get the number of attempts to parse a range of tokens as a nonterminal.
+     * @param nonterminal the nonterminal
+     * @return number of attempts
+     */
+    public long getInvocations(Nonterminal nonterminal) {
+        return invocations[nonterminal.ordinal()];
+    }
+
+    /**
+     * Get the number of attempts to parse a range of tokens as a nonterminal that succeeded.
+     * @param nonterminal the nonterminal
+     * @return number of successful attempts
+     */
+    public long getSuccesses(Nonterminal nonterminal) {
+        return successes[nonterminal.ordinal()];
+    }
+
+    /**
+     * Get the number of attempts to parse a range of tokens as a nonterminal that failed.
+     * @param nonterminal the nonterminal
+     * @return number of failed attempts
+     */
+    public long getFailures(Nonterminal nonterminal) {
+        return getInvocations(nonterminal) - getSuccesses(nonterminal);
+    }
+
+    /**
+     * Get the total number of tokens in the ranges that were parsed as a nonterminal.
+     * @param nonterminal the nonterminal
+     * @return number of tokens
+     */
+    public long getTokens(Nonterminal nonterminal) {
+        return tokens[nonterminal.ordinal()];
+    }
+
+    /**
+     * Get the time spent on the top-level declarations in the order they were parsed.
+     * If the parser gives up on a declaration, it is the last one in the list.
+     * @return declaration times
+     */
+    public List<DeclarationTime> getDeclarationTimes() {
+        return Collections.unmodifiableList(declarations);
+    }
+
+    /**
+     * Format the statistics as a table of the nonterminals that were tried, followed by the total time
+     * of the declarations and the slowest of them.
+     * @return summary
+     */
+    public String getSummary() {
+        var summary = new StringBuilder();
+        summary.append(String.format("%-22s %12s %12s %12s %14s%n", "Nonterminal", "Attempts", "Successes", "Failures", "Tokens"));
+
+        for (var nonterminal : Nonterminal.values()) {
+            if (getInvocations(nonterminal) == 0) continue;
+
+            summary.append(String.format("%-22s %12d %12d %12d %14d%n", nonterminal, getInvocations(nonterminal),
+                    getSuccesses(nonterminal), getFailures(nonterminal), getTokens(nonterminal)));
+        }
+
+        var nanoseconds = 0L;
+
+        for (var declaration : declarations)
+            nanoseconds += declaration.nanoseconds;
+
+        summary.append(String.format("Declarations: %d in %.3f ms%n", declarations.size(), nanoseconds / 1e6));
+
+        var slowest = new ArrayList<>(declarations);
+        slowest.sort(Comparator.comparingLong((DeclarationTime declaration) -> declaration.nanoseconds).reversed());
+
+        if (!slowest.isEmpty())
+            summary.append("Slowest declarations:").append(System.lineSeparator());
+
+        for (var declaration : slowest.subList(0, Math.min(SLOWEST_DECLARATIONS_COUNT, slowest.size()))) {
+            summary.append(String.format("  %-14s %8d tokens %12.3f ms%s%n", declaration.position, declaration.tokensCount,
+                    declaration.nanoseconds / 1e6, declaration.parsed ? "" : "  failed"));
+        }
+
+        return summary.toString();
+    }
+
+    private static final int SLOWEST_DECLARATIONS_COUNT = 10;
+
+    private final long[] invocations = new long[Nonterminal.values().length];
+    private final long[] successes = new long[Nonterminal.values().length];
+    private final long[] tokens = new long[Nonterminal.values().length];
+    private final List<DeclarationTime> declarations = new ArrayList<>();
+}
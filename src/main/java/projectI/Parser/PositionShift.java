@@ -0,0 +1,141 @@
+package projectI.Parser;
+
+import projectI.AST.ASTNode;
+import projectI.AST.Declarations.*;
+import projectI.AST.Expressions.BinaryRelationNode;
+import projectI.AST.Expressions.ExpressionNode;
+import projectI.AST.Expressions.NegatedRelationNode;
+import projectI.AST.Expressions.SimpleNode;
+import projectI.AST.Expressions.SummandNode;
+import projectI.AST.Flow.ForLoopNode;
+import projectI.AST.Flow.IfStatementNode;
+import projectI.AST.Flow.RangeNode;
+import projectI.AST.Flow.WhileLoopNode;
+import projectI.AST.Primary.BooleanLiteralNode;
+import projectI.AST.Primary.IntegralLiteralNode;
+import projectI.AST.Primary.ModifiablePrimaryNode;
+import projectI.AST.Primary.RealLiteralNode;
+import projectI.AST.Statements.ReturnStatementNode;
+import projectI.AST.Statements.RoutineCallNode;
+import projectI.CodePosition;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Moves the positions of the nodes after a change of the source code that moved their tokens,
+ * so the nodes can be kept instead of being parsed again.
+ * The positions on the line the change ends on move by the change of the column and of the line of the token after it,
+ * the positions on the following lines move by the change of the line only.
+ * The statements of a body that are parsed when they are needed are moved after they are parsed.
+ */
+final class PositionShift {
+    /**
+     * Create a shift of the positions of the tokens after a change.
+     * @param previousPosition position of the first token after the change before the change
+     * @param position position of the same token after the change
+     */
+    PositionShift(CodePosition previousPosition, CodePosition position) {
+        this.line = previousPosition.lineIndex;
+        this.lineDelta = position.lineIndex - previousPosition.lineIndex;
+        this.columnDelta = position.beginningIndex - previousPosition.beginningIndex;
+    }
+
+    /**
+     * Check whether the shift moves any position.
+     * @return true if the positions stay the same, false otherwise
+     */
+    boolean isEmpty() {
+        return lineDelta == 0 && columnDelta == 0;
+    }
+
+    /**
+     * Move the positions of a node and of all its descendants.
+     * @param node root of the subtree
+     */
+    void apply(ASTNode node) {
+        // A position object may be shared by several nodes, but it must be moved once
+        Set<CodePosition> moved = Collections.newSetFromMap(new IdentityHashMap<>());
+        var pending = new ArrayDeque<ASTNode>();
+        pending.push(node);
+
+        while (!pending.isEmpty()) {
+            var current = pending.pop();
+            movePositions(current, moved);
+
+            if (current instanceof BodyNode) {
+                var statements = ((BodyNode) current).statements;
+
+                if (statements instanceof LazyStatementList && ((LazyStatementList) statements).deferShift(this))
+                    continue;
+            }
+
+            ParentLinker.forEachChild(current, pending::push);
+        }
+    }
+
+    private void movePositions(ASTNode node, Set<CodePosition> moved) {
+        if (node instanceof VariableDeclarationNode) {
+            move(((VariableDeclarationNode) node).startPosition, moved);
+        } else if (node instanceof TypeDeclarationNode) {
+            move(((TypeDeclarationNode) node).startPosition, moved);
+        } else if (node instanceof RoutineDeclarationNode) {
+            move(((RoutineDeclarationNode) node).startPosition, moved);
+        } else if (node instanceof ParametersNode) {
+            move(((ParametersNode) node).startPosition, moved);
+        } else if (node instanceof ArrayTypeNode) {
+            move(((ArrayTypeNode) node).startPosition, moved);
+        } else if (node instanceof RecordTypeNode) {
+            move(((RecordTypeNode) node).startPosition, moved);
+        } else if (node instanceof PrimitiveTypeNode) {
+            move(((PrimitiveTypeNode) node).position, moved);
+        } else if (node instanceof IdentifierNode) {
+            move(((IdentifierNode) node).position, moved);
+        } else if (node instanceof ExpressionNode) {
+            for (var relation : ((ExpressionNode) node).otherRelations)
+                move(relation.operatorPosition, moved);
+        } else if (node instanceof BinaryRelationNode) {
+            move(((BinaryRelationNode) node).comparisonPosition, moved);
+        } else if (node instanceof NegatedRelationNode) {
+            move(((NegatedRelationNode) node).startPosition, moved);
+        } else if (node instanceof SimpleNode) {
+            for (var summand : ((SimpleNode) node).otherSummands)
+                move(summand.operatorPosition, moved);
+        } else if (node instanceof SummandNode) {
+            for (var factor : ((SummandNode) node).otherFactors)
+                move(factor.operatorPosition, moved);
+        } else if (node instanceof ModifiablePrimaryNode) {
+            move(((ModifiablePrimaryNode) node).startPosition, moved);
+        } else if (node instanceof IntegralLiteralNode) {
+            move(((IntegralLiteralNode) node).valuePosition, moved);
+        } else if (node instanceof RealLiteralNode) {
+            move(((RealLiteralNode) node).valuePosition, moved);
+        } else if (node instanceof BooleanLiteralNode) {
+            move(((BooleanLiteralNode) node).position, moved);
+        } else if (node instanceof RoutineCallNode) {
+            move(((RoutineCallNode) node).startPosition, moved);
+        } else if (node instanceof ReturnStatementNode) {
+            move(((ReturnStatementNode) node).startPosition, moved);
+        } else if (node instanceof WhileLoopNode) {
+            move(((WhileLoopNode) node).startPosition, moved);
+        } else if (node instanceof ForLoopNode) {
+            move(((ForLoopNode) node).startPosition, moved);
+        } else if (node instanceof RangeNode) {
+            move(((RangeNode) node).startPosition, moved);
+        } else if (node instanceof IfStatementNode) {
+            move(((IfStatementNode) node).startPosition, moved);
+        }
+    }
+
+    private void move(CodePosition position, Set<CodePosition> moved) {
+        if (position == null || !moved.add(position)) return;
+
+        position.move(lineDelta, position.lineIndex == line ? columnDelta : 0);
+    }
+
+    private final int line;
+    private final int lineDelta;
+    private final int columnDelta;
+}
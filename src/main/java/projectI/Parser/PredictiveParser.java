@@ -0,0 +1,1350 @@
+package projectI.Parser;
+
+import org.javatuples.Pair;
+import projectI.AST.ASTNode;
+import projectI.AST.ProgramNode;
+import projectI.AST.Declarations.*;
+import projectI.AST.Expressions.*;
+import projectI.AST.Flow.ForLoopNode;
+import projectI.AST.Flow.IfStatementNode;
+import projectI.AST.Flow.RangeNode;
+import projectI.AST.Flow.WhileLoopNode;
+import projectI.AST.Primary.*;
+import projectI.AST.Statements.AssignmentNode;
+import projectI.AST.Statements.ReturnStatementNode;
+import projectI.AST.Statements.RoutineCallNode;
+import projectI.AST.Statements.StatementNode;
+import projectI.CodePosition;
+import projectI.Lexer.TokenBuffer;
+import projectI.Lexer.TokenKind;
+import projectI.Lexer.TokenType;
+
+import java.util.ArrayList;
+
+/**
+ * A recursive descent parser that reads tokens from left to right with a cursor and chooses
+ * what to parse by looking at most two tokens ahead, so it runs in time linear in the number of tokens.
+ * It builds the same trees as the backtracking {@link Parser} for the programs that parser accepts.
+ * On the first syntax error it gives up and records what it expected at that token, with the statement containing it,
+ * in a {@link FailureLog}.
+ */
+final class PredictiveParser {
+    /**
+     * Create a parser of a program.
+     * @param tokens tokens of the program
+     */
+    PredictiveParser(TokenBuffer tokens) {
+        this(tokens, 0, tokens.size());
+    }
+
+    /**
+     * Create a parser of a range of tokens.
+     * @param tokens tokens of the program
+     * @param begin index of the first token to parse
+     * @param endExclusive index after the last token to parse
+     */
+    PredictiveParser(TokenBuffer tokens, int begin, int endExclusive) {
+        this(tokens, begin, endExclusive, null);
+    }
+
+    /**
+     * Create a parser of a range of tokens that can leave routine bodies to be parsed when they are needed.
+     * @param tokens tokens of the program
+     * @param begin index of the first token to parse
+     * @param endExclusive index after the last token to parse
+     * @param lazyBodies balanced match table of the tokens to find the ends of routines in,
+     *                   or null to parse routine bodies with their declarations
+     */
+    PredictiveParser(TokenBuffer tokens, int begin, int endExclusive, MatchTable lazyBodies) {
+        this(tokens, begin, endExclusive, lazyBodies, null);
+    }
+
+    /**
+     * Create a parser of a range of tokens that measures the time spent on every top-level declaration
+     * and counts the nonterminals it parses.
+     * @param tokens tokens of the program
+     * @param begin index of the first token to parse
+     * @param endExclusive index after the last token to parse
+     * @param lazyBodies balanced match table of the tokens to find the ends of routines in,
+     *                   or null to parse routine bodies with their declarations
+     * @param stats collector of the times of declarations and the counts of nonterminals or null
+     */
+    PredictiveParser(TokenBuffer tokens, int begin, int endExclusive, MatchTable lazyBodies, ParserStats stats) {
+        this(tokens, begin, endExclusive, lazyBodies, stats, null);
+    }
+
+    /**
+     * Create a parser of a range of tokens that reports its syntax errors.
+     * @param tokens tokens of the program
+     * @param begin index of the first token to parse
+     * @param endExclusive index after the last token to parse
+     * @param lazyBodies balanced match table of the tokens to find the ends of routines in,
+     *                   or null to parse routine bodies with their declarations
+     * @param stats collector of the times of declarations and the counts of nonterminals or null
+     * @param failures log to record the syntax error in or null
+     */
+    PredictiveParser(TokenBuffer tokens, int begin, int endExclusive, MatchTable lazyBodies, ParserStats stats,
+                     FailureLog failures) {
+        this.tokens = tokens;
+        this.cursor = begin;
+        this.endExclusive = endExclusive;
+        this.lazyBodies = lazyBodies;
+        this.stats = stats;
+        this.failures = failures;
+    }
+
+    /**
+     * Parse the program
+     * @return a program node if it can be parsed otherwise null object
+     */
+    ProgramNode tryParseProgram() {
+        var program = new ProgramNode();
+
+        while (true) {
+            skipSeparators();
+            if (cursor == endExclusive) return program;
+
+            var declarationBegin = cursor;
+            var startTime = stats != null ? System.nanoTime() : 0;
+            var declaration = tryParseDeclaration();
+            var parsed = declaration != null && (cursor == endExclusive || isSeparator(cursor));
+
+            if (stats != null) {
+                stats.addDeclaration(tokens.getPosition(declarationBegin), (parsed ? cursor : endExclusive) - declarationBegin,
+                        System.nanoTime() - startTime, parsed);
+            }
+
+            if (!parsed) {
+                // Like the backtracking parser, report the whole declaration only if nothing more specific is expected
+                if (!failed)
+                    record(FailureLog.EXPECTED_DECLARATION, declarationBegin, endExclusive, null);
+
+                return null;
+            }
+
+            program.declarations.add(declaration);
+            declaration.setParent(program);
+        }
+    }
+
+    private DeclarationNode tryParseDeclaration() {
+        var begin = cursor;
+
+        return switch (kind(cursor)) {
+            case TokenKind.VAR -> counted(ParserStats.Nonterminal.VARIABLE_DECLARATION, begin, tryParseVariableDeclaration());
+            case TokenKind.TYPE -> counted(ParserStats.Nonterminal.TYPE_DECLARATION, begin, tryParseTypeDeclaration());
+            case TokenKind.ROUTINE -> counted(ParserStats.Nonterminal.ROUTINE_DECLARATION, begin, tryParseRoutineDeclaration());
+            default -> null;
+        };
+    }
+
+    /**
+     * Count an attempt to parse the tokens from the given index up to the cursor as a nonterminal,
+     * if the statistics are collected.
+     * @return the parsed node or null object if it cannot be parsed
+     */
+    private <T> T counted(ParserStats.Nonterminal nonterminal, int begin, T node) {
+        if (stats != null) stats.count(nonterminal, cursor - begin, node != null);
+        return node;
+    }
+
+    private VariableDeclarationNode tryParseVariableDeclaration() {
+        var position = tokens.getPosition(cursor++);
+
+        var identifier = expectIdentifier();
+        if (identifier == null) return null;
+
+        var separator = tryParseTypeSeparator();
+        if (separator == FAILED) return null;
+
+        TypeNode type = null;
+
+        if (separator == TYPE_OPENED) {
+            type = tryParseType();
+            if (type == null) return null;
+        }
+
+        return finishVariableDeclaration(position, identifier, type);
+    }
+
+    /**
+     * Parse the colon before the type of a variable, or check that 'is' follows the name of a variable without a type.
+     * @return TYPE_OPENED if the type is expected at the cursor, COMPLETE if the variable has no type,
+     *         FAILED if neither follows the name
+     */
+    private int tryParseTypeSeparator() {
+        if (accept(TokenKind.COLON)) return TYPE_OPENED;
+        if (kind(cursor) == TokenKind.IS) return COMPLETE;
+
+        record(FailureLog.EXPECTED_OPERATOR_AFTER, cursor - 1, cursor, ":");
+        expectedKeyword("is");
+        return FAILED;
+    }
+
+    /**
+     * Parse the expression of a variable declaration if there is one after its type.
+     */
+    private VariableDeclarationNode finishVariableDeclaration(CodePosition position, IdentifierNode identifier, TypeNode type) {
+        ExpressionNode expression = null;
+
+        if (accept(TokenKind.IS)) {
+            expression = tryParseExpression();
+            if (expression == null) return null;
+        }
+
+        var variable = new VariableDeclarationNode(identifier, type, expression, position);
+        identifier.setParent(variable);
+        if (type != null)
+            type.setParent(variable);
+        if (expression != null)
+            expression.setParent(variable);
+
+        return variable;
+    }
+
+    private TypeDeclarationNode tryParseTypeDeclaration() {
+        var position = tokens.getPosition(cursor++);
+
+        var identifier = expectIdentifier();
+        if (identifier == null) return null;
+        if (!accept(TokenKind.IS)) return expectedKeyword("is");
+
+        var type = tryParseType();
+        if (type == null) return null;
+
+        var declaration = new TypeDeclarationNode(identifier, type, position);
+        identifier.setParent(declaration);
+        type.setParent(declaration);
+
+        return declaration;
+    }
+
+    private RoutineDeclarationNode tryParseRoutineDeclaration() {
+        var routineIndex = cursor;
+        var startPosition = tokens.getPosition(cursor++);
+
+        var identifier = expectIdentifier();
+        if (identifier == null) return null;
+        if (!accept(TokenKind.OPENING_PARENTHESIS)) return expectedOperator("(");
+
+        var parameters = tryParseParameters();
+        if (parameters == null) return null;
+
+        TypeNode returnType = null;
+
+        if (accept(TokenKind.COLON)) {
+            var returnTypeBegin = cursor;
+            returnType = tryParseType();
+            if (returnType == null) return null;
+
+            // The backtracking parser ends the return type at the first 'is', so it cannot contain one
+            if (containsKind(returnTypeBegin, cursor, TokenKind.IS)) return expected(FailureLog.EXPECTED_TYPE, returnTypeBegin);
+        }
+
+        if (!accept(TokenKind.IS)) return expectedKeyword("is");
+
+        BodyNode body;
+
+        if (lazyBodies != null) {
+            var endIndex = lazyBodies.getMatchIndex(routineIndex);
+            if (endIndex < cursor || endIndex >= endExclusive) return expectedKeyword("end");
+
+            body = LazyStatementList.createBody(tokens, cursor, endIndex);
+            cursor = endIndex;
+        } else {
+            body = tryParseBody(false);
+            if (body == null) return null;
+        }
+
+        if (!accept(TokenKind.END)) return expectedKeyword("end");
+
+        var routine = returnType == null
+                ? new RoutineDeclarationNode(identifier, parameters, body, startPosition)
+                : new RoutineDeclarationNode(identifier, parameters, returnType, body, startPosition);
+        body.setParent(routine);
+        identifier.setParent(routine);
+        parameters.setParent(routine);
+        if (returnType != null)
+            returnType.setParent(routine);
+
+        return routine;
+    }
+
+    private ParametersNode tryParseParameters() {
+        var parameters = new ParametersNode(cursor < endExclusive ? tokens.getPosition(cursor) : null);
+        if (accept(TokenKind.CLOSING_PARENTHESIS)) return parameters;
+
+        while (true) {
+            var identifier = expectIdentifier();
+            if (identifier == null) return null;
+            if (!accept(TokenKind.COLON)) return expectedOperator(":");
+
+            // The backtracking parser splits parameters at every comma, so a type cannot contain one
+            var commasCount = this.commasCount;
+            var typeBegin = cursor;
+            var type = tryParseType();
+            if (type == null) return null;
+            if (commasCount != this.commasCount) return expected(FailureLog.EXPECTED_TYPE, typeBegin);
+
+            parameters.parameters.add(new Pair<>(identifier, type));
+
+            identifier.setParent(parameters);
+            type.setParent(parameters);
+
+            if (accept(TokenKind.CLOSING_PARENTHESIS)) return parameters;
+            if (!acceptComma()) return expectedOperators(")", ",");
+        }
+    }
+
+    /**
+     * Parse a type. The element types of arrays and the types of the variables of records are parsed in frames
+     * kept on a stack instead of by recursion, so the depth of nesting is not limited by the size of the call stack.
+     */
+    private TypeNode tryParseType() {
+        var begin = cursor;
+        return counted(ParserStats.Nonterminal.TYPE, begin, tryParseNestedTypes());
+    }
+
+    private TypeNode tryParseNestedTypes() {
+        var frames = new ArrayList<TypeFrame>();
+
+        while (true) {
+            var position = cursor < endExclusive ? tokens.getPosition(cursor) : null;
+            TypeNode type;
+
+            switch (kind(cursor)) {
+                case TokenKind.RECORD -> {
+                    cursor++;
+                    var frame = new TypeFrame(new RecordTypeNode(position));
+
+                    var variables = tryParseRecordVariables(frame);
+                    if (variables == FAILED) return null;
+
+                    if (variables == TYPE_OPENED) {
+                        frames.add(frame);
+                        continue;
+                    }
+
+                    type = frame.record;
+                }
+                case TokenKind.ARRAY -> {
+                    var frame = tryParseArrayHeader();
+                    if (frame == null) return null;
+
+                    frames.add(frame);
+                    continue;
+                }
+                case TokenKind.INTEGER -> { cursor++; type = new PrimitiveTypeNode(PrimitiveType.INTEGER, position); }
+                case TokenKind.REAL -> { cursor++; type = new PrimitiveTypeNode(PrimitiveType.REAL, position); }
+                case TokenKind.BOOLEAN -> { cursor++; type = new PrimitiveTypeNode(PrimitiveType.BOOLEAN, position); }
+                case TokenKind.IDENTIFIER -> type = tryParseIdentifier();
+                default -> {
+                    return expected(FailureLog.EXPECTED_TYPE, cursor);
+                }
+            }
+
+            while (true) {
+                if (frames.isEmpty()) return type;
+                var frame = frames.get(frames.size() - 1);
+
+                if (frame.record == null) {
+                    var array = new ArrayTypeNode(frame.size, type, frame.position);
+                    type.setParent(array);
+                    if (frame.size != null)
+                        frame.size.setParent(array);
+
+                    type = array;
+                } else {
+                    var variable = finishVariableDeclaration(frame.variablePosition, frame.variableIdentifier, type);
+                    if (variable == null) return null;
+                    if (!addRecordVariable(frame.record, variable)) return null;
+
+                    var variables = tryParseRecordVariables(frame);
+                    if (variables == FAILED) return null;
+                    if (variables == TYPE_OPENED) break;
+
+                    type = frame.record;
+                }
+
+                frames.remove(frames.size() - 1);
+            }
+        }
+    }
+
+    /**
+     * An array whose element type is being parsed, or a record whose variable's type is being parsed.
+     */
+    private static final class TypeFrame {
+        TypeFrame(CodePosition position, ExpressionNode size) {
+            this.position = position;
+            this.size = size;
+            this.record = null;
+        }
+
+        TypeFrame(RecordTypeNode record) {
+            this.position = null;
+            this.size = null;
+            this.record = record;
+        }
+
+        final CodePosition position;
+        final ExpressionNode size;
+        final RecordTypeNode record;
+
+        CodePosition variablePosition;
+        IdentifierNode variableIdentifier;
+    }
+
+    /**
+     * Parse the beginning of an array type up to its element type.
+     * @return a frame to parse the element type in if the beginning can be parsed otherwise null object
+     */
+    private TypeFrame tryParseArrayHeader() {
+        var position = tokens.getPosition(cursor++);
+        if (!accept(TokenKind.OPENING_BRACKET)) return expectedOperator("[");
+
+        ExpressionNode size = null;
+
+        if (!accept(TokenKind.CLOSING_BRACKET)) {
+            size = tryParseExpression();
+            if (size == null) return null;
+            if (!accept(TokenKind.CLOSING_BRACKET)) return expectedOperator("]");
+        }
+
+        return new TypeFrame(position, size);
+    }
+
+    /**
+     * Parse the variables of a record up to its 'end' or up to the type of a variable,
+     * whose position and name are kept in the frame.
+     * @return COMPLETE if the record is parsed, TYPE_OPENED if the type of a variable is expected at the cursor,
+     *         FAILED if a variable cannot be parsed
+     */
+    private int tryParseRecordVariables(TypeFrame frame) {
+        while (true) {
+            skipSeparators();
+            if (accept(TokenKind.END)) return COMPLETE;
+
+            if (cursor == endExclusive) {
+                expectedKeyword("end");
+                return FAILED;
+            }
+
+            if (kind(cursor) != TokenKind.VAR) {
+                expected(FailureLog.EXPECTED_VARIABLE_DECLARATION, cursor);
+                return FAILED;
+            }
+
+            var position = tokens.getPosition(cursor++);
+            var identifier = expectIdentifier();
+            if (identifier == null) return FAILED;
+
+            var separator = tryParseTypeSeparator();
+            if (separator == FAILED) return FAILED;
+
+            if (separator == TYPE_OPENED) {
+                frame.variablePosition = position;
+                frame.variableIdentifier = identifier;
+                return TYPE_OPENED;
+            }
+
+            var variable = finishVariableDeclaration(position, identifier, null);
+            if (variable == null || !addRecordVariable(frame.record, variable)) return FAILED;
+        }
+    }
+
+    /**
+     * Add a parsed variable to a record and check that a separator or the 'end' of the record follows it.
+     */
+    private boolean addRecordVariable(RecordTypeNode record, VariableDeclarationNode variable) {
+        record.variables.add(variable);
+        variable.setParent(record);
+
+        if (isSeparator(cursor) || kind(cursor) == TokenKind.END) return true;
+
+        expectedKeyword("end");
+        return false;
+    }
+
+    private IdentifierNode tryParseIdentifier() {
+        if (kind(cursor) != TokenKind.IDENTIFIER) return null;
+
+        var identifier = new IdentifierNode(tokens.getLexeme(cursor), tokens.getPosition(cursor));
+        cursor++;
+
+        return identifier;
+    }
+
+    /**
+     * Parse statements up to the 'end' keyword, or up to 'else' if it is allowed, without consuming it.
+     * The bodies of nested loops and if statements are parsed in frames kept on a stack instead of by recursion,
+     * so the depth of nesting is not limited by the size of the call stack.
+     */
+    private BodyNode tryParseBody(boolean elseAllowed) {
+        var begin = cursor;
+        return counted(ParserStats.Nonterminal.BODY, begin, tryParseNestedBlocks(elseAllowed));
+    }
+
+    private BodyNode tryParseNestedBlocks(boolean elseAllowed) {
+        var blocks = new ArrayList<BlockFrame>();
+        var block = new BlockFrame(TokenKind.UNKNOWN, cursor, null, elseAllowed);
+
+        while (true) {
+            skipSeparators();
+            StatementNode statement;
+            int statementBegin;
+
+            if (isBodyEnd(block.elseAllowed)) {
+                if (blocks.isEmpty()) return block.body;
+
+                if (block.elseAllowed && accept(TokenKind.ELSE)) {
+                    block.startElseBody();
+                    continue;
+                }
+
+                statementBegin = block.begin;
+                if (!accept(TokenKind.END)) return expectedStatement(statementBegin, expectedKeyword("end"));
+
+                statement = counted(getBlockNonterminal(block.kind), statementBegin, block.createStatement());
+                block = blocks.remove(blocks.size() - 1);
+            } else {
+                var kind = kind(cursor);
+                statementBegin = cursor;
+
+                if (kind == TokenKind.WHILE || kind == TokenKind.FOR || kind == TokenKind.IF) {
+                    var nested = tryParseBlockHeader(kind);
+                    if (nested == null) return expectedStatement(statementBegin, null);
+
+                    blocks.add(block);
+                    block = nested;
+                    continue;
+                }
+
+                statement = tryParseStatement();
+                if (statement == null) return expectedStatement(statementBegin, null);
+            }
+
+            block.body.statements.add(statement);
+            statement.setParent(block.body);
+
+            if (!isSeparator(cursor) && !isBodyEnd(block.elseAllowed)) return expectedStatement(statementBegin, null);
+
+            counted(ParserStats.Nonterminal.STATEMENT, statementBegin, statement);
+        }
+    }
+
+    private static ParserStats.Nonterminal getBlockNonterminal(int kind) {
+        return switch (kind) {
+            case TokenKind.WHILE -> ParserStats.Nonterminal.WHILE_LOOP;
+            case TokenKind.FOR -> ParserStats.Nonterminal.FOR_LOOP;
+            default -> ParserStats.Nonterminal.IF_STATEMENT;
+        };
+    }
+
+    /**
+     * Record that a statement is expected from its first token up to the end of the statement the parser failed in.
+     * @param failure the result of recording what is expected at the failure point, which is always null
+     */
+    private <T> T expectedStatement(int statementBegin, T failure) {
+        var end = Math.max(cursor, statementBegin + 1);
+
+        while (end < endExclusive && !isSeparator(end) && kind(end) != TokenKind.END && kind(end) != TokenKind.ELSE)
+            end++;
+
+        record(FailureLog.EXPECTED_STATEMENT, statementBegin, end, null);
+        return counted(ParserStats.Nonterminal.STATEMENT, statementBegin, failure);
+    }
+
+    /**
+     * A loop or an if statement whose body is being parsed, or the body given to the parser.
+     */
+    private static final class BlockFrame {
+        BlockFrame(int kind, int begin, CodePosition position, boolean elseAllowed) {
+            this.kind = kind;
+            this.begin = begin;
+            this.position = position;
+            this.elseAllowed = elseAllowed;
+        }
+
+        void startElseBody() {
+            thenBody = body;
+            body = new BodyNode();
+            elseAllowed = false;
+        }
+
+        StatementNode createStatement() {
+            StatementNode statement;
+
+            if (kind == TokenKind.WHILE) {
+                statement = new WhileLoopNode(condition, body, position);
+            } else if (kind == TokenKind.FOR) {
+                statement = new ForLoopNode(variable, range, body, position);
+                variable.setParent(statement);
+                range.setParent(statement);
+            } else if (thenBody == null) {
+                statement = new IfStatementNode(condition, body, null, position);
+            } else {
+                statement = new IfStatementNode(condition, thenBody, body, position);
+                thenBody.setParent(statement);
+            }
+
+            if (condition != null)
+                condition.setParent(statement);
+            body.setParent(statement);
+
+            return statement;
+        }
+
+        final int kind;
+        final int begin;
+        final CodePosition position;
+        boolean elseAllowed;
+
+        ExpressionNode condition;
+        IdentifierNode variable;
+        RangeNode range;
+
+        BodyNode thenBody;
+        BodyNode body = new BodyNode();
+    }
+
+    /**
+     * Parse the beginning of a while loop, a for loop or an if statement up to its body.
+     * @return a frame to parse the body in if the beginning can be parsed otherwise null object
+     */
+    private BlockFrame tryParseBlockHeader(int kind) {
+        var block = new BlockFrame(kind, cursor, tokens.getPosition(cursor++), kind == TokenKind.IF);
+
+        if (kind == TokenKind.FOR) {
+            block.variable = expectIdentifier();
+            if (block.variable == null) return null;
+
+            block.range = tryParseRange();
+            if (block.range == null) return null;
+        } else {
+            block.condition = tryParseExpression();
+            if (block.condition == null) return null;
+        }
+
+        if (kind == TokenKind.IF) return accept(TokenKind.THEN) ? block : expectedKeyword("then");
+
+        return accept(TokenKind.LOOP) ? block : expectedKeyword("loop");
+    }
+
+    private boolean isBodyEnd(boolean elseAllowed) {
+        var kind = kind(cursor);
+        return cursor == endExclusive || kind == TokenKind.END || elseAllowed && kind == TokenKind.ELSE;
+    }
+
+    private StatementNode tryParseStatement() {
+        var begin = cursor;
+
+        return switch (kind(cursor)) {
+            case TokenKind.VAR -> counted(ParserStats.Nonterminal.VARIABLE_DECLARATION, begin, tryParseVariableDeclaration());
+            case TokenKind.TYPE -> counted(ParserStats.Nonterminal.TYPE_DECLARATION, begin, tryParseTypeDeclaration());
+            case TokenKind.IDENTIFIER -> kind(cursor + 1) == TokenKind.OPENING_PARENTHESIS
+                    ? counted(ParserStats.Nonterminal.ROUTINE_CALL, begin, tryParseRoutineCall())
+                    : counted(ParserStats.Nonterminal.ASSIGNMENT, begin, tryParseAssignment());
+            case TokenKind.RETURN -> counted(ParserStats.Nonterminal.RETURN, begin, tryParseReturn());
+            default -> expectedModifiablePrimary();
+        };
+    }
+
+    /**
+     * Record that the tokens before ':=' are not a modifiable primary, if the statement at the cursor contains ':='.
+     */
+    private StatementNode expectedModifiablePrimary() {
+        for (int index = cursor + 1; index < endExclusive && !isSeparator(index) && kind(index) != TokenKind.END; index++) {
+            if (kind(index) == TokenKind.ASSIGNMENT)
+                return expected(FailureLog.EXPECTED_MODIFIABLE_PRIMARY, cursor, index);
+        }
+
+        return null;
+    }
+
+    private AssignmentNode tryParseAssignment() {
+        var modifiable = tryParseModifiablePrimary();
+        if (modifiable == null) return null;
+        if (!accept(TokenKind.ASSIGNMENT)) return expectedOperator(":=");
+
+        var expression = tryParseExpression();
+        if (expression == null) return null;
+
+        var assignmentNode = new AssignmentNode(modifiable, expression);
+
+        modifiable.setParent(assignmentNode);
+        expression.setParent(assignmentNode);
+
+        return assignmentNode;
+    }
+
+    private RoutineCallNode tryParseRoutineCall() {
+        var routineCall = startRoutineCall();
+        if (accept(TokenKind.CLOSING_PARENTHESIS)) return routineCall;
+
+        while (true) {
+            // The backtracking parser splits arguments at every comma, so an argument cannot contain one
+            var commasCount = this.commasCount;
+            var argumentBegin = cursor;
+            var argument = tryParseExpression();
+            if (argument == null) return null;
+            if (commasCount != this.commasCount) return expected(FailureLog.EXPECTED_EXPRESSION, argumentBegin, cursor);
+
+            routineCall.arguments.add(argument);
+            argument.setParent(routineCall);
+
+            if (accept(TokenKind.CLOSING_PARENTHESIS)) return routineCall;
+            if (!acceptComma()) return expectedOperators(")", ",");
+        }
+    }
+
+    /**
+     * Parse the name of a routine call and the opening parenthesis after it.
+     */
+    private RoutineCallNode startRoutineCall() {
+        var position = tokens.getPosition(cursor);
+        var name = tryParseIdentifier();
+
+        var routineCall = new RoutineCallNode(name, position);
+        name.setParent(routineCall);
+        cursor++;
+
+        return routineCall;
+    }
+
+    private RangeNode tryParseRange() {
+        if (kind(cursor) != TokenKind.IN) return expectedKeyword("in");
+        var position = tokens.getPosition(cursor++);
+        var reverse = accept(TokenKind.REVERSE);
+
+        var from = tryParseExpression();
+        if (from == null) return null;
+        if (!accept(TokenKind.RANGE)) return expectedOperator("..");
+
+        var to = tryParseExpression();
+        if (to == null) return null;
+
+        var range = new RangeNode(from, to, reverse, position);
+        from.setParent(range);
+        to.setParent(range);
+
+        return range;
+    }
+
+    private ReturnStatementNode tryParseReturn() {
+        var position = tokens.getPosition(cursor++);
+
+        if (cursor == endExclusive || isSeparator(cursor) || isBodyEnd(true))
+            return new ReturnStatementNode(position);
+
+        var expression = tryParseExpression();
+        if (expression == null) return null;
+
+        var returnStatement = new ReturnStatementNode(expression, position);
+        expression.setParent(returnStatement);
+
+        return returnStatement;
+    }
+
+    /**
+     * Parse a body that spans all the tokens given to the parser.
+     * @return a Body Node if it can be parsed otherwise null object
+     */
+    BodyNode tryParseWholeBody() {
+        return whole(tryParseBody(false));
+    }
+
+    /**
+     * Parse an expression that spans all the tokens given to the parser.
+     * @return an Expression Node if it can be parsed otherwise null object
+     */
+    ExpressionNode tryParseWholeExpression() {
+        return whole(tryParseExpression());
+    }
+
+    /**
+     * Parse a relation that spans all the tokens given to the parser.
+     * @return a Relation Node if it can be parsed otherwise null object
+     */
+    RelationNode tryParseWholeRelation() {
+        return whole((RelationNode) tryParseOperators(COMPARISON));
+    }
+
+    /**
+     * Parse a simple that spans all the tokens given to the parser.
+     * @return a Simple Node if it can be parsed otherwise null object
+     */
+    SimpleNode tryParseWholeSimple() {
+        return whole((SimpleNode) tryParseOperators(ADDITION));
+    }
+
+    /**
+     * Parse a summand that spans all the tokens given to the parser.
+     * @return a Summand Node if it can be parsed otherwise null object
+     */
+    SummandNode tryParseWholeSummand() {
+        return whole((SummandNode) tryParseOperators(MULTIPLICATION));
+    }
+
+    private <T> T whole(T node) {
+        return cursor == endExclusive ? node : null;
+    }
+
+    private ExpressionNode tryParseExpression() {
+        return (ExpressionNode) tryParseOperators(LOGICAL);
+    }
+
+    /**
+     * Parse factors joined by binary operators in one pass by precedence climbing.
+     * An operator first completes the nodes of the tighter binding levels that are open,
+     * then the factor after it starts a new node of its own level.
+     * 'not' before a relation negates the whole relation, as the backtracking parser does,
+     * and a relation has at most one comparison.
+     * Expressions in parentheses, indexers and routine call arguments are parsed in frames kept on a stack
+     * instead of by recursion, so the depth of nesting is not limited by the size of the call stack.
+     * @param level the loosest level of operators to parse, which is also the level of the returned node
+     * @return a Summand, Simple, Relation or Expression Node for the level if it can be parsed otherwise null object
+     */
+    private ASTNode tryParseOperators(int level) {
+        var begin = cursor;
+        return counted(getOperatorsNonterminal(level), begin, tryParseNestedOperators(level));
+    }
+
+    private static ParserStats.Nonterminal getOperatorsNonterminal(int level) {
+        return switch (level) {
+            case LOGICAL -> ParserStats.Nonterminal.EXPRESSION;
+            case COMPARISON -> ParserStats.Nonterminal.RELATION;
+            case ADDITION -> ParserStats.Nonterminal.SIMPLE;
+            default -> ParserStats.Nonterminal.SUMMAND;
+        };
+    }
+
+    private ASTNode tryParseNestedOperators(int level) {
+        var frames = new ArrayList<OperatorsFrame>();
+        var frame = openOperators(level, ROOT, null);
+
+        while (true) {
+            FactorNode factor;
+            var kind = kind(cursor);
+            var nextKind = kind(cursor + 1);
+
+            if (kind == TokenKind.OPENING_PARENTHESIS) {
+                cursor++;
+                frames.add(frame);
+                frame = openOperators(LOGICAL, PARENTHESES, null);
+                continue;
+            } else if (kind == TokenKind.IDENTIFIER && nextKind == TokenKind.OPENING_PARENTHESIS) {
+                var routineCall = startRoutineCall();
+
+                if (!accept(TokenKind.CLOSING_PARENTHESIS)) {
+                    frames.add(frame);
+                    frame = openOperators(LOGICAL, ARGUMENT, routineCall);
+                    continue;
+                }
+
+                factor = routineCall;
+            } else if (kind == TokenKind.IDENTIFIER && (nextKind == TokenKind.DOT || nextKind == TokenKind.OPENING_BRACKET)) {
+                var modifiablePrimary = startModifiablePrimary();
+                var accessors = tryParseMemberAccessors(modifiablePrimary);
+                if (accessors == FAILED) return null;
+
+                if (accessors == INDEXER_OPENED) {
+                    frames.add(frame);
+                    frame = openOperators(LOGICAL, INDEXER, modifiablePrimary);
+                    continue;
+                }
+
+                factor = modifiablePrimary;
+            } else {
+                factor = tryParseFactor();
+                if (factor == null) return failed ? null : expected(FailureLog.EXPECTED_EXPRESSION, cursor);
+            }
+
+            while (true) {
+                addFactor(frame, factor);
+                if (tryParseOperator(frame)) break;
+
+                var node = finishOperators(frame);
+                if (frame.context == ROOT) return node;
+
+                counted(ParserStats.Nonterminal.EXPRESSION, frame.begin, node);
+
+                if (frame.context == PARENTHESES) {
+                    if (!accept(TokenKind.CLOSING_PARENTHESIS)) return expectedOperator(")");
+
+                    factor = (ExpressionNode) node;
+                } else if (frame.context == INDEXER) {
+                    if (!accept(TokenKind.CLOSING_BRACKET)) return expectedOperator("]");
+
+                    var modifiablePrimary = (ModifiablePrimaryNode) frame.owner;
+                    modifiablePrimary.addIndexer((ExpressionNode) node);
+                    node.setParent(modifiablePrimary);
+
+                    var accessors = tryParseMemberAccessors(modifiablePrimary);
+                    if (accessors == FAILED) return null;
+
+                    if (accessors == INDEXER_OPENED) {
+                        frame = openOperators(LOGICAL, INDEXER, modifiablePrimary);
+                        break;
+                    }
+
+                    factor = modifiablePrimary;
+                } else {
+                    // The backtracking parser splits arguments at every comma, so an argument cannot contain one
+                    if (frame.commasCount != commasCount) return expected(FailureLog.EXPECTED_EXPRESSION, frame.begin, cursor);
+
+                    var routineCall = (RoutineCallNode) frame.owner;
+                    routineCall.arguments.add((ExpressionNode) node);
+                    node.setParent(routineCall);
+
+                    if (acceptComma()) {
+                        frame = openOperators(LOGICAL, ARGUMENT, routineCall);
+                        break;
+                    }
+
+                    if (!accept(TokenKind.CLOSING_PARENTHESIS)) return expectedOperators(")", ",");
+
+                    factor = routineCall;
+                }
+
+                frame = frames.remove(frames.size() - 1);
+            }
+        }
+    }
+
+    /**
+     * The state of parsing operators at one level of nesting: the nodes of the operator levels that are not complete yet,
+     * and what the parsed node is for.
+     */
+    private static final class OperatorsFrame {
+        OperatorsFrame(int level, int context, ASTNode owner, int begin, int commasCount) {
+            this.level = level;
+            this.context = context;
+            this.owner = owner;
+            this.begin = begin;
+            this.commasCount = commasCount;
+        }
+
+        final int level;
+        final int context;
+        final ASTNode owner;
+        final int begin;
+        final int commasCount;
+
+        ExpressionNode expression;
+        LogicalOperator logicalOperator;
+        CodePosition logicalOperatorPosition;
+
+        int negationsBegin;
+        int negationsEnd;
+
+        SimpleNode comparedSimple;
+        BinaryRelationNode.Comparison comparison;
+        CodePosition comparisonPosition;
+
+        SimpleNode simple;
+        AdditionOperator additionOperator;
+        CodePosition additionOperatorPosition;
+
+        SummandNode summand;
+        MultiplicationOperator multiplicationOperator;
+        CodePosition multiplicationOperatorPosition;
+    }
+
+    private OperatorsFrame openOperators(int level, int context, ASTNode owner) {
+        var frame = new OperatorsFrame(level, context, owner, cursor, commasCount);
+
+        frame.negationsBegin = cursor;
+        if (level <= COMPARISON) skipNegations();
+        frame.negationsEnd = cursor;
+
+        return frame;
+    }
+
+    private static void addFactor(OperatorsFrame frame, FactorNode factor) {
+        if (frame.multiplicationOperator == null) {
+            frame.summand = new SummandNode(factor);
+        } else {
+            frame.summand.addFactor(frame.multiplicationOperator, factor, frame.multiplicationOperatorPosition);
+            frame.multiplicationOperator = null;
+        }
+
+        factor.setParent(frame.summand);
+    }
+
+    /**
+     * Parse the operator at the cursor if it belongs to the frame, completing the nodes of the tighter binding levels.
+     * @return true if the operator is parsed and a factor is expected after it, false if the frame is complete
+     */
+    private boolean tryParseOperator(OperatorsFrame frame) {
+        var kind = kind(cursor);
+        var precedence = getPrecedence(kind);
+        if (precedence < frame.level) return false;
+        if (precedence == COMPARISON && frame.comparison != null) return false;
+
+        var operatorPosition = tokens.getPosition(cursor++);
+
+        if (precedence == MULTIPLICATION) {
+            frame.multiplicationOperator = getMultiplicationOperator(kind);
+            frame.multiplicationOperatorPosition = operatorPosition;
+            return true;
+        }
+
+        frame.simple = addSummand(frame.simple, frame.additionOperator, frame.additionOperatorPosition, frame.summand);
+        frame.additionOperator = null;
+
+        if (precedence == ADDITION) {
+            frame.additionOperator = kind == TokenKind.PLUS ? AdditionOperator.PLUS : AdditionOperator.MINUS;
+            frame.additionOperatorPosition = operatorPosition;
+        } else if (precedence == COMPARISON) {
+            frame.comparedSimple = frame.simple;
+            frame.simple = null;
+            frame.comparison = getComparison(kind);
+            frame.comparisonPosition = operatorPosition;
+        } else {
+            var relation = createRelation(frame.comparedSimple, frame.comparison, frame.comparisonPosition, frame.simple,
+                    frame.negationsBegin, frame.negationsEnd);
+            frame.expression = addRelation(frame.expression, frame.logicalOperator, frame.logicalOperatorPosition, relation);
+
+            frame.logicalOperator = getLogicalOperator(kind);
+            frame.logicalOperatorPosition = operatorPosition;
+            frame.comparedSimple = null;
+            frame.comparison = null;
+            frame.simple = null;
+
+            frame.negationsBegin = cursor;
+            skipNegations();
+            frame.negationsEnd = cursor;
+        }
+
+        return true;
+    }
+
+    private ASTNode finishOperators(OperatorsFrame frame) {
+        if (frame.level == MULTIPLICATION) return frame.summand;
+
+        var simple = addSummand(frame.simple, frame.additionOperator, frame.additionOperatorPosition, frame.summand);
+        if (frame.level == ADDITION) return simple;
+
+        var relation = createRelation(frame.comparedSimple, frame.comparison, frame.comparisonPosition, simple,
+                frame.negationsBegin, frame.negationsEnd);
+        if (frame.level == COMPARISON) return relation;
+
+        return addRelation(frame.expression, frame.logicalOperator, frame.logicalOperatorPosition, relation);
+    }
+
+    private void skipNegations() {
+        while (kind(cursor) == TokenKind.NOT)
+            cursor++;
+    }
+
+    private static SimpleNode addSummand(SimpleNode simple, AdditionOperator operator, CodePosition operatorPosition, SummandNode summand) {
+        if (simple == null) {
+            simple = new SimpleNode(summand);
+        } else {
+            simple.addSummand(operator, summand, operatorPosition);
+        }
+
+        summand.setParent(simple);
+        return simple;
+    }
+
+    private RelationNode createRelation(SimpleNode comparedSimple, BinaryRelationNode.Comparison comparison, CodePosition comparisonPosition,
+                                        SimpleNode simple, int negationsBegin, int negationsEnd) {
+        BinaryRelationNode binaryRelation;
+
+        if (comparison == null) {
+            binaryRelation = new BinaryRelationNode(simple);
+        } else {
+            binaryRelation = new BinaryRelationNode(comparedSimple, comparison, simple, comparisonPosition);
+            comparedSimple.setParent(binaryRelation);
+        }
+
+        simple.setParent(binaryRelation);
+        RelationNode relation = binaryRelation;
+
+        for (int index = negationsEnd - 1; index >= negationsBegin; index--) {
+            var negatedRelation = new NegatedRelationNode(relation, tokens.getPosition(index));
+            relation.setParent(negatedRelation);
+            relation = negatedRelation;
+        }
+
+        return relation;
+    }
+
+    private static ExpressionNode addRelation(ExpressionNode expression, LogicalOperator operator, CodePosition operatorPosition, RelationNode relation) {
+        if (expression == null) {
+            expression = new ExpressionNode(relation);
+        } else {
+            expression.addRelation(operator, relation, operatorPosition);
+        }
+
+        relation.setParent(expression);
+        return expression;
+    }
+
+    private static int getPrecedence(int kind) {
+        return switch (kind) {
+            case TokenKind.AND, TokenKind.OR, TokenKind.XOR -> LOGICAL;
+            case TokenKind.LESS, TokenKind.LESS_OR_EQUAL, TokenKind.GREATER, TokenKind.GREATER_OR_EQUAL,
+                    TokenKind.EQUAL, TokenKind.NOT_EQUAL -> COMPARISON;
+            case TokenKind.PLUS, TokenKind.MINUS -> ADDITION;
+            case TokenKind.MULTIPLY, TokenKind.DIVIDE, TokenKind.MODULO -> MULTIPLICATION;
+            default -> 0;
+        };
+    }
+
+    private static LogicalOperator getLogicalOperator(int kind) {
+        return switch (kind) {
+            case TokenKind.AND -> LogicalOperator.AND;
+            case TokenKind.OR -> LogicalOperator.OR;
+            default -> LogicalOperator.XOR;
+        };
+    }
+
+    private static BinaryRelationNode.Comparison getComparison(int kind) {
+        return switch (kind) {
+            case TokenKind.LESS -> BinaryRelationNode.Comparison.LESS;
+            case TokenKind.LESS_OR_EQUAL -> BinaryRelationNode.Comparison.LESS_EQUAL;
+            case TokenKind.GREATER -> BinaryRelationNode.Comparison.GREATER;
+            case TokenKind.GREATER_OR_EQUAL -> BinaryRelationNode.Comparison.GREATER_EQUAL;
+            case TokenKind.EQUAL -> BinaryRelationNode.Comparison.EQUAL;
+            default -> BinaryRelationNode.Comparison.NOT_EQUAL;
+        };
+    }
+
+    private static MultiplicationOperator getMultiplicationOperator(int kind) {
+        return switch (kind) {
+            case TokenKind.MULTIPLY -> MultiplicationOperator.MULTIPLY;
+            case TokenKind.DIVIDE -> MultiplicationOperator.DIVIDE;
+            default -> MultiplicationOperator.MODULO;
+        };
+    }
+
+    /**
+     * Parse a factor that does not contain an expression: a literal or a modifiable primary without accessors.
+     */
+    private FactorNode tryParseFactor() {
+        switch (kind(cursor)) {
+            case TokenKind.PLUS, TokenKind.MINUS, TokenKind.NOT -> {
+                return tryParseSignedLiteral();
+            }
+            case TokenKind.TRUE, TokenKind.FALSE -> {
+                return BooleanLiteralNode.create(kind(cursor) == TokenKind.TRUE, tokens.getPosition(cursor++));
+            }
+            case TokenKind.IDENTIFIER -> {
+                // 'Infinity' and 'NaN' are parsed as real literals by the backtracking parser
+                var lexeme = tokens.getLexeme(cursor);
+                var literal = lexeme.equals("Infinity") || lexeme.equals("NaN") ? tryParseLiteral(null) : null;
+                return literal != null ? literal : tryParseModifiablePrimary();
+            }
+            case TokenKind.LITERAL -> {
+                return tryParseLiteral(null);
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    private PrimaryNode tryParseSignedLiteral() {
+        var signKind = kind(cursor);
+        if (cursor + 1 >= endExclusive) return null;
+
+        cursor++;
+        return tryParseLiteral(signKind);
+    }
+
+    /**
+     * Parse the token at the cursor as an integral literal or, failing that, as a real one,
+     * like the backtracking parser does for one token or for a sign followed by a token.
+     * The lexeme is classified by the lexer before it is converted, so the conversion never fails.
+     */
+    private PrimaryNode tryParseLiteral(Integer signKind) {
+        var position = tokens.getPosition(cursor);
+
+        if (tokens.isIntegerLiteral(cursor)) {
+            var value = Integer.parseInt(tokens.getLexeme(cursor));
+            var sign = signKind == null ? null : switch (signKind) {
+                case TokenKind.PLUS -> IntegralLiteralNode.Sign.PLUS;
+                case TokenKind.MINUS -> IntegralLiteralNode.Sign.MINUS;
+                default -> IntegralLiteralNode.Sign.NOT;
+            };
+
+            cursor++;
+            return new IntegralLiteralNode(value, sign, position);
+        }
+
+        if (signKind != null && signKind == TokenKind.NOT) return null;
+
+        var lexeme = tokens.getLexeme(cursor);
+        var notANumber = lexeme.equals("NaN");
+        if (!notANumber && !tokens.isRealLiteral(cursor)) return null;
+
+        var value = notANumber ? Double.NaN : Double.parseDouble(lexeme);
+        var sign = signKind == null ? null : signKind == TokenKind.PLUS ? RealLiteralNode.Sign.PLUS : RealLiteralNode.Sign.MINUS;
+
+        cursor++;
+        return new RealLiteralNode(value, sign, position);
+    }
+
+    private ModifiablePrimaryNode tryParseModifiablePrimary() {
+        if (kind(cursor) != TokenKind.IDENTIFIER) return null;
+
+        var modifiablePrimary = startModifiablePrimary();
+
+        while (true) {
+            var accessors = tryParseMemberAccessors(modifiablePrimary);
+            if (accessors == FAILED) return null;
+            if (accessors == COMPLETE) return modifiablePrimary;
+
+            var indexer = tryParseExpression();
+            if (indexer == null) return null;
+            if (!accept(TokenKind.CLOSING_BRACKET)) return expectedOperator("]");
+
+            modifiablePrimary.addIndexer(indexer);
+            indexer.setParent(modifiablePrimary);
+        }
+    }
+
+    private ModifiablePrimaryNode startModifiablePrimary() {
+        var position = tokens.getPosition(cursor);
+        var identifier = tryParseIdentifier();
+
+        var modifiablePrimary = new ModifiablePrimaryNode(identifier, position);
+        identifier.setParent(modifiablePrimary);
+
+        return modifiablePrimary;
+    }
+
+    /**
+     * Parse the accessors of members and array sizes at the cursor, up to an indexer.
+     * @return COMPLETE if there are no more accessors, INDEXER_OPENED if the opening bracket of an indexer is parsed,
+     *         FAILED if an accessor cannot be parsed
+     */
+    private int tryParseMemberAccessors(ModifiablePrimaryNode modifiablePrimary) {
+        while (true) {
+            if (accept(TokenKind.DOT)) {
+                var member = tryParseIdentifier();
+
+                if (member != null) {
+                    modifiablePrimary.addMember(member);
+                    member.setParent(modifiablePrimary);
+                } else if (accept(TokenKind.SIZE)) {
+                    modifiablePrimary.addArraySize();
+                } else {
+                    expectIdentifier();
+                    return FAILED;
+                }
+            } else if (accept(TokenKind.OPENING_BRACKET)) {
+                return INDEXER_OPENED;
+            } else {
+                return COMPLETE;
+            }
+        }
+    }
+
+    private IdentifierNode expectIdentifier() {
+        var identifier = tryParseIdentifier();
+        if (identifier == null && cursor < endExclusive)
+            record(FailureLog.EXPECTED_IDENTIFIER, cursor, cursor + 1, null);
+
+        return identifier;
+    }
+
+    private <T> T expectedKeyword(String keyword) {
+        record(FailureLog.EXPECTED_KEYWORD_AFTER, cursor - 1, cursor, keyword);
+        return null;
+    }
+
+    private <T> T expectedOperator(String operator) {
+        record(FailureLog.EXPECTED_OPERATOR_AFTER, cursor - 1, cursor, operator);
+        return null;
+    }
+
+    private <T> T expectedOperators(String operator, String otherOperator) {
+        expectedOperator(operator);
+        return expectedOperator(otherOperator);
+    }
+
+    /**
+     * Record that something of a kind is expected in place of the tokens from an index up to the cursor,
+     * or in place of the token at the index if the cursor is not after it and the token does not end the statement.
+     */
+    private <T> T expected(int kind, int begin) {
+        var end = Math.max(cursor, begin);
+        if (end == begin && end < endExclusive && !isSeparator(end)) end++;
+
+        return expected(kind, begin, end);
+    }
+
+    private <T> T expected(int kind, int begin, int endExclusive) {
+        record(kind, begin, endExclusive, null);
+        return null;
+    }
+
+    private void record(int kind, int begin, int endExclusive, String symbol) {
+        failed = true;
+        if (failures != null) failures.add(kind, begin, endExclusive, symbol);
+    }
+
+    private int kind(int index) {
+        return index < endExclusive ? tokens.getKind(index) : TokenKind.UNKNOWN;
+    }
+
+    private boolean accept(int kind) {
+        if (kind(cursor) != kind) return false;
+
+        cursor++;
+        return true;
+    }
+
+    private boolean acceptComma() {
+        if (!accept(TokenKind.COMMA)) return false;
+
+        commasCount++;
+        return true;
+    }
+
+    private boolean isSeparator(int index) {
+        return index < endExclusive && tokens.getType(index) == TokenType.DeclarationSeparator;
+    }
+
+    private void skipSeparators() {
+        while (isSeparator(cursor))
+            cursor++;
+    }
+
+    private boolean containsKind(int begin, int endExclusive, int kind) {
+        for (int index = begin; index < endExclusive; index++) {
+            if (tokens.getKind(index) == kind)
+                return true;
+        }
+
+        return false;
+    }
+
+    private static final int LOGICAL = 1;
+    private static final int COMPARISON = 2;
+    private static final int ADDITION = 3;
+    private static final int MULTIPLICATION = 4;
+
+    private static final int ROOT = 0;
+    private static final int PARENTHESES = 1;
+    private static final int INDEXER = 2;
+    private static final int ARGUMENT = 3;
+
+    private static final int FAILED = 0;
+    private static final int COMPLETE = 1;
+    private static final int INDEXER_OPENED = 2;
+    private static final int TYPE_OPENED = 3;
+
+    private final TokenBuffer tokens;
+    private final int endExclusive;
+    private final MatchTable lazyBodies;
+    private final ParserStats stats;
+    private final FailureLog failures;
+    private int cursor;
+    private int commasCount;
+    private boolean failed;
+}
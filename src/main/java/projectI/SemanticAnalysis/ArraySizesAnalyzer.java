@@ -28,7 +28,7 @@ public final class ArraySizesAnalyzer extends VisitorAnalyzer {
         }
 
         var sizeType = array.size.getType(symbolTable);
-        var integerType = new RuntimePrimitiveType(PrimitiveType.INTEGER);
+        var integerType = RuntimePrimitiveType.of(PrimitiveType.INTEGER);
         if (!sizeType.canBeCastedTo(integerType))
             throw new IncompatibleTypesException(this, array, integerType, sizeType);
     }
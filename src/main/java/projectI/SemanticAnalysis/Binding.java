@@ -0,0 +1,45 @@
+package projectI.SemanticAnalysis;
+
+import projectI.AST.ASTNode;
+import projectI.AST.Types.RuntimeType;
+
+/**
+ * Declaration an identifier refers to, found once by {@link BindingAnalyzer} after the symbol table is built.
+ */
+public final class Binding {
+    /**
+     * What the identifier refers to.
+     */
+    public enum Kind {
+        GLOBAL_VARIABLE,
+        LOCAL_VARIABLE,
+        PARAMETER,
+        ROUTINE,
+        TYPE
+    }
+
+    Binding(SymbolTable symbolTable, Kind kind, ASTNode scope, String name, RuntimeType type) {
+        this.symbolTable = symbolTable;
+        this.kind = kind;
+        this.scope = scope;
+        this.name = name;
+        this.type = type;
+    }
+
+    /**
+     * Table the binding was found in, a program analyzed again gets new bindings.
+     */
+    final SymbolTable symbolTable;
+
+    public final Kind kind;
+
+    /**
+     * Node of the scope the identifier is defined at: the program, a routine for its parameters,
+     * a for loop for its variable or a body for its local variables.
+     */
+    public final ASTNode scope;
+
+    public final String name;
+
+    public final RuntimeType type;
+}
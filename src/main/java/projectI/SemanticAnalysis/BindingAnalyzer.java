@@ -0,0 +1,131 @@
+package projectI.SemanticAnalysis;
+
+import projectI.AST.ASTNode;
+import projectI.AST.Declarations.BodyNode;
+import projectI.AST.Declarations.IdentifierNode;
+import projectI.AST.Declarations.RoutineDeclarationNode;
+import projectI.AST.Declarations.TypeNode;
+import projectI.AST.Flow.ForLoopNode;
+import projectI.AST.Primary.ModifiablePrimaryNode;
+import projectI.AST.ProgramNode;
+import projectI.AST.Statements.RoutineCallNode;
+import projectI.AST.Types.RuntimeRoutineType;
+import projectI.SemanticAnalysis.Exceptions.SemanticAnalysisException;
+
+import java.util.ArrayList;
+
+/**
+ * Binds the identifiers of modifiable primaries, routine calls and named types to the scopes they are defined at,
+ * so the later analyzers and the code generator do not look them up through the parents again.
+ * Undefined identifiers are left unbound for the other analyzers to report.
+ */
+public class BindingAnalyzer implements SemanticAnalyzer {
+    @Override
+    public void analyze(ProgramNode program, SymbolTable symbolTable) throws SemanticAnalysisException {
+        new Binder().analyze(program, symbolTable);
+    }
+
+    /**
+     * Visitor that keeps the nodes that can define identifiers around the current one with their symbols,
+     * so an identifier is looked up only in them rather than in each of its parents.
+     */
+    private static final class Binder extends VisitorAnalyzer {
+        private final ArrayList<ASTNode> scopes = new ArrayList<>();
+        private final ArrayList<ScopeSymbols> scopeSymbols = new ArrayList<>();
+
+        private void enter(ASTNode scope, SymbolTable symbolTable) {
+            scopes.add(scope);
+            scopeSymbols.add(symbolTable.getScopeSymbols(scope));
+        }
+
+        private void leave() {
+            scopes.remove(scopes.size() - 1);
+            scopeSymbols.remove(scopeSymbols.size() - 1);
+        }
+
+        @Override
+        public void analyze(ProgramNode program, SymbolTable symbolTable) throws SemanticAnalysisException {
+            enter(program, symbolTable);
+            super.analyze(program, symbolTable);
+            leave();
+        }
+
+        @Override
+        protected void analyze(RoutineDeclarationNode routine, SymbolTable symbolTable) throws SemanticAnalysisException {
+            enter(routine, symbolTable);
+            super.analyze(routine, symbolTable);
+            leave();
+        }
+
+        @Override
+        protected void analyze(BodyNode body, SymbolTable symbolTable) throws SemanticAnalysisException {
+            enter(body, symbolTable);
+            super.analyze(body, symbolTable);
+            leave();
+        }
+
+        @Override
+        protected void analyze(ForLoopNode forLoop, SymbolTable symbolTable) throws SemanticAnalysisException {
+            enter(forLoop, symbolTable);
+            super.analyze(forLoop, symbolTable);
+            leave();
+        }
+
+        @Override
+        protected void analyze(ModifiablePrimaryNode modifiablePrimary, SymbolTable symbolTable) throws SemanticAnalysisException {
+            super.analyze(modifiablePrimary, symbolTable);
+
+            bind(modifiablePrimary.identifier, false, symbolTable);
+        }
+
+        @Override
+        protected void analyze(ModifiablePrimaryNode.Indexer accessor, SymbolTable symbolTable) throws SemanticAnalysisException {
+            super.analyze(accessor, symbolTable);
+
+            analyze(accessor.value, symbolTable);
+        }
+
+        @Override
+        protected void analyze(RoutineCallNode routineCall, SymbolTable symbolTable) throws SemanticAnalysisException {
+            super.analyze(routineCall, symbolTable);
+
+            bind(routineCall.name, false, symbolTable);
+        }
+
+        @Override
+        protected void analyze(TypeNode type, SymbolTable symbolTable) throws SemanticAnalysisException {
+            super.analyze(type, symbolTable);
+
+            if (type instanceof IdentifierNode)
+                bind((IdentifierNode) type, true, symbolTable);
+        }
+
+        private void bind(IdentifierNode identifier, boolean isType, SymbolTable symbolTable) {
+            for (int index = scopes.size() - 1; index >= 0; index--) {
+                var symbols = scopeSymbols.get(index);
+                if (symbols == null) continue;
+
+                var symbolIndex = symbols.indexOf(identifier.name);
+                if (symbolIndex < 0) continue;
+
+                var scope = scopes.get(index);
+                var type = symbols.getType(symbolIndex);
+                Binding.Kind kind;
+
+                if (isType)
+                    kind = Binding.Kind.TYPE;
+                else if (type instanceof RuntimeRoutineType)
+                    kind = Binding.Kind.ROUTINE;
+                else if (scope instanceof ProgramNode)
+                    kind = Binding.Kind.GLOBAL_VARIABLE;
+                else if (scope instanceof RoutineDeclarationNode)
+                    kind = Binding.Kind.PARAMETER;
+                else
+                    kind = Binding.Kind.LOCAL_VARIABLE;
+
+                symbolTable.bind(identifier, new Binding(symbolTable, kind, scope, identifier.name, type));
+                return;
+            }
+        }
+    }
+}
@@ -14,24 +14,24 @@ public final class CompositeSemanticAnalyzer implements SemanticAnalyzer {
     @Override
     public void analyze(ProgramNode program, SymbolTable symbolTable) throws SemanticAnalysisException {
         var printIntType = new RuntimeRoutineType(null);
-        printIntType.parameters.add(new RuntimePrimitiveType(PrimitiveType.INTEGER));
+        printIntType.parameters.add(RuntimePrimitiveType.of(PrimitiveType.INTEGER));
         symbolTable.defineType(program, "printInt", printIntType);
 
         var printBoolType = new RuntimeRoutineType(null);
-        printBoolType.parameters.add(new RuntimePrimitiveType(PrimitiveType.BOOLEAN));
+        printBoolType.parameters.add(RuntimePrimitiveType.of(PrimitiveType.BOOLEAN));
         symbolTable.defineType(program, "printBoolean", printBoolType);
 
         var printRealType = new RuntimeRoutineType(null);
-        printRealType.parameters.add(new RuntimePrimitiveType(PrimitiveType.REAL));
+        printRealType.parameters.add(RuntimePrimitiveType.of(PrimitiveType.REAL));
         symbolTable.defineType(program, "printReal", printRealType);
 
-        var readInt = new RuntimeRoutineType(new RuntimePrimitiveType(PrimitiveType.INTEGER));
+        var readInt = new RuntimeRoutineType(RuntimePrimitiveType.of(PrimitiveType.INTEGER));
         symbolTable.defineType(program, "readInt", readInt);
 
-        var readReal = new RuntimeRoutineType(new RuntimePrimitiveType(PrimitiveType.REAL));
+        var readReal = new RuntimeRoutineType(RuntimePrimitiveType.of(PrimitiveType.REAL));
         symbolTable.defineType(program, "readReal", readReal);
 
-        var readBoolean = new RuntimeRoutineType(new RuntimePrimitiveType(PrimitiveType.BOOLEAN));
+        var readBoolean = new RuntimeRoutineType(RuntimePrimitiveType.of(PrimitiveType.BOOLEAN));
         symbolTable.defineType(program, "readBoolean", readBoolean);
 
 
@@ -49,6 +49,8 @@ public final class CompositeSemanticAnalyzer implements SemanticAnalyzer {
             new ConstantsCaching(),
 
             new SymbolTableConstructor(),
+            new BindingAnalyzer(),
+            new ExpressionTypesCaching(),
 
             new AssignmentAnalyzer(),
             new RoutineDeclarationAnalyzer(),
@@ -0,0 +1,50 @@
+package projectI.SemanticAnalysis;
+
+import projectI.AST.Expressions.BinaryRelationNode;
+import projectI.AST.Expressions.ExpressionNode;
+import projectI.AST.Expressions.SimpleNode;
+import projectI.AST.Expressions.SummandNode;
+import projectI.AST.Primary.ModifiablePrimaryNode;
+import projectI.SemanticAnalysis.Exceptions.SemanticAnalysisException;
+
+/**
+ * Computes the type of every expression, relation, simple and summand once the symbol table is complete
+ * and caches it in the node. The children are typed before their parents, so each type is computed
+ * from the cached types of the children, and the later analyzers and the code generator only read them.
+ */
+public class ExpressionTypesCaching extends VisitorAnalyzer {
+    @Override
+    protected void analyze(ExpressionNode expression, SymbolTable symbolTable) throws SemanticAnalysisException {
+        super.analyze(expression, symbolTable);
+
+        expression.cacheType(symbolTable, expression.getType(symbolTable));
+    }
+
+    @Override
+    protected void analyze(BinaryRelationNode relation, SymbolTable symbolTable) throws SemanticAnalysisException {
+        super.analyze(relation, symbolTable);
+
+        relation.cacheType(symbolTable, relation.getType(symbolTable));
+    }
+
+    @Override
+    protected void analyze(SimpleNode simple, SymbolTable symbolTable) throws SemanticAnalysisException {
+        super.analyze(simple, symbolTable);
+
+        simple.cacheType(symbolTable, simple.getType(symbolTable));
+    }
+
+    @Override
+    protected void analyze(SummandNode summand, SymbolTable symbolTable) throws SemanticAnalysisException {
+        super.analyze(summand, symbolTable);
+
+        summand.cacheType(symbolTable, summand.getType(symbolTable));
+    }
+
+    @Override
+    protected void analyze(ModifiablePrimaryNode.Indexer accessor, SymbolTable symbolTable) throws SemanticAnalysisException {
+        super.analyze(accessor, symbolTable);
+
+        analyze(accessor.value, symbolTable);
+    }
+}
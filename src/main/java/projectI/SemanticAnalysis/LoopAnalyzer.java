@@ -14,7 +14,7 @@ public class LoopAnalyzer extends VisitorAnalyzer {
         super.analyze(whileLoop, symbolTable);
 
         var actualType = whileLoop.condition.getType(symbolTable);
-        var expectedType = new RuntimePrimitiveType(PrimitiveType.BOOLEAN);
+        var expectedType = RuntimePrimitiveType.of(PrimitiveType.BOOLEAN);
         if (!actualType.canBeCastedTo(expectedType))
             throw new IncompatibleTypesException(this, whileLoop, expectedType, actualType);
     }
@@ -29,7 +29,7 @@ public class LoopAnalyzer extends VisitorAnalyzer {
 
     protected void analyzeRangeLimit(ExpressionNode limit, SymbolTable symbolTable) throws SemanticAnalysisException {
         var actualType = limit.getType(symbolTable);
-        var expectedType = new RuntimePrimitiveType(PrimitiveType.INTEGER);
+        var expectedType = RuntimePrimitiveType.of(PrimitiveType.INTEGER);
         if (!actualType.canBeCastedTo(expectedType))
             throw new IncompatibleTypesException(this, limit.parent, expectedType, actualType);
     }
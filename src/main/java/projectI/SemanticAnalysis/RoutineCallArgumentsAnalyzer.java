@@ -10,7 +10,7 @@ public class RoutineCallArgumentsAnalyzer extends VisitorAnalyzer {
     protected void analyze(RoutineCallNode routineCall, SymbolTable symbolTable) throws SemanticAnalysisException {
         super.analyze(routineCall, symbolTable);
 
-        var type = symbolTable.getType(routineCall, routineCall.name.name);
+        var type = routineCall.name.getType(symbolTable);
         if (!(type instanceof RuntimeRoutineType))
             throw new SemanticAnalysisException(this, routineCall);
 
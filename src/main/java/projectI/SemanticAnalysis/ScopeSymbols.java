@@ -0,0 +1,52 @@
+package projectI.SemanticAnalysis;
+
+import projectI.AST.Types.RuntimeType;
+
+import java.util.Arrays;
+
+/**
+ * Identifiers defined in one scope and their types, kept in two arrays sorted by the identifier.
+ * A scope usually defines a handful of identifiers, so a binary search over the arrays is as fast as hashing
+ * and takes much less memory than a hash map.
+ */
+final class ScopeSymbols {
+    /**
+     * Find an identifier.
+     * @return index of the identifier, or a negative value if it is not defined
+     */
+    int indexOf(String identifier) {
+        return Arrays.binarySearch(identifiers, 0, size, identifier);
+    }
+
+    RuntimeType getType(int index) {
+        return types[index];
+    }
+
+    /**
+     * Define an identifier that is not defined in the scope.
+     */
+    void add(String identifier, RuntimeType type) {
+        var index = -indexOf(identifier) - 1;
+
+        if (size == identifiers.length) {
+            identifiers = Arrays.copyOf(identifiers, size * 2);
+            types = Arrays.copyOf(types, size * 2);
+        }
+
+        System.arraycopy(identifiers, index, identifiers, index + 1, size - index);
+        System.arraycopy(types, index, types, index + 1, size - index);
+        identifiers[index] = identifier;
+        types[index] = type;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private String[] identifiers = new String[INITIAL_CAPACITY];
+    private RuntimeType[] types = new RuntimeType[INITIAL_CAPACITY];
+    private int size;
+}
@@ -1,6 +1,7 @@
 package projectI.SemanticAnalysis;
 
 import projectI.AST.ASTNode;
+import projectI.AST.Declarations.IdentifierNode;
 import projectI.AST.Expressions.ExpressionNode;
 import projectI.AST.ProgramNode;
 import projectI.AST.Types.InvalidRuntimeType;
@@ -11,35 +12,40 @@ import projectI.SemanticAnalysis.Exceptions.UndefinedSymbolException;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 
+/**
+ * Types of the identifiers defined in each scope and the values of constant expressions.
+ * Scopes and expressions are keyed by identity: AST nodes compare and hash their whole subtrees,
+ * and structurally equal nodes at different places in the program are different scopes.
+ */
 public class SymbolTable {
-    private final HashMap<ASTNode, HashMap<String, RuntimeType>> types = new HashMap<>();
-    private final HashMap<ExpressionNode, Object> constants = new HashMap<>();
+    private final IdentityHashMap<ASTNode, ScopeSymbols> types = new IdentityHashMap<>();
+    private final ArrayList<ScopeSymbols> scopes = new ArrayList<>();
+    private final IdentityHashMap<ExpressionNode, Object> constants = new IdentityHashMap<>();
 
     public void defineType(ASTNode scope, String identifier, RuntimeType runtimeType) throws SemanticAnalysisException {
         if (runtimeType instanceof InvalidRuntimeType)
             throw new UndefinedSymbolException(this, scope, identifier);
 
         if (getType(scope, identifier) instanceof InvalidRuntimeType) {
-            var map = getTypesDefinedAt(scope);
-            map.put(identifier, runtimeType);
+            var scopeTypes = types.get(scope);
+
+            if (scopeTypes == null) {
+                scopeTypes = new ScopeSymbols();
+                types.put(scope, scopeTypes);
+                scopes.add(scopeTypes);
+            }
+
+            scopeTypes.add(identifier, runtimeType);
         } else {
             throw new IdentifierAlreadyDefinedException(this, scope, identifier);
         }
     }
 
     public boolean isDefinedAt(ASTNode scope, String identifier) {
-        var types = getTypesDefinedAt(scope);
-        return types.containsKey(identifier);
-    }
-
-    private HashMap<String, RuntimeType> getTypesDefinedAt(ASTNode scope) {
-        if (types.containsKey(scope)) return types.get(scope);
-
-        var scopeTypes = new HashMap<String, RuntimeType>();
-        types.put(scope, scopeTypes);
-        return scopeTypes;
+        var scopeTypes = types.get(scope);
+        return scopeTypes != null && scopeTypes.indexOf(identifier) >= 0;
     }
 
     public void defineConstant(ExpressionNode expression, Object value) {
@@ -47,18 +53,17 @@ public class SymbolTable {
     }
 
     public Object tryGetConstant(ExpressionNode expression) {
-        if (constants.containsKey(expression))
-            return constants.get(expression);
-
-        return null;
+        return constants.get(expression);
     }
 
     public RuntimeType getType(ASTNode scope, String identifier) {
+        // Lookups neither allocate nor add scopes, only the scopes that define identifiers are in the table
         while (scope != null) {
-            var definedTypes = getTypesDefinedAt(scope);
+            var scopeTypes = types.get(scope);
 
-            if (definedTypes.containsKey(identifier)) {
-                return definedTypes.get(identifier);
+            if (scopeTypes != null) {
+                var index = scopeTypes.indexOf(identifier);
+                if (index >= 0) return scopeTypes.getType(index);
             }
 
             if (!(scope instanceof ProgramNode) && scope.getParent() == null)
@@ -70,11 +75,36 @@ public class SymbolTable {
         return InvalidRuntimeType.instance;
     }
 
+    /**
+     * Get the identifiers defined at a scope.
+     * @return the identifiers, or null if the scope does not define any
+     */
+    ScopeSymbols getScopeSymbols(ASTNode scope) {
+        return types.get(scope);
+    }
+
+    void bind(IdentifierNode identifier, Binding binding) {
+        // The binding is kept by the node itself, reading a field is much cheaper than hashing the node
+        identifier.setBinding(binding);
+    }
+
+    /**
+     * Get the declaration an identifier refers to.
+     * @param identifier identifier of a modifiable primary, a routine call or a named type
+     * @return the binding, or null if the bindings of this table are not built yet or the identifier is not defined
+     */
+    public Binding getBinding(IdentifierNode identifier) {
+        var binding = identifier.getBinding();
+        return binding != null && binding.symbolTable == this ? binding : null;
+    }
+
     public RuntimeType[] getAllDefinedTypes() {
         var types = new ArrayList<RuntimeType>();
 
-        for (var typeMap : this.types.values()) {
-            types.addAll(typeMap.values());
+        // Scopes are listed in the order they were created since the identity order changes between runs
+        for (var scopeTypes : scopes) {
+            for (int index = 0; index < scopeTypes.size(); index++)
+                types.add(scopeTypes.getType(index));
         }
 
         var result = new RuntimeType[types.size()];
@@ -63,7 +63,7 @@ public class SymbolTableConstructor implements SemanticAnalyzer {
             } else if (statement instanceof HasBody) {
                 if (statement instanceof ForLoopNode) {
                     var loop = (ForLoopNode) statement;
-                    symbolTable.defineType(statement, loop.variable.name, new RuntimePrimitiveType(PrimitiveType.INTEGER));
+                    symbolTable.defineType(statement, loop.variable.name, RuntimePrimitiveType.of(PrimitiveType.INTEGER));
                 }
 
                 analyze((HasBody) statement, symbolTable);
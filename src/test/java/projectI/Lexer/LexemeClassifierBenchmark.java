@@ -0,0 +1,88 @@
+package projectI.Lexer;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the character-based lexeme classification with the former one
+ * based on regular expressions and number parsing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LexemeClassifierBenchmark {
+    @Param({"identifiers", "literals"})
+    public String input;
+
+    private String[] lexemes;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        lexemes = new String[10_000];
+
+        for (int index = 0; index < lexemes.length; index++) {
+            var identifier = input.equals("identifiers") ? random.nextInt(10) != 0 : random.nextInt(10) == 0;
+
+            if (identifier) {
+                lexemes[index] = "variable_" + random.nextInt(1000);
+            } else if (random.nextBoolean()) {
+                lexemes[index] = Integer.toString(random.nextInt(100_000));
+            } else {
+                lexemes[index] = random.nextInt(1000) + "." + random.nextInt(1000);
+            }
+        }
+    }
+
+    @Benchmark
+    public int classifier() {
+        var count = 0;
+
+        for (var lexeme : lexemes) {
+            if (LexemeClassifier.isIdentifier(lexeme)) count += 1;
+            else if (LexemeClassifier.isIntegerLiteral(lexeme)) count += 2;
+            else if (LexemeClassifier.isRealLiteral(lexeme)) count += 3;
+        }
+
+        return count;
+    }
+
+    @Benchmark
+    public int legacy() {
+        var count = 0;
+
+        for (var lexeme : lexemes) {
+            if (Pattern.matches("^[A-Za-z_][A-Za-z_0-9]*$", lexeme)) count += 1;
+            else if (isIntegerLiteral(lexeme)) count += 2;
+            else if (isRealLiteral(lexeme)) count += 3;
+        }
+
+        return count;
+    }
+
+    private static boolean isIntegerLiteral(String str)  {
+        try {
+            int value = Integer.parseInt(str);
+            return value >= 0;
+        }
+        catch (NumberFormatException ignored) {
+            return false;
+        }
+    }
+
+    private static boolean isRealLiteral(String str) {
+        try {
+            var value = Float.parseFloat(str);
+            return value >= 0f;
+        }
+        catch (NumberFormatException ignored) {
+            return false;
+        }
+    }
+}
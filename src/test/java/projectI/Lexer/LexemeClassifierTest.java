@@ -0,0 +1,61 @@
+package projectI.Lexer;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+public class LexemeClassifierTest extends TestCase {
+    public LexemeClassifierTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(LexemeClassifierTest.class);
+    }
+
+    public void testIdentifiers() {
+        assertTrue(LexemeClassifier.isIdentifier("a"));
+        assertTrue(LexemeClassifier.isIdentifier("_value1"));
+        assertTrue(LexemeClassifier.isIdentifier("Camel_Case_2"));
+
+        assertFalse(LexemeClassifier.isIdentifier(""));
+        assertFalse(LexemeClassifier.isIdentifier("1a"));
+        assertFalse(LexemeClassifier.isIdentifier("a.b"));
+        assertFalse(LexemeClassifier.isIdentifier("a\n"));
+        assertFalse(LexemeClassifier.isIdentifier("\u00e9"));
+    }
+
+    public void testIntegerLiterals() {
+        assertTrue(LexemeClassifier.isIntegerLiteral("0"));
+        assertTrue(LexemeClassifier.isIntegerLiteral("007"));
+        assertTrue(LexemeClassifier.isIntegerLiteral("2147483647"));
+        assertTrue(LexemeClassifier.isIntegerLiteral("-0"));
+
+        assertFalse(LexemeClassifier.isIntegerLiteral(""));
+        assertFalse(LexemeClassifier.isIntegerLiteral("+"));
+        assertFalse(LexemeClassifier.isIntegerLiteral("-1"));
+        assertFalse(LexemeClassifier.isIntegerLiteral("2147483648"));
+        assertFalse(LexemeClassifier.isIntegerLiteral("1.0"));
+        assertFalse(LexemeClassifier.isIntegerLiteral("1a"));
+    }
+
+    public void testRealLiterals() {
+        assertTrue(LexemeClassifier.isRealLiteral("1"));
+        assertTrue(LexemeClassifier.isRealLiteral("1.5"));
+        assertTrue(LexemeClassifier.isRealLiteral("1."));
+        assertTrue(LexemeClassifier.isRealLiteral(".5"));
+        assertTrue(LexemeClassifier.isRealLiteral("2147483648"));
+        assertTrue(LexemeClassifier.isRealLiteral("1e5"));
+        assertTrue(LexemeClassifier.isRealLiteral("2.5f"));
+        assertTrue(LexemeClassifier.isRealLiteral("0x1.8p1"));
+        assertTrue(LexemeClassifier.isRealLiteral("\r3"));
+        assertTrue(LexemeClassifier.isRealLiteral("Infinity"));
+
+        assertFalse(LexemeClassifier.isRealLiteral("."));
+        assertFalse(LexemeClassifier.isRealLiteral("1e"));
+        assertFalse(LexemeClassifier.isRealLiteral("0x1"));
+        assertFalse(LexemeClassifier.isRealLiteral("-1.5"));
+        assertFalse(LexemeClassifier.isRealLiteral("NaN"));
+        assertFalse(LexemeClassifier.isRealLiteral("1a"));
+    }
+}
@@ -0,0 +1,65 @@
+package projectI.Lexer;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+public class LexemeTableTest extends TestCase {
+    public LexemeTableTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(LexemeTableTest.class);
+    }
+
+    public void testFixedKinds() {
+        for (int kind = 0; kind < TokenKind.FIXED_KINDS_COUNT; kind++) {
+            var lexeme = TokenKind.getLexeme(kind);
+
+            assertEquals(kind, LexemeTable.findFixedKind(lexeme));
+            assertEquals(kind, LexemeTable.findFixedKind(lexeme.toCharArray(), 0, lexeme.length()));
+        }
+
+        assertEquals(TokenKind.UNKNOWN, LexemeTable.findFixedKind("variable"));
+        assertEquals(TokenKind.UNKNOWN, LexemeTable.findFixedKind("va"));
+        assertEquals(TokenKind.UNKNOWN, LexemeTable.findFixedKind(""));
+        assertEquals(TokenKind.UNKNOWN, LexemeTable.findFixedKind("=="));
+    }
+
+    public void testTokenKinds() {
+        assertEquals(TokenKind.WHILE, new Token(TokenType.Keyword, "while").getKind());
+        assertEquals(TokenKind.ASSIGNMENT, new Token(TokenType.Operator, ":=").getKind());
+        assertEquals(TokenKind.NEW_LINE, new Token(TokenType.DeclarationSeparator, "\n").getKind());
+        assertEquals(TokenKind.IDENTIFIER, new Token(TokenType.Identifier, "a").getKind());
+        assertEquals(TokenKind.LITERAL, new Token(TokenType.Literal, "1").getKind());
+        assertEquals(TokenKind.UNKNOWN, new Token(TokenType.Keyword, "and").getKind());
+    }
+
+    public void testInterning() {
+        var table = new LexemeTable();
+        var first = table.intern("value");
+        var second = table.intern("other");
+
+        for (int index = 0; index < 1000; index++)
+            table.intern("symbol" + index);
+
+        assertEquals(first, table.intern("value"));
+        assertEquals(second, table.intern("other"));
+        assertEquals("value", table.getString(first));
+        assertEquals(1002, table.size());
+    }
+
+    public void testBufferSharesLexemes() throws InvalidLexemeException {
+        var buffer = new Lexer().scanToBuffer("a := a + 10 * a + 10");
+
+        assertEquals(TokenKind.IDENTIFIER, buffer.getKind(0));
+        assertEquals(TokenKind.ASSIGNMENT, buffer.getKind(1));
+        assertEquals(TokenKind.LITERAL, buffer.getKind(4));
+        assertEquals(buffer.getSymbol(0), buffer.getSymbol(2));
+        assertEquals(buffer.getSymbol(4), buffer.getSymbol(8));
+        assertEquals(-1, buffer.getSymbol(1));
+        assertSame(buffer.getLexeme(0), buffer.getLexeme(6));
+        assertSame(buffer.getLexeme(3), buffer.getLexeme(7));
+    }
+}
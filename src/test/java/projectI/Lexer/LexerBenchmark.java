@@ -0,0 +1,52 @@
+package projectI.Lexer;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures scanning of a large source code by the sequential lexer
+ * and by the parallel one with different numbers of threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LexerBenchmark {
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private String programText;
+    private ForkJoinPool pool;
+    private Lexer lexer;
+
+    @Setup
+    public void setUp() throws IOException {
+        var text = new StringBuilder();
+
+        try (var paths = Files.list(Path.of("code_examples"))) {
+            for (var path : (Iterable<Path>) paths::iterator)
+                text.append(Files.readString(path)).append('\n');
+        }
+
+        programText = text.toString().repeat(16 * 1024 * 1024 / text.length());
+        pool = new ForkJoinPool(threads);
+        lexer = threads == 1 ? new Lexer(Integer.MAX_VALUE) : new Lexer(0, pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public TokenBuffer scan() throws InvalidLexemeException {
+        return lexer.scanToBuffer(programText);
+    }
+}
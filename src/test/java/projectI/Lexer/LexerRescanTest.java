@@ -0,0 +1,116 @@
+package projectI.Lexer;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class LexerRescanTest extends TestCase {
+    public LexerRescanTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(LexerRescanTest.class);
+    }
+
+    public void testEditInsideIdentifier() throws InvalidLexemeException {
+        var lexer = new Lexer();
+        var previous = lexer.scanToBuffer("var a is 1\nvar bc is a + 2\nvar d is bc\n");
+        var change = lexer.rescan(previous, 16, 1, "cd");
+
+        assertArrayEquals(new Lexer().scan("var a is 1\nvar bcd is a + 2\nvar d is bc\n"), change.getBuffer().toTokens());
+        assertEquals(6, change.getBegin());
+        assertEquals(7, change.getEndExclusive());
+        assertEquals(7, change.getPreviousEndExclusive());
+        assertEquals(previous.getSymbol(2), change.getBuffer().getSymbol(2));
+        assertEquals(new StringWithLocation("bc", 2, 9), change.getBuffer().getLexemeWithLocation(15));
+    }
+
+    public void testEditJoiningLines() throws InvalidLexemeException {
+        var lexer = new Lexer();
+        var previous = lexer.scanToBuffer("a := 1\r\nb := 2\r\nc := 3");
+        var change = lexer.rescan(previous, 6, 2, "; ");
+
+        assertArrayEquals(new Lexer().scan("a := 1; b := 2\r\nc := 3"), change.getBuffer().toTokens());
+        assertEquals(3, change.getBegin());
+        assertEquals(4, change.getEndExclusive());
+        assertEquals(4, change.getPreviousEndExclusive());
+        assertEquals(new StringWithLocation("c", 1, 0), lexer.getLexemesWithLocations()[8]);
+    }
+
+    public void testInvalidEdit() throws InvalidLexemeException {
+        var lexer = new Lexer();
+        var previous = lexer.scanToBuffer("a := 1\nb := 2\n");
+
+        try {
+            lexer.rescan(previous, 13, 0, "x");
+            fail("Test should throw an exception.");
+        } catch (InvalidLexemeException exception) {
+            assertEquals(new StringWithLocation("2x", 1, 5), exception.getLexeme());
+        }
+    }
+
+    public void testRandomEdits() throws InvalidLexemeException, IOException {
+        var random = new Random(42);
+        var fragments = new String[] { "", "a", "1", ".", "..", ":", "=", "\n", "\r\n", ";", " ", "end", "x.y", "2.5" };
+
+        try (var paths = Files.list(Path.of("code_examples"))) {
+            for (var path : (Iterable<Path>) paths::iterator) {
+                var text = Files.readString(path);
+                var lexer = new Lexer();
+                var buffer = lexer.scanToBuffer(text);
+
+                for (int edit = 0; edit < 200; edit++) {
+                    var offset = random.nextInt(text.length() + 1);
+                    var removedLength = random.nextInt(Math.min(4, text.length() - offset) + 1);
+                    var inserted = fragments[random.nextInt(fragments.length)];
+                    var editedText = text.substring(0, offset) + inserted + text.substring(offset + removedLength);
+
+                    Token[] expected;
+                    StringWithLocation[] expectedLocations;
+
+                    try {
+                        var scanner = new Lexer();
+                        expected = scanner.scan(editedText);
+                        expectedLocations = scanner.getLexemesWithLocations();
+                    } catch (InvalidLexemeException exception) {
+                        try {
+                            lexer.rescan(buffer, offset, removedLength, inserted);
+                            fail("Rescan should throw an exception as well.");
+                        } catch (InvalidLexemeException rescanException) {
+                            assertEquals(exception.getLexeme(), rescanException.getLexeme());
+                        }
+
+                        continue;
+                    }
+
+                    var change = lexer.rescan(buffer, offset, removedLength, inserted);
+                    var updated = change.getBuffer();
+                    var shift = inserted.length() - removedLength;
+
+                    assertArrayEquals(expected, updated.toTokens());
+                    assertArrayEquals(expectedLocations, lexer.getLexemesWithLocations());
+
+                    for (int index = 0; index < change.getBegin(); index++)
+                        assertEquals(buffer.getOffset(index), updated.getOffset(index));
+
+                    for (int index = change.getPreviousEndExclusive(); index < buffer.size(); index++) {
+                        var updatedIndex = index - change.getPreviousEndExclusive() + change.getEndExclusive();
+                        assertEquals(buffer.getToken(index), updated.getToken(updatedIndex));
+                        assertEquals(buffer.getOffset(index) + shift, updated.getOffset(updatedIndex));
+                    }
+
+                    text = editedText;
+                    buffer = updated;
+                }
+            }
+        }
+    }
+}
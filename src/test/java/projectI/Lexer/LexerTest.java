@@ -8,6 +8,7 @@ import org.junit.Assert;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.assertArrayEquals;
 
@@ -1202,6 +1203,82 @@ public class LexerTest extends TestCase {
             }, tokens);
     }
 
+    public void testSourceFile() throws InvalidLexemeException, IOException {
+        try (var paths = Files.list(Path.of("code_examples"))) {
+            for (var path : (Iterable<Path>) paths::iterator) {
+                var expected = lexer.scan(Files.readString(path));
+                var expectedLocations = lexer.getLexemesWithLocations();
+                var buffer = lexer.scanToBuffer(path);
+
+                assertArrayEquals(expected, buffer.toTokens());
+                assertArrayEquals(expectedLocations, buffer.toLexemesWithLocations());
+            }
+        }
+    }
+
+    public void testNonAsciiSourceFile() throws IOException {
+        var path = Files.createTempFile("lexer", ".txt");
+
+        try {
+            Files.writeString(path, "var a is 1\nvar caf\u00e9 is 2");
+            lexer.scanToBuffer(path);
+            fail("Test should throw an exception.");
+        } catch (InvalidLexemeException exception) {
+            assertEquals(new StringWithLocation("caf\u00e9", 1, 4), exception.getLexeme());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    public void testMappedSourceFile() throws InvalidLexemeException, IOException {
+        var programText = repeatCodeExamples(1);
+        programText = programText.repeat(Lexer.MAPPING_THRESHOLD / programText.length() + 1) + "var caf\u00e9 is 2";
+        var path = Files.createTempFile("lexer", ".txt");
+
+        try {
+            Files.writeString(path, programText);
+            assertTrue(Files.size(path) >= Lexer.MAPPING_THRESHOLD);
+            lexer.scanToBuffer(path);
+            fail("Test should throw an exception.");
+        } catch (InvalidLexemeException exception) {
+            assertEquals("caf\u00e9", exception.getLexeme().getString());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    public void testParallelScan() throws InvalidLexemeException, IOException {
+        var programText = repeatCodeExamples(20);
+        var sequential = new Lexer(Integer.MAX_VALUE);
+        var expected = sequential.scan(programText);
+        var pool = new ForkJoinPool(4);
+
+        try {
+            var parallel = new Lexer(0, pool);
+
+            assertArrayEquals(expected, parallel.scan(programText));
+            assertArrayEquals(sequential.getLexemesWithLocations(), parallel.getLexemesWithLocations());
+            assertArrayEquals(expected, parallel.scan(programText.replace("\n", "\r\n")));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public void testParallelScanReportsFirstInvalidLexeme() throws IOException {
+        var programText = repeatCodeExamples(10);
+        programText = programText.substring(0, programText.length() / 2) + " 1a " + programText.substring(programText.length() / 2) + "2b\n";
+        var pool = new ForkJoinPool(4);
+
+        try {
+            new Lexer(0, pool).scan(programText);
+            fail("Test should throw an exception.");
+        } catch (InvalidLexemeException exception) {
+            assertEquals("1a", exception.getLexeme().getString());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     public void testInvalidIdentifier() {
         try {
             lexer.scan("1a");
@@ -1220,6 +1297,47 @@ public class LexerTest extends TestCase {
         }
     }
 
+    public void testRealLiteralBeforeOperator() throws InvalidLexemeException {
+        assertArrayEquals(new Token[] { literal("3.5"), operator("%") }, lexer.scan("3.5%"));
+        assertArrayEquals(new Token[] { literal("121.") }, lexer.scan("121."));
+    }
+
+    public void testDottedNumbers() throws InvalidLexemeException {
+        // The longest literal is taken from the left, the old lexer split "1.1.7" as "1", ".", "1.7"
+        assertArrayEquals(new Token[] { literal("1.1"), operator("."), literal("7") }, lexer.scan("1.1.7"));
+        assertArrayEquals(new Token[] { literal(".5"), operator("."), literal("3") }, lexer.scan(".5.3"));
+    }
+
+    public void testSignIsNotPartOfLiteral() throws InvalidLexemeException {
+        // The old lexer kept a signed number as one literal if it started a word
+        assertArrayEquals(new Token[] { operator("+"), literal("5") }, lexer.scan("+5"));
+        assertArrayEquals(new Token[] { operator("-"), literal("0") }, lexer.scan("-0"));
+        assertArrayEquals(new Token[] { operator("("), operator("+"), literal(".41") }, lexer.scan("(+.41"));
+    }
+
+    public void testExponentIsNotPartOfRealLiteral() throws InvalidLexemeException {
+        // The old lexer kept words that Java parses as numbers whole, such as "6.e189" and ".4e3"
+        assertArrayEquals(new Token[] { literal("6"), operator("."), identifier("e189") }, lexer.scan("6.e189"));
+        assertArrayEquals(new Token[] { operator("."), literal("4e3") }, lexer.scan(".4e3"));
+    }
+
+    public void testOperatorsSplitLeftmostLongest() throws InvalidLexemeException {
+        // The old lexer skipped an operator found before a longer one, so these lost their real literals
+        assertArrayEquals(new Token[] { literal("4.5"), operator("("), operator("..") }, lexer.scan("4.5(.."));
+        assertArrayEquals(new Token[] { literal(".6"), operator("["), operator(".."), operator("%") }, lexer.scan(".6[..%"));
+    }
+
+    private static String repeatCodeExamples(int times) throws IOException {
+        var text = new StringBuilder();
+
+        try (var paths = Files.list(Path.of("code_examples"))) {
+            for (var path : (Iterable<Path>) paths::iterator)
+                text.append(Files.readString(path)).append('\n');
+        }
+
+        return text.toString().repeat(times);
+    }
+
     private Token[] scanFile(String path) throws InvalidLexemeException, IOException {
         var programText = Files.readString(Path.of(path));
         return lexer.scan(programText);
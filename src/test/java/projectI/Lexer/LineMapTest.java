@@ -0,0 +1,67 @@
+package projectI.Lexer;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import projectI.CodePosition;
+
+public class LineMapTest extends TestCase {
+    public LineMapTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(LineMapTest.class);
+    }
+
+    public void testPositions() {
+        var text = "var a\n\nb := 1\r\nend".toCharArray();
+        var lines = LineMap.of(text, text.length);
+
+        assertEquals(4, lines.getLineCount());
+        assertEquals(new CodePosition(0, 0), lines.getPosition(0));
+        assertEquals(new CodePosition(0, 5), lines.getPosition(5));
+        assertEquals(new CodePosition(1, 0), lines.getPosition(6));
+        assertEquals(new CodePosition(2, 7), lines.getPosition(14));
+        assertEquals(new CodePosition(3, 2), lines.getPosition(17));
+        assertEquals(new CodePosition(0, 4), lines.getPosition(4));
+        assertEquals(2, lines.getLineIndex(9));
+        assertEquals(3, lines.getColumn(18));
+    }
+
+    public void testManyLines() {
+        var text = new StringBuilder();
+
+        for (int line = 0; line < 1000; line++)
+            text.append("x".repeat(line % 7)).append('\n');
+
+        var characters = text.toString().toCharArray();
+        var lines = LineMap.of(characters, characters.length);
+        var expectedLine = 0;
+        var expectedColumn = 0;
+
+        for (int offset = 0; offset < characters.length; offset++) {
+            assertEquals(new CodePosition(expectedLine, expectedColumn), lines.getPosition(offset));
+
+            if (characters[offset] == '\n') {
+                expectedLine++;
+                expectedColumn = 0;
+            } else {
+                expectedColumn++;
+            }
+        }
+
+        for (int line = 999; line >= 0; line -= 3)
+            assertEquals(line, lines.getLineIndex(lines.getLineStart(line)));
+    }
+
+    public void testTokenPositions() throws InvalidLexemeException {
+        var buffer = new Lexer().scanToBuffer("a := 1\r\n  b\n");
+
+        assertEquals(new CodePosition(0, 5), buffer.getPosition(2));
+        assertEquals(new CodePosition(0, 6), buffer.getPosition(3));
+        assertEquals(new CodePosition(1, 2), buffer.getPosition(4));
+        assertEquals(10, buffer.getOffset(4));
+        assertEquals(new StringWithLocation("\n", 1, 3), buffer.getLexemeWithLocation(5));
+    }
+}
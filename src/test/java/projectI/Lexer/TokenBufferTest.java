@@ -0,0 +1,87 @@
+package projectI.Lexer;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import projectI.CodePosition;
+import projectI.Parser.Parser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class TokenBufferTest extends TestCase {
+    public TokenBufferTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(TokenBufferTest.class);
+    }
+
+    public void testAccessors() throws InvalidLexemeException {
+        var buffer = new Lexer().scanToBuffer("var a:integer\n  a := 1.5");
+
+        assertEquals(8, buffer.size());
+        assertEquals(TokenType.Keyword, buffer.getType(0));
+        assertEquals("integer", buffer.getLexeme(3));
+        assertEquals(7, buffer.getLength(3));
+        assertTrue(buffer.is(2, TokenType.Operator, ":"));
+        assertFalse(buffer.is(2, TokenType.Operator, ":="));
+        assertTrue(buffer.lexemeEquals(4, "\n"));
+        assertEquals(new CodePosition(1, 4), buffer.getPosition(6));
+        assertEquals(new Token(TokenType.Literal, "1.5"), buffer.getToken(7));
+    }
+
+    public void testViewsMatchLexer() throws InvalidLexemeException, IOException {
+        var programText = Files.readString(Path.of("code_examples/arrays_and_for.txt"));
+        var lexer = new Lexer();
+        var tokens = lexer.scan(programText);
+        var buffer = new Lexer().scanToBuffer(programText);
+
+        assertArrayEquals(tokens, buffer.toTokens());
+        assertArrayEquals(lexer.getLexemesWithLocations(), buffer.toLexemesWithLocations());
+    }
+
+    public void testConversionFromArrays() throws InvalidLexemeException, IOException {
+        var programText = Files.readString(Path.of("code_examples/arrays_and_for.txt"));
+        var lexer = new Lexer();
+        var tokens = lexer.scan(programText);
+        var locations = lexer.getLexemesWithLocations();
+        var buffer = TokenBuffer.of(tokens, locations);
+
+        assertArrayEquals(tokens, buffer.toTokens());
+        assertArrayEquals(locations, buffer.toLexemesWithLocations());
+        assertEquals(new Parser(tokens, locations).tryParseProgram(), new Parser(buffer).tryParseProgram());
+    }
+
+    public void testLexemeSlices() throws InvalidLexemeException {
+        var buffer = new Lexer().scanToBuffer("value := value2 + 10.5");
+        var slice = buffer.getLexemeSlice(2);
+
+        assertEquals(6, slice.length());
+        assertEquals('2', slice.charAt(5));
+        assertTrue(slice.contentEquals("value2"));
+        assertTrue(slice.subSequence(0, 5).contentEquals(buffer.getLexemeSlice(0)));
+        assertEquals("10.5", buffer.getLexemeSlice(4).toString());
+        assertTrue(buffer.getLexemeSlice(1).contentEquals(":="));
+
+        try {
+            slice.charAt(6);
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {
+        }
+    }
+
+    public void testInvalidIndex() throws InvalidLexemeException {
+        var buffer = new Lexer().scanToBuffer("a");
+
+        try {
+            buffer.getType(1);
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package projectI.Lexer;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class TokenStreamTest extends TestCase {
+    public TokenStreamTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(TokenStreamTest.class);
+    }
+
+    public void testCodeExamplesWithSmallChunks() throws IOException, InvalidLexemeException {
+        try (var paths = Files.list(Path.of("code_examples"))) {
+            for (var path : (Iterable<Path>) paths::iterator) {
+                var programText = Files.readString(path);
+                var lexer = new Lexer();
+                var tokens = lexer.scan(programText);
+                var locations = lexer.getLexemesWithLocations();
+
+                for (var chunkSize : new int[] { 1, 2, 3, 7, 64 }) {
+                    assertStreamEquals(tokens, locations, new TokenStream(new StringReader(programText), chunkSize));
+                }
+            }
+        }
+    }
+
+    public void testLineEndingsAcrossChunks() throws IOException, InvalidLexemeException {
+        var programText = "a:=1.5\r\nb /= c..d\r\n\r\n  x.y.z<=10.";
+        var lexer = new Lexer();
+        var tokens = lexer.scan(programText);
+
+        for (int chunkSize = 1; chunkSize <= programText.length(); chunkSize++) {
+            assertStreamEquals(tokens, lexer.getLexemesWithLocations(), new TokenStream(new StringReader(programText), chunkSize));
+        }
+    }
+
+    public void testChannel() throws IOException, InvalidLexemeException {
+        var path = Path.of("code_examples/arrays_and_for.txt");
+        var lexer = new Lexer();
+        var tokens = lexer.scan(Files.readString(path));
+
+        try (var stream = TokenStream.of(FileChannel.open(path))) {
+            assertStreamEquals(tokens, lexer.getLexemesWithLocations(), stream);
+        }
+    }
+
+    public void testPeek() throws IOException, InvalidLexemeException {
+        var stream = new TokenStream(new StringReader("var a is 1"), 2);
+
+        assertEquals(new Token(TokenType.Keyword, "is"), stream.peek(2));
+        assertNull(stream.peek(4));
+        assertEquals(new Token(TokenType.Keyword, "var"), stream.next());
+        assertEquals(new Token(TokenType.Literal, "1"), stream.peek(2));
+        assertEquals(new StringWithLocation("var", 0, 0), stream.getLexemeWithLocation());
+    }
+
+    public void testInvalidLexeme() throws IOException, InvalidLexemeException {
+        var stream = new TokenStream(new StringReader("a := 1a"), 4);
+
+        assertEquals(new Token(TokenType.Identifier, "a"), stream.next());
+        assertEquals(new Token(TokenType.Operator, ":="), stream.next());
+
+        try {
+            stream.next();
+            fail();
+        } catch (InvalidLexemeException exception) {
+            assertEquals(new StringWithLocation("1a", 0, 5), exception.getLexeme());
+        }
+    }
+
+    public void testRepeatedLexemesShareString() throws IOException, InvalidLexemeException {
+        var stream = new TokenStream(new StringReader("count := count + 10 * 10"), 3);
+
+        var first = stream.next().getLexeme();
+        stream.next();
+        assertSame(first, stream.next().getLexeme());
+
+        stream.next();
+        var literal = stream.next().getLexeme();
+        stream.next();
+        assertSame(literal, stream.next().getLexeme());
+    }
+
+    public void testManyDistinctIdentifiers() throws IOException, InvalidLexemeException {
+        var count = 200_000;
+        var stream = new TokenStream(new Reader() {
+            private int next = 0;
+            private String pending = "";
+
+            @Override
+            public int read(char[] buffer, int offset, int length) {
+                if (pending.isEmpty()) {
+                    if (next == count) return -1;
+                    pending = "v" + next++ + "\n";
+                }
+
+                var read = Math.min(length, pending.length());
+                pending.getChars(0, read, buffer, offset);
+                pending = pending.substring(read);
+                return read;
+            }
+
+            @Override
+            public void close() { }
+        }, 256);
+
+        for (int index = 0; index < count; index++) {
+            assertEquals(new Token(TokenType.Identifier, "v" + index), stream.next());
+            assertEquals(new StringWithLocation("\n", index, ("v" + index).length()), locationOfNext(stream));
+        }
+
+        assertFalse(stream.hasNext());
+    }
+
+    private static StringWithLocation locationOfNext(TokenStream stream) throws IOException, InvalidLexemeException {
+        stream.next();
+        return stream.getLexemeWithLocation();
+    }
+
+    private static void assertStreamEquals(Token[] tokens, StringWithLocation[] locations, TokenStream stream)
+            throws IOException, InvalidLexemeException {
+        var streamedTokens = new ArrayList<Token>();
+        var streamedLocations = new ArrayList<StringWithLocation>();
+
+        while (stream.hasNext()) {
+            streamedTokens.add(stream.next());
+            streamedLocations.add(stream.getLexemeWithLocation());
+        }
+
+        assertArrayEquals(tokens, streamedTokens.toArray());
+        assertArrayEquals(locations, streamedLocations.toArray());
+    }
+}
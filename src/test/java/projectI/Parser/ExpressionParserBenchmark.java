@@ -0,0 +1,71 @@
+package projectI.Parser;
+
+import org.openjdk.jmh.annotations.*;
+import projectI.AST.Expressions.ExpressionNode;
+import projectI.AST.ProgramNode;
+import projectI.Lexer.InvalidLexemeException;
+import projectI.Lexer.Lexer;
+import projectI.Lexer.TokenBuffer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of a long expression made of the right-hand sides of the assignments of a code example,
+ * each one in parentheses, joined by alternating operators.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpressionParserBenchmark {
+    @Param({"many_brackets", "dense_code"})
+    public String example;
+
+    @Param({"10000"})
+    public int terms;
+
+    private TokenBuffer programTokens;
+    private TokenBuffer expressionTokens;
+
+    @Setup
+    public void setUp() throws IOException, InvalidLexemeException {
+        var assigned = new ArrayList<String>();
+
+        for (var line : Files.readAllLines(Path.of("code_examples", example + ".txt"))) {
+            for (var statement : line.split(";")) {
+                var assignmentIndex = statement.indexOf(":=");
+                if (assignmentIndex != -1)
+                    assigned.add(statement.substring(assignmentIndex + 2).trim());
+            }
+        }
+
+        var operators = new String[] { " + ", " * ", " - ", " / " };
+        var expression = new StringBuilder();
+
+        for (int term = 0; term < terms; term++) {
+            if (term > 0)
+                expression.append(operators[term % operators.length]);
+
+            expression.append('(').append(assigned.get(term % assigned.size())).append(')');
+        }
+
+        programTokens = new Lexer().scanToBuffer("routine main() is\n    var x is " + expression + "\nend\n");
+        expressionTokens = new Lexer().scanToBuffer(expression.toString());
+    }
+
+    @Benchmark
+    public ProgramNode parseProgram() {
+        return new Parser(programTokens).tryParseProgram();
+    }
+
+    @Benchmark
+    public ExpressionNode parseExpression() {
+        return new Parser(expressionTokens).tryParseExpression(0, expressionTokens.size());
+    }
+}
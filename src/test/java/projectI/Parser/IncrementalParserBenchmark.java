@@ -0,0 +1,94 @@
+package projectI.Parser;
+
+import org.openjdk.jmh.annotations.*;
+import projectI.AST.ProgramNode;
+import projectI.Lexer.InvalidLexemeException;
+import projectI.Lexer.Lexer;
+import projectI.Lexer.TokenBuffer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of a program of about 50 thousand lines again after a change inside one routine,
+ * by reparsing the changed declaration and by parsing the whole program.
+ * The change either keeps the lines of the routine or inserts a line, which moves all the following routines.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IncrementalParserBenchmark {
+    @Param({"6250"})
+    public int routines;
+
+    @Param({"false", "true"})
+    public boolean insertLine;
+
+    private TokenBuffer previousTokens;
+    private TokenBuffer tokens;
+    private int changeBegin;
+    private int previousChangeEnd;
+
+    /**
+     * The program parsed from the previous tokens, which is parsed again before every reparse because reparsing changes it.
+     */
+    @State(Scope.Thread)
+    public static class PreviousProgram {
+        private ProgramNode program;
+
+        @Setup(Level.Invocation)
+        public void setUp(IncrementalParserBenchmark benchmark) {
+            program = new Parser(benchmark.previousTokens).tryParseProgram();
+        }
+    }
+
+    @Setup
+    public void setUp() throws InvalidLexemeException {
+        previousTokens = new Lexer().scanToBuffer(generateCode(-1));
+        tokens = new Lexer().scanToBuffer(generateCode(routines / 2));
+
+        while (previousTokens.getLexeme(changeBegin).equals(tokens.getLexeme(changeBegin)))
+            changeBegin++;
+
+        var suffixLength = 0;
+
+        while (previousTokens.getLexeme(previousTokens.size() - 1 - suffixLength)
+                .equals(tokens.getLexeme(tokens.size() - 1 - suffixLength)))
+            suffixLength++;
+
+        previousChangeEnd = previousTokens.size() - suffixLength;
+    }
+
+    private String generateCode(int changedRoutine) {
+        var code = new StringBuilder();
+
+        for (int index = 0; index < routines; index++) {
+            code.append("routine sum").append(index).append("(n : integer) : integer is\n");
+            code.append("    var result is 0\n");
+            code.append("    for i in 1 .. n loop\n");
+            code.append("        if i % 2 = 0 then result := result + i * 2 else result := result - (i + 1) / 3 end\n");
+            code.append("    end\n");
+
+            if (index == changedRoutine && insertLine)
+                code.append("    result := result * 2\n");
+
+            code.append(index == changedRoutine && !insertLine ? "    return result * 2\n" : "    return result\n");
+            code.append("end\n");
+            code.append("\n");
+        }
+
+        return code.toString();
+    }
+
+    @Benchmark
+    public ProgramNode reparse(PreviousProgram previous) {
+        return new Parser(tokens).tryReparseProgram(previous.program, previousTokens, changeBegin, previousChangeEnd);
+    }
+
+    @Benchmark
+    public ProgramNode parse() {
+        return new Parser(tokens).tryParseProgram();
+    }
+}
@@ -0,0 +1,75 @@
+package projectI.Parser;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import projectI.Lexer.InvalidLexemeException;
+import projectI.Lexer.Lexer;
+import projectI.Lexer.TokenKind;
+
+public class MatchTableTest extends TestCase {
+    public MatchTableTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(MatchTableTest.class);
+    }
+
+    public void testMatches() throws InvalidLexemeException {
+        // routine f ( a : integer ) is \n while a  [  (  1  )  ]  loop \n end \n end
+        // 0       1 2 3 4 5       6 7  8  9     10 11 12 13 14 15 16   17  18  19  20
+        var tokens = new Lexer().scanToBuffer("routine f(a: integer) is\nwhile a[(1)] loop\nend\nend");
+        var matches = MatchTable.of(tokens, 0, tokens.size());
+
+        assertTrue(matches.isBalanced());
+        assertEquals(-1, matches.getMismatchIndex());
+        assertEquals(20, matches.getMatchIndex(0));
+        assertEquals(0, matches.getMatchIndex(20));
+        assertEquals(6, matches.getMatchIndex(2));
+        assertEquals(18, matches.getMatchIndex(9));
+        assertEquals(15, matches.getMatchIndex(11));
+        assertEquals(14, matches.getMatchIndex(12));
+        assertEquals(-1, matches.getMatchIndex(1));
+
+        assertEquals(8, matches.getNextSeparator(0));
+        assertEquals(8, matches.getNextSeparator(8));
+        assertEquals(tokens.size(), matches.getNextSeparator(tokens.size()));
+        assertEquals(16, matches.getNextOfKind(9, TokenKind.LOOP));
+        assertEquals(tokens.size(), matches.getNextOfKind(17, TokenKind.LOOP));
+    }
+
+    public void testRange() throws InvalidLexemeException {
+        // var a is 1 \n while a  [  1 ]  loop \n end \n var b is 2
+        // 0   1 2  3 4  5     6  7  8 9  10   11  12  13 14  15 16 17
+        var tokens = new Lexer().scanToBuffer("var a is 1\nwhile a[1] loop\nend\nvar b is 2");
+        var matches = MatchTable.of(tokens, 5, 13);
+
+        assertTrue(matches.isBalanced());
+        assertEquals(12, matches.getMatchIndex(5));
+        assertEquals(9, matches.getMatchIndex(7));
+        assertEquals(-1, matches.getMatchIndex(0));
+        assertEquals(-1, matches.getMatchIndex(14));
+
+        assertEquals(11, matches.getNextSeparator(5));
+        assertEquals(13, matches.getNextSeparator(12));
+        assertEquals(13, matches.getNextSeparator(13));
+        assertEquals(10, matches.getNextOfKind(5, TokenKind.LOOP));
+        assertEquals(13, matches.getNextOfKind(5, TokenKind.IS));
+    }
+
+    public void testMismatch() throws InvalidLexemeException {
+        var tokens = new Lexer().scanToBuffer("a := (b[1)]");
+        var matches = MatchTable.of(tokens, 0, tokens.size());
+
+        assertFalse(matches.isBalanced());
+        assertEquals(6, matches.getMismatchIndex());
+
+        tokens = new Lexer().scanToBuffer("if a then (b");
+        matches = MatchTable.of(tokens, 0, tokens.size());
+
+        assertFalse(matches.isBalanced());
+        assertEquals(-1, matches.getMismatchIndex());
+        assertEquals(-1, matches.getMatchIndex(0));
+    }
+}
@@ -0,0 +1,76 @@
+package projectI.Parser;
+
+import org.openjdk.jmh.annotations.*;
+import projectI.AST.ProgramNode;
+import projectI.Lexer.InvalidLexemeException;
+import projectI.Lexer.Lexer;
+import projectI.Lexer.TokenBuffer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of deeply nested code: the right-hand sides of the assignments of the many_brackets example
+ * nested in each other's parentheses, or loops and if statements nested in each other's bodies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NestingParserBenchmark {
+    @Param({"brackets", "blocks"})
+    public String nesting;
+
+    @Param({"10000"})
+    public int depth;
+
+    private TokenBuffer tokens;
+
+    @Setup
+    public void setUp() throws IOException, InvalidLexemeException {
+        var code = new StringBuilder("routine main() is\n    var a is 0\n");
+
+        if (nesting.equals("brackets")) {
+            var assigned = new ArrayList<String>();
+
+            for (var line : Files.readAllLines(Path.of("code_examples", "many_brackets.txt"))) {
+                var assignmentIndex = line.indexOf(":=");
+                if (assignmentIndex != -1)
+                    assigned.add(line.substring(assignmentIndex + 2).trim());
+            }
+
+            code.append("    var x is ");
+
+            for (int level = 0; level < depth; level++)
+                code.append("((").append(assigned.get(level % assigned.size())).append(") + ");
+
+            code.append('0').append(")".repeat(depth)).append('\n');
+        } else {
+            for (int level = 0; level < depth; level++) {
+                switch (level % 3) {
+                    case 0 -> code.append("if a < ").append(level).append(" then\n");
+                    case 1 -> code.append("while a < ").append(level).append(" loop\n");
+                    default -> code.append("for i in 1 .. ").append(level).append(" loop\n");
+                }
+            }
+
+            code.append("a := a + 1\n");
+
+            for (int level = depth - 1; level >= 0; level--)
+                code.append(level % 3 == 0 ? "else a := 0 end\n" : "end\n");
+        }
+
+        code.append("end\n");
+        tokens = new Lexer().scanToBuffer(code.toString());
+    }
+
+    @Benchmark
+    public ProgramNode parse() {
+        return new Parser(tokens).tryParseProgram();
+    }
+}
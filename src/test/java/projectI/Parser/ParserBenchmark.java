@@ -0,0 +1,64 @@
+package projectI.Parser;
+
+import org.openjdk.jmh.annotations.*;
+import projectI.AST.ProgramNode;
+import projectI.Lexer.InvalidLexemeException;
+import projectI.Lexer.Lexer;
+import projectI.Lexer.TokenBuffer;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of a program with many routines by the sequential parser
+ * and by the parallel one with different numbers of threads, with routine bodies parsed or left for later.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"10000"})
+    public int routines;
+
+    @Param({"false", "true"})
+    public boolean lazyBodies;
+
+    private TokenBuffer tokens;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() throws InvalidLexemeException {
+        var code = new StringBuilder();
+
+        for (int index = 0; index < routines; index++) {
+            code.append("type point").append(index).append(" is record var x : real; var y : real end\n");
+            code.append("routine sum").append(index).append("(n : integer) : integer is\n");
+            code.append("    var result is 0\n");
+            code.append("    for i in 1 .. n loop\n");
+            code.append("        if i % 2 = 0 then result := result + i * 2 else result := result - (i + 1) / 3 end\n");
+            code.append("    end\n");
+            code.append("    return result\n");
+            code.append("end\n");
+        }
+
+        tokens = new Lexer().scanToBuffer(code.toString());
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public ProgramNode parse() {
+        var parser = new Parser(tokens, false, lazyBodies);
+        return threads == 1 ? parser.tryParseProgram() : parser.tryParseProgram(pool);
+    }
+}
@@ -7,15 +7,27 @@ import org.junit.Ignore;
 import projectI.AST.*;
 import projectI.AST.Declarations.*;
 import projectI.AST.Expressions.*;
+import projectI.AST.Flow.ForLoopNode;
+import projectI.AST.Flow.IfStatementNode;
+import projectI.AST.Flow.WhileLoopNode;
 import projectI.AST.Primary.IntegralLiteralNode;
 import projectI.AST.Primary.ModifiablePrimaryNode;
 import projectI.AST.Statements.StatementNode;
+import projectI.CodePosition;
 import projectI.Lexer.InvalidLexemeException;
 import projectI.Lexer.Lexer;
+import projectI.Lexer.Token;
+import projectI.Lexer.TokenType;
+import projectI.Parser.Errors.ExpectedExpressionError;
+import projectI.Parser.Errors.ExpectedKeywordError;
+import projectI.Parser.Errors.ExpectedOperatorError;
+import projectI.Parser.Errors.ExpectedStatementError;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import static projectI.AST.ASTUtils.*;
 import static projectI.AST.Primary.BooleanLiteralNode.falseLiteral;
@@ -285,4 +297,171 @@ public class ParserCodeExamplesTest extends TestCase {
 
         assertNull(program);
     }
+
+    public void testDeeplyNestedBrackets() throws IOException, InvalidLexemeException {
+        var assigned = new ArrayList<String>();
+
+        for (var line : Files.readAllLines(Path.of("code_examples/many_brackets.txt"))) {
+            var assignmentIndex = line.indexOf(":=");
+            if (assignmentIndex != -1)
+                assigned.add(line.substring(assignmentIndex + 2).trim());
+        }
+
+        var expression = new StringBuilder();
+
+        for (int depth = 0; depth < NESTING_DEPTH; depth++)
+            expression.append("((").append(assigned.get(depth % assigned.size())).append(") + ");
+
+        expression.append('0').append(")".repeat(NESTING_DEPTH));
+
+        var tokens = new Lexer().scanToBuffer("routine main() is\n    var x is " + expression + "\nend\n");
+        var program = new Parser(tokens).tryParseProgram();
+        assertNotNull(program);
+
+        var routine = (RoutineDeclarationNode) program.declarations.get(0);
+        var node = ((VariableDeclarationNode) routine.body.statements.get(0)).expression;
+        var nested = ((BinaryRelationNode) node.relation).simple.summand.factor;
+
+        for (int depth = 0; depth < NESTING_DEPTH; depth++) {
+            node = (ExpressionNode) nested;
+
+            var simple = ((BinaryRelationNode) node.relation).simple;
+            assertEquals(1, simple.otherSummands.size());
+
+            nested = simple.otherSummands.get(0).node.factor;
+            assertSame(simple.otherSummands.get(0).node, nested.getParent());
+        }
+
+        assertTrue(nested instanceof IntegralLiteralNode);
+    }
+
+    public void testDeeplyNestedBlocks() throws InvalidLexemeException {
+        var code = new StringBuilder("routine main() is\n    var a is 0\n");
+
+        for (int depth = 0; depth < NESTING_DEPTH; depth++) {
+            switch (depth % 3) {
+                case 0 -> code.append("if a < ").append(depth).append(" then\n");
+                case 1 -> code.append("while a < ").append(depth).append(" loop\n");
+                default -> code.append("for i in 1 .. ").append(depth).append(" loop\n");
+            }
+        }
+
+        code.append("a := a + 1\n");
+
+        for (int depth = NESTING_DEPTH - 1; depth >= 0; depth--)
+            code.append(depth % 3 == 0 ? "else a := 0 end\n" : "end\n");
+
+        code.append("end\n");
+
+        var program = new Parser(new Lexer().scanToBuffer(code.toString())).tryParseProgram();
+        assertNotNull(program);
+
+        var body = ((RoutineDeclarationNode) program.declarations.get(0)).body;
+        assertEquals(2, body.statements.size());
+
+        for (int depth = 0; depth < NESTING_DEPTH; depth++) {
+            var statement = body.statements.get(depth == 0 ? 1 : 0);
+            assertSame(body, statement.getParent());
+
+            switch (depth % 3) {
+                case 0 -> {
+                    var ifStatement = (IfStatementNode) statement;
+                    assertEquals(1, ifStatement.elseBody.statements.size());
+                    body = ifStatement.body;
+                }
+                case 1 -> body = ((WhileLoopNode) statement).body;
+                default -> body = ((ForLoopNode) statement).body;
+            }
+
+            assertEquals(1, body.statements.size());
+        }
+    }
+
+    public void testDeeplyNestedBrackets_Invalid() throws InvalidLexemeException {
+        var expression = "(".repeat(NESTING_DEPTH) + "1 + " + ")".repeat(NESTING_DEPTH);
+        var parser = new Parser(new Lexer().scanToBuffer("routine main() is\n    var x is " + expression + "\nend\n"));
+
+        assertNull(parser.tryParseProgram());
+
+        var expectedErrors = List.of(
+                new ExpectedExpressionError(new Token[] { new Token(TokenType.Operator, ")") }, new CodePosition(1, 17 + NESTING_DEPTH)),
+                new ExpectedStatementError(new CodePosition(1, 4), new CodePosition(1, 13 + expression.length()))
+        );
+
+        assertEquals(expectedErrors, parser.getErrors());
+    }
+
+    public void testDeeplyNestedBlocks_Invalid() throws InvalidLexemeException {
+        var code = new StringBuilder("routine main() is\n    var a is 0\n");
+
+        for (int depth = 0; depth < NESTING_DEPTH; depth++)
+            code.append("while a < ").append(depth).append(" loop\n");
+
+        code.append("a := (a + 1\n");
+        code.append("end\n".repeat(NESTING_DEPTH)).append("end\n");
+
+        var parser = new Parser(new Lexer().scanToBuffer(code.toString()));
+
+        assertNull(parser.tryParseProgram());
+
+        var expectedErrors = List.of(
+                new ExpectedOperatorError(")", new CodePosition(NESTING_DEPTH + 2, 11)),
+                new ExpectedStatementError(new CodePosition(NESTING_DEPTH + 2, 0), new CodePosition(NESTING_DEPTH + 2, 11))
+        );
+
+        assertEquals(expectedErrors, parser.getErrors());
+    }
+
+    public void testDeeplyNestedTypes() throws InvalidLexemeException {
+        var code = "type t is " + "array [] ".repeat(NESTING_DEPTH) + "integer\n" +
+                "var r : " + "record var a : ".repeat(NESTING_DEPTH) + "integer" + " end".repeat(NESTING_DEPTH) + "\n";
+
+        var program = new Parser(new Lexer().scanToBuffer(code)).tryParseProgram();
+        assertNotNull(program);
+
+        var type = ((TypeDeclarationNode) program.declarations.get(0)).type;
+
+        for (int depth = 0; depth < NESTING_DEPTH; depth++) {
+            var array = (ArrayTypeNode) type;
+            assertNull(array.size);
+            assertSame(array, array.elementType.getParent());
+            type = array.elementType;
+        }
+
+        assertEquals(new PrimitiveTypeNode(PrimitiveType.INTEGER), type);
+
+        type = ((VariableDeclarationNode) program.declarations.get(1)).type;
+
+        for (int depth = 0; depth < NESTING_DEPTH; depth++) {
+            var record = (RecordTypeNode) type;
+            assertEquals(1, record.variables.size());
+            assertSame(record, record.variables.get(0).getParent());
+            type = record.variables.get(0).type;
+        }
+
+        assertEquals(new PrimitiveTypeNode(PrimitiveType.INTEGER), type);
+
+        var parser = new Parser(new Lexer().scanToBuffer(
+                "var r : " + "record var a : ".repeat(NESTING_DEPTH) + "integer" + " end".repeat(NESTING_DEPTH - 1)));
+
+        assertNull(parser.tryParseProgram());
+        assertTrue(parser.getErrors().get(0) instanceof ExpectedKeywordError);
+    }
+
+    public void testDeeplyNestedParentLinking() throws InvalidLexemeException {
+        var code = "routine main() is\n" + "while true loop\n".repeat(NESTING_DEPTH) + "return\n" + "end\n".repeat(NESTING_DEPTH) + "end\n";
+        var program = new Parser(new Lexer().scanToBuffer(code)).tryParseProgram();
+        var body = ((RoutineDeclarationNode) program.declarations.get(0)).body;
+
+        for (int depth = 0; depth < NESTING_DEPTH; depth++)
+            body = ((WhileLoopNode) body.statements.get(0)).body;
+
+        var statement = body.statements.get(0);
+        statement.setParent(null);
+        ParentLinker.link(program);
+
+        assertSame(body, statement.getParent());
+    }
+
+    private static final int NESTING_DEPTH = 10000;
 }
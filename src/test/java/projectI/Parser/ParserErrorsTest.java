@@ -470,6 +470,19 @@ public class ParserErrorsTest extends TestCase {
         assertArrayEquals(expectedErrors, parser.getErrors().toArray());
     }
 
+    public void testProgram_AssignmentWithoutExpression() throws InvalidLexemeException {
+        var parser = createParser("routine main() is\n    a :=\nend\n");
+        var program = parser.tryParseProgram();
+
+        var expectedErrors = new ParsingError[] {
+                new ExpectedExpressionError(new Token[] { }, new CodePosition(1, 8)),
+                new ExpectedStatementError(new CodePosition(1, 4), new CodePosition(1, 8))
+        };
+
+        assertNull(program);
+        assertArrayEquals(expectedErrors, parser.getErrors().toArray());
+    }
+
     public void testRoutineCall_ExpectedExpression() throws InvalidLexemeException {
         var parser = createParser("main(integer)");
         var call = parser.tryParseRoutineCall(0, 4);
@@ -503,6 +516,24 @@ public class ParserErrorsTest extends TestCase {
         assertEquals(expectedError, parser.getErrors().get(0));
     }
 
+    public void testBody_DeeplyNestedInvalidStatement() throws InvalidLexemeException {
+        var code = new StringBuilder();
+
+        for (int depth = 0; depth < 40; depth++)
+            code.append("while a < ").append(depth).append(" loop\n");
+
+        code.append("a := 1\n2 := 2\n").append("end\n".repeat(40));
+
+        var tokens = new Lexer().scanToBuffer(code.toString());
+        var parser = new Parser(tokens, true);
+        var body = parser.tryParseBody(0, tokens.size());
+
+        assertNull(body);
+        assertEquals(2, parser.getErrorCount());
+        assertTrue(parser.getErrors().get(0) instanceof ExpectedKeywordError);
+        assertEquals(new ExpectedStatementError(new CodePosition(0, 0), new CodePosition(81, 4)), parser.getErrors().get(1));
+    }
+
     private static Token identifier(String lexeme) {
         return new Token(TokenType.Identifier, lexeme);
     }
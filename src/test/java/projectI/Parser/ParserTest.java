@@ -16,8 +16,16 @@ import projectI.AST.ProgramNode;
 import projectI.AST.Statements.AssignmentNode;
 import projectI.AST.Statements.ReturnStatementNode;
 import projectI.AST.Statements.RoutineCallNode;
+import projectI.CodePosition;
 import projectI.Lexer.InvalidLexemeException;
 import projectI.Lexer.Lexer;
+import projectI.Lexer.Token;
+import projectI.Lexer.TokenBuffer;
+import projectI.Parser.Errors.ExpectedExpressionError;
+import projectI.Parser.Errors.ExpectedStatementError;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static projectI.AST.ASTUtils.*;
 import static projectI.AST.Primary.BooleanLiteralNode.trueLiteral;
@@ -1094,4 +1102,322 @@ public class ParserTest extends TestCase {
         var loop = createParser("while not a(b(1)) loop end").tryParseWhileLoop(0, 11);
         assertNotNull(loop);
     }
- }
+
+    public void testLongExpression() throws InvalidLexemeException {
+        var terms = 10000;
+        var program = parse("routine main() is\nvar a is 1" + " + a * (2 - 3)".repeat(terms - 1) + "\nend\n");
+
+        assertNotNull(program);
+        assertTrue(program.validate());
+
+        var routine = (RoutineDeclarationNode) program.declarations.get(0);
+        var variable = (VariableDeclarationNode) routine.body.statements.get(0);
+        var relation = (BinaryRelationNode) variable.expression.relation;
+        assertEquals(terms - 1, relation.simple.otherSummands.size());
+    }
+
+    public void testLiteralsClassifiedByLexer() throws InvalidLexemeException {
+        for (var literal : List.of("2147483647", "2147483648", "-2147483648", "not 1", "2f", "1e3", "-Infinity", "NaN")) {
+            var tokens = new Lexer().scanToBuffer(literal);
+            var program = createParser("var a is " + literal).tryParseProgram();
+
+            assertNotNull(literal, program);
+            assertEquals(literal, new Parser(tokens).tryParseExpression(0, tokens.size()),
+                    ((VariableDeclarationNode) program.declarations.get(0)).expression);
+        }
+    }
+
+    public void testCommaInNestedCallArgument() throws InvalidLexemeException {
+        var parser = createParser("var a is f(g(1, 2))");
+
+        assertNull(parser.tryParseProgram());
+        assertTrue(parser.getErrorCount() > 0);
+    }
+
+    public void testMemoizedBacktracking() throws InvalidLexemeException {
+        var tokens = new Lexer().scanToBuffer("routine main() is\n    var a is ((1 + 2) * (3 - 4)) * 5\n    if a > 1 then a := f(g(1, 2)) end\nend\n");
+        var parser = new Parser(tokens);
+        var memoizingParser = new Parser(tokens, true);
+
+        // The body of the routine without its header and the last 'end'
+        assertNull(parser.tryParseBody(5, tokens.size() - 2));
+        assertNull(memoizingParser.tryParseBody(5, tokens.size() - 2));
+        assertTrue(memoizingParser.getErrorCount() > 0);
+        assertEquals(parser.getErrors(), memoizingParser.getErrors());
+        assertTrue(memoizingParser.getMemoHitCount() > 0);
+        assertEquals(0, parser.getMemoHitCount());
+
+        tokens = new Lexer().scanToBuffer("a * +x - b * -y");
+        parser = new Parser(tokens);
+        memoizingParser = new Parser(tokens, true);
+
+        var expression = memoizingParser.tryParseExpression(0, tokens.size());
+        assertEquals(parser.tryParseExpression(0, tokens.size()), expression);
+        assertTrue(memoizingParser.getMemoMissCount() > 0);
+
+        var simple = ((BinaryRelationNode) expression.relation).simple;
+        assertSame(expression, expression.relation.getParent());
+        assertSame(expression.relation, simple.getParent());
+        assertSame(simple, simple.summand.getParent());
+        assertSame(simple, simple.otherSummands.get(0).node.getParent());
+        assertSame(simple.summand, simple.summand.factor.getParent());
+    }
+
+    public void testMemoizationOfRangesOnly() throws InvalidLexemeException {
+        var tokens = new Lexer().scanToBuffer("routine main() is\n    var a is ((1 + 2) * (3 - 4)) * 5\n    if a > 1 then a := f(g(1, 2)) end\nend\n");
+        var parser = new Parser(tokens, true);
+
+        assertNull(parser.tryParseProgram());
+        assertEquals(0, parser.getMemoHitCount());
+        assertEquals(0, parser.getMemoMissCount());
+
+        // The body of the routine without its header and the last 'end'
+        assertNull(parser.tryParseBody(5, tokens.size() - 2));
+        assertTrue(parser.getMemoMissCount() > 0);
+        assertTrue(parser.getMemoHitCount() > 0);
+    }
+
+    public void testParallelProgram() throws InvalidLexemeException {
+        var code = new StringBuilder();
+
+        for (int index = 0; index < 1000; index++) {
+            code.append("type r").append(index).append(" is record\n    var a : integer; var b : array [2] real\nend\n");
+            code.append("routine f").append(index).append("(a : integer) : integer is\n");
+            code.append("    if (a > 0) and not (a = 3) then\n        return f").append(index).append("(a - 1)\n    end\n    return a\nend\n");
+            code.append("var v").append(index).append(" is (1 + ").append(index).append(") * 2; ");
+        }
+
+        var tokens = new Lexer().scanToBuffer(code.toString());
+        var expected = new Parser(tokens).tryParseProgram();
+        var pool = new ForkJoinPool(4);
+
+        try {
+            var program = new Parser(tokens).tryParseProgram(pool);
+
+            assertEquals(3000, program.declarations.size());
+            assertEquals(expected, program);
+
+            for (var declaration : program.declarations)
+                assertSame(program, declaration.getParent());
+
+            tokens = new Lexer().scanToBuffer(code + "\nvar w is (1");
+            var parser = new Parser(tokens);
+
+            assertNull(parser.tryParseProgram(pool));
+            assertTrue(parser.getErrorCount() > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public void testLazyBodies() throws InvalidLexemeException {
+        var code = "var n is 3\n" +
+                "routine f(a : integer) : integer is\n    if a > 0 then return f(a - 1) else return 0 end\nend\n" +
+                "routine g() is\n    var b : array [n] integer\n    b[1] := f(2)\nend\n";
+        var tokens = new Lexer().scanToBuffer(code);
+        var program = new Parser(tokens, false, true).tryParseProgram();
+        var routine = (RoutineDeclarationNode) program.declarations.get(2);
+
+        assertEquals("g", routine.name.name);
+        assertFalse(((LazyStatementList) routine.body.statements).isMaterialized());
+        assertEquals(2, routine.body.statements.size());
+        assertSame(routine.body, routine.body.statements.get(1).getParent());
+        assertEquals(new Parser(tokens).tryParseProgram(), program);
+
+        var parser = new Parser(tokens, false, true);
+        program = parser.tryParseProgram();
+
+        assertTrue(parser.tryParseBodies(program));
+        assertEquals(0, parser.getErrorCount());
+        assertTrue(((LazyStatementList) ((RoutineDeclarationNode) program.declarations.get(1)).body.statements).isMaterialized());
+
+        var shared = (RoutineDeclarationNode) new Parser(tokens, false, true).tryParseProgram().declarations.get(2);
+        var pool = new ForkJoinPool(4);
+
+        try {
+            var first = pool.submit(() -> shared.body.statements.get(0));
+            var second = pool.submit(() -> shared.body.statements.get(0));
+            assertSame(first.join(), second.join());
+        } finally {
+            pool.shutdown();
+        }
+
+        tokens = new Lexer().scanToBuffer("routine f() is\n    a :=\nend\n");
+        parser = new Parser(tokens, false, true);
+        program = parser.tryParseProgram();
+        routine = (RoutineDeclarationNode) program.declarations.get(0);
+
+        assertTrue(routine.body.statements.isEmpty());
+        assertFalse(program.validate());
+        assertFalse(parser.tryParseBodies(program));
+        assertEquals(List.of(
+                new ExpectedExpressionError(new Token[] { }, new CodePosition(1, 8)),
+                new ExpectedStatementError(new CodePosition(1, 4), new CodePosition(1, 8))
+        ), parser.getErrors());
+    }
+
+    public void testInvalidLazyBodyWithoutParsingBodies() throws InvalidLexemeException {
+        var tokens = new Lexer().scanToBuffer("routine f() is\n    a :=\nend\nroutine g() is\n    return\nend\n");
+        var program = new Parser(tokens, false, true).tryParseProgram();
+
+        // The program is parsed, but the body of 'f' is invalid, which is found without calling tryParseBodies
+        assertNotNull(program);
+        assertFalse(program.validate());
+        assertTrue(((RoutineDeclarationNode) program.declarations.get(1)).validate());
+        assertFalse(new Parser(tokens, false, true).tryParseProgram().declarations.get(0).validate());
+    }
+
+    public void testIncrementalReparse() throws InvalidLexemeException {
+        var code = "var n is 3\n" +
+                "routine f(a : integer) : integer is\n    if a > 0 then return f(a - 1) else return 0 end\nend\n" +
+                "routine g() is\n    var b : array [n] integer\n    b[1] := f(2)\nend\n";
+        var previousTokens = new Lexer().scanToBuffer(code);
+        var previous = new Parser(previousTokens).tryParseProgram();
+        var first = previous.declarations.get(0);
+        var last = previous.declarations.get(2);
+
+        var changed = code.replace("return 0 end", "return (a + 1) * 2 end");
+        var program = reparse(previous, previousTokens, changed);
+
+        assertSame(previous, program);
+        assertSame(first, program.declarations.get(0));
+        assertSame(last, program.declarations.get(2));
+        assertSame(program, program.declarations.get(1).getParent());
+        assertEquals(new Parser(new Lexer().scanToBuffer(changed)).tryParseProgram(), program);
+
+        previous = new Parser(previousTokens).tryParseProgram();
+        first = previous.declarations.get(0);
+        last = previous.declarations.get(2);
+        changed = code.replace("return 0 end", "return 0\n    end");
+        program = reparse(previous, previousTokens, changed);
+
+        // The following declaration is kept with its positions moved one line down
+        assertSame(previous, program);
+        assertSame(first, program.declarations.get(0));
+        assertSame(last, program.declarations.get(2));
+        assertEquals(new CodePosition(5, 0), ((RoutineDeclarationNode) last).startPosition);
+        assertEquals(new CodePosition(6, 12), ((ArrayTypeNode) ((VariableDeclarationNode)
+                ((RoutineDeclarationNode) last).body.statements.get(0)).type).startPosition);
+        assertEquals(new CodePosition(7, 4), ((AssignmentNode)
+                ((RoutineDeclarationNode) last).body.statements.get(1)).modifiable.startPosition);
+        assertEquals(new Parser(new Lexer().scanToBuffer(changed)).tryParseProgram(), program);
+
+        // The positions of the following declarations are the new ones, so they can be found for the next change
+        var shifted = changed.replace("b[1] := f(2)", "b[1] := f(3)");
+        program = reparse(program, new Lexer().scanToBuffer(changed), shifted);
+
+        assertSame(previous, program);
+        assertEquals(new Parser(new Lexer().scanToBuffer(shifted)).tryParseProgram(), program);
+
+        previous = new Parser(previousTokens).tryParseProgram();
+        changed = code.replace("return 0 end", "return 0");
+        var tokens = new Lexer().scanToBuffer(changed);
+        var parser = new Parser(tokens);
+
+        assertNull(parser.tryReparseProgram(previous, previousTokens, getChangeBegin(previousTokens, tokens),
+                previousTokens.size() - getCommonSuffixLength(previousTokens, tokens)));
+        assertTrue(parser.getErrorCount() > 0);
+    }
+
+    public void testIncrementalReparseMovesPositions() throws InvalidLexemeException {
+        var code = "var n is 3; var m is n + 1\n";
+        var previousTokens = new Lexer().scanToBuffer(code);
+        var previous = new Parser(previousTokens).tryParseProgram();
+        var following = (VariableDeclarationNode) previous.declarations.get(1);
+
+        var program = reparse(previous, previousTokens, code.replace("is 3", "is 30"));
+        var sum = ((SimpleNode) ((BinaryRelationNode) following.expression.relation).simple);
+
+        assertSame(following, program.declarations.get(1));
+        assertEquals(new CodePosition(0, 13), following.startPosition);
+        assertEquals(new CodePosition(0, 17), following.identifier.position);
+        assertEquals(new CodePosition(0, 24), sum.otherSummands.get(0).operatorPosition);
+
+        // The body that has not been parsed yet is moved when it is parsed
+        code = "routine f() is\n    return\nend\nroutine g() is\n    var b is 1 + 2\nend\n";
+        previousTokens = new Lexer().scanToBuffer(code);
+        previous = new Parser(previousTokens, false, true).tryParseProgram();
+        var routine = (RoutineDeclarationNode) previous.declarations.get(1);
+        var changed = code.replace("    return\n", "    return\n    return\n");
+
+        assertSame(previous, reparse(previous, previousTokens, changed));
+        assertSame(routine, previous.declarations.get(1));
+        assertEquals(new CodePosition(4, 0), routine.startPosition);
+        assertFalse(((LazyStatementList) routine.body.statements).isMaterialized());
+
+        var variable = (VariableDeclarationNode) routine.body.statements.get(0);
+        var expression = ((BinaryRelationNode) variable.expression.relation).simple;
+
+        assertEquals(new CodePosition(5, 4), variable.startPosition);
+        assertEquals(new CodePosition(5, 15), expression.otherSummands.get(0).operatorPosition);
+        assertEquals(new Parser(new Lexer().scanToBuffer(changed)).tryParseProgram(), previous);
+    }
+
+    private static ProgramNode reparse(ProgramNode previous, TokenBuffer previousTokens, String code) throws InvalidLexemeException {
+        var tokens = new Lexer().scanToBuffer(code);
+        var changeBegin = getChangeBegin(previousTokens, tokens);
+        var previousChangeEnd = previousTokens.size() - getCommonSuffixLength(previousTokens, tokens);
+
+        return new Parser(tokens).tryReparseProgram(previous, previousTokens, changeBegin, previousChangeEnd);
+    }
+
+    private static int getChangeBegin(TokenBuffer previousTokens, TokenBuffer tokens) {
+        var index = 0;
+
+        while (index < previousTokens.size() && index < tokens.size()
+                && previousTokens.getLexeme(index).equals(tokens.getLexeme(index)))
+            index++;
+
+        return index;
+    }
+
+    private static int getCommonSuffixLength(TokenBuffer previousTokens, TokenBuffer tokens) {
+        var length = 0;
+        var maxLength = Math.min(previousTokens.size(), tokens.size()) - getChangeBegin(previousTokens, tokens);
+
+        while (length < maxLength && previousTokens.getLexeme(previousTokens.size() - 1 - length)
+                .equals(tokens.getLexeme(tokens.size() - 1 - length)))
+            length++;
+
+        return length;
+    }
+
+    public void testStats() throws InvalidLexemeException {
+        var parser = createParser("var a is 1\nroutine f() is\n    a := a + 1\nend\n");
+        var stats = new ParserStats();
+        parser.setStats(stats);
+
+        assertNotNull(parser.tryParseProgram());
+        assertEquals(2, stats.getDeclarationTimes().size());
+        assertTrue(stats.getDeclarationTimes().get(1).parsed);
+        assertEquals(1, stats.getSuccesses(ParserStats.Nonterminal.VARIABLE_DECLARATION));
+        assertEquals(1, stats.getSuccesses(ParserStats.Nonterminal.ROUTINE_DECLARATION));
+        assertEquals(1, stats.getSuccesses(ParserStats.Nonterminal.BODY));
+        assertEquals(1, stats.getSuccesses(ParserStats.Nonterminal.ASSIGNMENT));
+        // 'a := a + 1' is the only statement, and 'a' of 'a := ...' is not an expression
+        assertEquals(1, stats.getSuccesses(ParserStats.Nonterminal.STATEMENT));
+        assertEquals(2, stats.getSuccesses(ParserStats.Nonterminal.EXPRESSION));
+        assertEquals(4, stats.getTokens(ParserStats.Nonterminal.EXPRESSION));
+        assertEquals(0, stats.getFailures(ParserStats.Nonterminal.EXPRESSION));
+        assertTrue(stats.getSummary().contains("ROUTINE_DECLARATION"));
+
+        var tokens = new Lexer().scanToBuffer("var a is 1\nroutine f() is\n    a := a * * 2\nend\n");
+        parser = new Parser(tokens);
+        stats = new ParserStats();
+        parser.setStats(stats);
+
+        assertNull(parser.tryParseProgram());
+        assertEquals(2, stats.getDeclarationTimes().size());
+        assertFalse(stats.getDeclarationTimes().get(1).parsed);
+        assertTrue(stats.getSummary().contains("failed"));
+        assertEquals(1, stats.getFailures(ParserStats.Nonterminal.BODY));
+        assertEquals(1, stats.getFailures(ParserStats.Nonterminal.STATEMENT));
+
+        // The body of the routine without its header and the last 'end'
+        assertNull(parser.tryParseBody(11, tokens.size() - 2));
+        assertEquals(2, stats.getFailures(ParserStats.Nonterminal.BODY));
+        assertTrue(stats.getFailures(ParserStats.Nonterminal.EXPRESSION) > 0);
+        assertTrue(stats.getTokens(ParserStats.Nonterminal.EXPRESSION) >= stats.getInvocations(ParserStats.Nonterminal.EXPRESSION));
+        assertTrue(stats.getSummary().contains("EXPRESSION"));
+    }
+}
@@ -0,0 +1,71 @@
+package projectI.SemanticAnalysis;
+
+import org.openjdk.jmh.annotations.*;
+import projectI.AST.ProgramNode;
+import projectI.Lexer.InvalidLexemeException;
+import projectI.Lexer.Lexer;
+import projectI.Parser.Parser;
+import projectI.SemanticAnalysis.Exceptions.SemanticAnalysisException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures semantic analysis of a program with a few large routines,
+ * each of which declares variables in nested blocks and uses them in long expressions.
+ * The routines differ in constants, so their bodies and loops are not equal as AST nodes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SemanticAnalysisBenchmark {
+    @Param({"10"})
+    public int routines;
+
+    @Param({"200"})
+    public int statements;
+
+    private ProgramNode program;
+
+    @Setup
+    public void setUp() throws InvalidLexemeException {
+        var lexer = new Lexer();
+        var tokens = lexer.scan(generateCode());
+        program = new Parser(tokens, lexer.getLexemesWithLocations()).tryParseProgram();
+    }
+
+    private String generateCode() {
+        var code = new StringBuilder();
+
+        for (int index = 0; index < routines; index++) {
+            code.append("routine compute").append(index).append("(n : integer) : integer is\n");
+            code.append("    var result is ").append(index).append('\n');
+
+            for (int statement = 0; statement < statements; statement++) {
+                code.append("    var value").append(statement).append(" : integer is n + ").append(statement).append('\n');
+                code.append("    for i in ").append(index).append(" .. n loop\n");
+                code.append("        if i % 2 = 0 then\n");
+                code.append("            result := result + value").append(statement).append(" * i - (result + i) / 3\n");
+                code.append("        else\n");
+                code.append("            result := result - value").append(statement).append(" + i * n\n");
+                code.append("        end\n");
+                code.append("    end\n");
+            }
+
+            code.append("    return result\n");
+            code.append("end\n");
+            code.append("\n");
+        }
+
+        return code.toString();
+    }
+
+    @Benchmark
+    public SymbolTable analyze() throws SemanticAnalysisException {
+        var symbolTable = new SymbolTable();
+        new CompositeSemanticAnalyzer().analyze(program, symbolTable);
+        return symbolTable;
+    }
+}
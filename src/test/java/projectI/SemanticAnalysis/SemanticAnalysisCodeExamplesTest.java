@@ -4,6 +4,16 @@ import junit.framework.Test;
 import junit.framework.TestCase;
 import junit.framework.TestSuite;
 import projectI.AST.*;
+import projectI.AST.Declarations.IdentifierNode;
+import projectI.AST.Declarations.PrimitiveType;
+import projectI.AST.Declarations.TypeNode;
+import projectI.AST.Declarations.VariableDeclarationNode;
+import projectI.AST.Primary.ModifiablePrimaryNode;
+import projectI.AST.Statements.RoutineCallNode;
+import projectI.AST.Types.RuntimeArrayType;
+import projectI.AST.Types.RuntimePrimitiveType;
+import projectI.AST.Types.RuntimeRecordType;
+import projectI.AST.Types.RuntimeType;
 import projectI.Lexer.InvalidLexemeException;
 import projectI.Lexer.Lexer;
 import projectI.Parser.Parser;
@@ -12,6 +22,7 @@ import projectI.SemanticAnalysis.Exceptions.*;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
 
 public class SemanticAnalysisCodeExamplesTest extends TestCase {
     public SemanticAnalysisCodeExamplesTest(String testName) {
@@ -221,4 +232,91 @@ public class SemanticAnalysisCodeExamplesTest extends TestCase {
         var program = tryParseProgram("code_examples/nested_record.txt");
         analyzer.analyze(program);
     }
+
+    public void testEqualRoutineBodies() throws IOException, InvalidLexemeException, SemanticAnalysisException {
+        var program = tryParseProgram("code_examples/equal_routine_bodies.txt");
+        analyzer.analyze(program);
+    }
+
+    public void testBindings() throws IOException, InvalidLexemeException, SemanticAnalysisException {
+        var program = tryParseProgram("code_examples/bindings.txt");
+        var symbolTable = new SymbolTable();
+        analyzer.analyze(program, symbolTable);
+
+        var kinds = new HashMap<String, Binding.Kind>();
+
+        new VisitorAnalyzer() {
+            @Override
+            protected void analyze(ModifiablePrimaryNode modifiablePrimary, SymbolTable symbolTable) throws SemanticAnalysisException {
+                super.analyze(modifiablePrimary, symbolTable);
+                kinds.put(modifiablePrimary.identifier.name, symbolTable.getBinding(modifiablePrimary.identifier).kind);
+            }
+
+            @Override
+            protected void analyze(RoutineCallNode routineCall, SymbolTable symbolTable) throws SemanticAnalysisException {
+                super.analyze(routineCall, symbolTable);
+                kinds.put(routineCall.name.name, symbolTable.getBinding(routineCall.name).kind);
+            }
+
+            @Override
+            protected void analyze(TypeNode type, SymbolTable symbolTable) throws SemanticAnalysisException {
+                super.analyze(type, symbolTable);
+
+                if (type instanceof IdentifierNode)
+                    kinds.put(((IdentifierNode) type).name, symbolTable.getBinding((IdentifierNode) type).kind);
+            }
+        }.analyze(program, symbolTable);
+
+        assertEquals(Binding.Kind.TYPE, kinds.get("counter"));
+        assertEquals(Binding.Kind.GLOBAL_VARIABLE, kinds.get("total"));
+        assertEquals(Binding.Kind.PARAMETER, kinds.get("value"));
+        assertEquals(Binding.Kind.LOCAL_VARIABLE, kinds.get("doubled"));
+        assertEquals(Binding.Kind.LOCAL_VARIABLE, kinds.get("i"));
+        assertEquals(Binding.Kind.ROUTINE, kinds.get("printInt"));
+    }
+
+    public void testExpressionTypes() throws IOException, InvalidLexemeException, SemanticAnalysisException {
+        var program = tryParseProgram("code_examples/expression_types.txt");
+        var lookupsCount = new int[1];
+        var symbolTable = new SymbolTable() {
+            @Override
+            public Binding getBinding(IdentifierNode identifier) {
+                lookupsCount[0]++;
+                return super.getBinding(identifier);
+            }
+        };
+        analyzer.analyze(program, symbolTable);
+
+        assertTrue(lookupsCount[0] > 0);
+        lookupsCount[0] = 0;
+
+        var expectedTypes = new PrimitiveType[] { PrimitiveType.INTEGER, PrimitiveType.REAL, PrimitiveType.BOOLEAN };
+
+        for (int index = 0; index < expectedTypes.length; index++) {
+            var expression = ((VariableDeclarationNode) program.declarations.get(index)).expression;
+
+            assertEquals(RuntimePrimitiveType.of(expectedTypes[index]), expression.getType(symbolTable));
+        }
+
+        // The types of 'ratio' and 'positive' refer to variables, but they are cached, so the variables are not looked up
+        assertEquals(0, lookupsCount[0]);
+    }
+
+    public void testInternedTypes() throws IOException, InvalidLexemeException, SemanticAnalysisException {
+        var program = tryParseProgram("code_examples/interned_types.txt");
+        var symbolTable = new SymbolTable();
+        analyzer.analyze(program, symbolTable);
+
+        var types = new RuntimeType[program.declarations.size()];
+
+        for (int index = 0; index < types.length; index++)
+            types[index] = ((VariableDeclarationNode) program.declarations.get(index)).type.getType(symbolTable);
+
+        assertTrue(types[0] instanceof RuntimeRecordType);
+        assertSame(types[0], types[1]);
+        assertTrue(types[0].canBeCastedTo(types[1]));
+        assertSame(((RuntimeRecordType) types[0]).variables.get(1).getValue1(), types[2]);
+        assertSame(types[2], types[3]);
+        assertSame(RuntimePrimitiveType.of(PrimitiveType.REAL), ((RuntimeArrayType) types[2]).elementType);
+    }
 }